@@ -0,0 +1,119 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.TestCountries;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that answers reach the country statistics and shift the adaptive weights, and that the
+ * in-memory update agrees with reading the statistics again.
+ * Weight rebuild and draw times are written to logcat under the "AdaptiveWeightsTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AdaptiveWeightsTest {
+    private static final String TAG = "AdaptiveWeightsTest";
+    private static final int LARGE_COUNTRY_COUNT = 50000;
+    private static final int DRAWS = 10000;
+
+    private SQLiteDatabase db;
+    private CountrySnapshot snapshot;
+    private QuestionGenerator generator;
+
+    @Before
+    public void createDatabase() {
+        db = SQLiteDatabase.create(null);
+        CountryDbHelper.createSchema(db);
+        snapshot = TestCountries.snapshot();
+        generator = new QuestionGenerator(null, null, new Random(1));
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    @Test
+    public void missedCountryComesUpMoreOften() {
+        AdaptiveWeights before = AdaptiveWeights.load(db, snapshot);
+
+        // Peru is always missed, the others always answered correctly
+        CountrySampler sampler = snapshot.newSampler(new Random(1));
+        AnswerTimings answers = new AnswerTimings(snapshot.size() * 4, false);
+        for (int i = 0; i < answers.size(); i++) {
+            int row = i % snapshot.size();
+            answers.record(i, generator.createQuestion(sampler, row), row != TestCountries.PERU, 0);
+        }
+        CountryDbHelper.insertQuizResult(db, 8, answers.size(), answers, 0);
+
+        AdaptiveWeights updated = before.withOutcomes(Collections.singletonList(answers));
+        AdaptiveWeights reloaded = AdaptiveWeights.load(db, snapshot);
+
+        int[] updatedCounts = drawCounts(updated);
+        int[] reloadedCounts = drawCounts(reloaded);
+        assertArrayEquals(reloadedCounts, updatedCounts);
+        assertTrue(updatedCounts[TestCountries.PERU] > updatedCounts[TestCountries.JAPAN] * 3);
+        assertTrue(updatedCounts[TestCountries.PERU] > updatedCounts[TestCountries.KENYA] * 3);
+    }
+
+    @Test
+    public void rebuildAndDrawLargeDataset() {
+        int[] ids = new int[LARGE_COUNTRY_COUNT];
+        String[] names = new String[LARGE_COUNTRY_COUNT];
+        byte[] continentCodes = new byte[LARGE_COUNTRY_COUNT];
+        for (int i = 0; i < LARGE_COUNTRY_COUNT; i++) {
+            ids[i] = i + 1;
+            names[i] = "Country " + i;
+            continentCodes[i] = (byte) (i % 7);
+        }
+        CountrySnapshot large = new CountrySnapshot(ids, names, continentCodes);
+        AdaptiveWeights weights = AdaptiveWeights.load(db, large);
+
+        CountrySampler sampler = large.newSampler(new Random(1));
+        AnswerTimings answers = new AnswerTimings(6, false);
+        for (int i = 0; i < answers.size(); i++) {
+            answers.record(i, generator.createQuestion(sampler, i * 1000), false, 0);
+        }
+
+        long start = System.nanoTime();
+        AdaptiveWeights updated = weights.withOutcomes(Collections.singletonList(answers));
+        long rebuildNanos = System.nanoTime() - start;
+
+        CountrySampler weighted = updated.newSampler(new Random(1));
+        int[] rows = new int[6];
+        start = System.nanoTime();
+        for (int i = 0; i < DRAWS; i++) {
+            assertEquals(rows.length, weighted.sample(rows.length, rows));
+        }
+        long drawNanos = (System.nanoTime() - start) / DRAWS;
+
+        Log.i(TAG, LARGE_COUNTRY_COUNT + " countries: rebuilt in " + rebuildNanos / 1000 + " us, " +
+                drawNanos + " ns per quiz draw");
+    }
+
+    private static int[] drawCounts(AdaptiveWeights weights) {
+        CountrySampler sampler = weights.newSampler(new Random(7));
+        int[] counts = new int[sampler.size()];
+        int[] rows = new int[1];
+        for (int i = 0; i < DRAWS; i++) {
+            sampler.sample(1, rows);
+            counts[rows[0]]++;
+        }
+        return counts;
+    }
+}
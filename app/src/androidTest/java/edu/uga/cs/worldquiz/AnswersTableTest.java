@@ -0,0 +1,95 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.TestCountries;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that timed answers are written with their quiz and aggregated per country and continent.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AnswersTableTest {
+    private SQLiteDatabase db;
+
+    @Before
+    public void createDatabase() {
+        db = SQLiteDatabase.create(null);
+        CountryDbHelper.createSchema(db);
+        db.execSQL("INSERT INTO countries (country, continent) VALUES ('Japan', 'Asia'), ('Peru', 'South America')");
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    @Test
+    public void answersAreWrittenWithTheResult() {
+        CountrySampler sampler = TestCountries.sampler(new Random(1));
+        QuestionGenerator generator = new QuestionGenerator(null, null, new Random(1));
+        Question japan = generator.createQuestion(sampler, TestCountries.JAPAN);
+        Question peru = generator.createQuestion(sampler, TestCountries.PERU);
+
+        AnswerTimings timings = new AnswerTimings(4, true);
+        timings.start(0, 1_000);
+        timings.record(0, japan, true, 3_000);
+        timings.start(1, 3_200);
+        timings.record(1, peru, false, 7_200);
+        timings.start(2, 8_000);
+        timings.record(2, japan, true, 9_000);
+        // question 3 is never answered and gets no row
+
+        long quizId = CountryDbHelper.insertQuizResult(db, 2, 4, timings, 1000L);
+
+        assertEquals(3, count("SELECT COUNT(*) FROM answers WHERE quiz_id = " + quizId));
+        assertEquals(2, count("SELECT COUNT(*) FROM answers WHERE correct = 1"));
+
+        List<ResponseTimeStats> byCountry = CountryDbHelper.queryResponseTimesByCountry(db);
+        assertEquals(2, byCountry.size());
+        assertEquals("Peru", byCountry.get(0).getLabel());
+        assertEquals(4_000, byCountry.get(0).getAverageMillis());
+        assertEquals("Japan", byCountry.get(1).getLabel());
+        assertEquals(2, byCountry.get(1).getAnswerCount());
+        assertEquals(1_500, byCountry.get(1).getAverageMillis());
+
+        List<ResponseTimeStats> byContinent = CountryDbHelper.queryResponseTimesByContinent(db);
+        assertEquals(2, byContinent.size());
+        assertEquals("South America", byContinent.get(0).getLabel());
+        assertEquals("Asia", byContinent.get(1).getLabel());
+        assertEquals(2, byContinent.get(1).getCorrectCount());
+    }
+
+    @Test
+    public void untimedQuizzesWriteNoAnswers() {
+        CountryDbHelper.insertQuizResult(db, 5, 6, 1000L);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM results"));
+        assertEquals(0, count("SELECT COUNT(*) FROM answers"));
+    }
+
+    private long count(String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares ORDER BY RANDOM() sampling against the in-memory {@link CountrySampler}.
+ * Results are written to logcat under the "CountrySamplerBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CountrySamplerBenchmark {
+    private static final String TAG = "CountrySamplerBenchmark";
+    private static final int QUIZ_SIZE = 6;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void sample200Rows() {
+        runBenchmark(200);
+    }
+
+    @Test
+    public void sample20kRows() {
+        runBenchmark(20_000);
+    }
+
+    @Test
+    public void sample200kRows() {
+        runBenchmark(200_000);
+    }
+
+    private void runBenchmark(int rows) {
+        SQLiteDatabase db = SQLiteDatabase.create(null);
+        try {
+            db.execSQL("CREATE TABLE " + CountryEntry.TABLE_NAME + " (" +
+                    CountryEntry._ID + " INTEGER PRIMARY KEY," +
+                    CountryEntry.COLUMN_NAME_COUNTRY + " TEXT," +
+                    CountryEntry.COLUMN_NAME_CONTINENT + " TEXT)");
+            seed(db, rows);
+
+            // SQL path, the ORDER BY RANDOM() query quizzes drew their countries with before the sampler
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                Cursor cursor = db.query(CountryEntry.TABLE_NAME,
+                        new String[] { CountryEntry.COLUMN_NAME_COUNTRY, CountryEntry.COLUMN_NAME_CONTINENT },
+                        null, null, null, null, "RANDOM()", String.valueOf(QUIZ_SIZE));
+                while (cursor.moveToNext()) {
+                    cursor.getString(0);
+                }
+                cursor.close();
+            }
+            long sqlNanos = (System.nanoTime() - start) / ITERATIONS;
+
+            // In-memory path, including the one-off load
+            start = System.nanoTime();
+            CountrySampler sampler = CountryDbHelper.loadCountrySnapshot(db).newSampler(new Random());
+            long loadNanos = System.nanoTime() - start;
+
+            int[] out = new int[QUIZ_SIZE];
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                assertEquals(QUIZ_SIZE, sampler.sample(QUIZ_SIZE, out));
+            }
+            long samplerNanos = (System.nanoTime() - start) / ITERATIONS;
+
+            Log.i(TAG, rows + " rows: ORDER BY RANDOM() " + sqlNanos / 1000 + " us/draw, " +
+                    "sampler " + samplerNanos / 1000 + " us/draw (load " + loadNanos / 1000 + " us)");
+            assertEquals(rows, sampler.size());
+        } finally {
+            db.close();
+        }
+    }
+
+    private void seed(SQLiteDatabase db, int rows) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + CountryEntry.TABLE_NAME + " (" +
+                CountryEntry.COLUMN_NAME_COUNTRY + ", " + CountryEntry.COLUMN_NAME_CONTINENT + ") VALUES (?, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < rows; i++) {
+                insert.bindString(1, "Country " + i);
+                insert.bindString(2, Continents.nameOf(i % Continents.COUNT));
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package edu.uga.cs.worldquiz;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the country snapshot is served from memory until it is invalidated.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CountrySnapshotCacheTest {
+
+    @Test
+    public void snapshotIsCachedUntilInvalidated() {
+        CountryDbHelper dbHelper = CountryDbHelper.getInstance(
+                InstrumentationRegistry.getInstrumentation().getTargetContext());
+        dbHelper.invalidateCountrySnapshot();
+        long hits = dbHelper.getSnapshotHitCount();
+        long misses = dbHelper.getSnapshotMissCount();
+
+        CountrySnapshot first = dbHelper.getCountrySnapshot();
+        assertSame(first, dbHelper.getCountrySnapshot());
+        assertEquals(misses + 1, dbHelper.getSnapshotMissCount());
+        assertEquals(hits + 1, dbHelper.getSnapshotHitCount());
+
+        dbHelper.invalidateCountrySnapshot();
+        assertNotSame(first, dbHelper.getCountrySnapshot());
+        assertEquals(misses + 2, dbHelper.getSnapshotMissCount());
+    }
+}
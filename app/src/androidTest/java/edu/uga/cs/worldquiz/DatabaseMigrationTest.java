@@ -0,0 +1,159 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the schema migrations against a database file seeded with the version 1 schema.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseMigrationTest {
+    private File dbFile;
+    private SQLiteDatabase db;
+
+    @Before
+    public void createVersion1Database() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dbFile = context.getDatabasePath("migration-test.db");
+        dbFile.getParentFile().mkdirs();
+        SQLiteDatabase.deleteDatabase(dbFile);
+
+        db = SQLiteDatabase.openOrCreateDatabase(dbFile, null);
+
+        // Version 1 schema, as shipped before the migration framework
+        db.execSQL("CREATE TABLE countries (_id INTEGER PRIMARY KEY,country TEXT,continent TEXT)");
+        db.execSQL("CREATE TABLE quizzes (_id INTEGER PRIMARY KEY,title TEXT,date TEXT)");
+        db.execSQL("CREATE TABLE results (_id INTEGER PRIMARY KEY,quiz_id INTEGER,score INTEGER,date TEXT," +
+                "FOREIGN KEY (quiz_id) REFERENCES quizzes(_id))");
+
+        db.execSQL("INSERT INTO countries (country, continent) VALUES ('France', 'Europe')");
+        db.execSQL("INSERT INTO quizzes (_id, title, date) VALUES (1, 'Quiz', '2025-03-01 14:30')");
+        db.execSQL("INSERT INTO quizzes (_id, title, date) VALUES (2, 'Quiz', '2025-03-02 09:05')");
+        db.execSQL("INSERT INTO results (quiz_id, score, date) VALUES (1, 4, '2025-03-01 14:30')");
+        db.execSQL("INSERT INTO results (quiz_id, score, date) VALUES (2, 6, '2025-03-02 09:05')");
+        db.setVersion(1);
+    }
+
+    @After
+    public void deleteDatabase() {
+        db.close();
+        SQLiteDatabase.deleteDatabase(dbFile);
+    }
+
+    @Test
+    public void migrateToLatestKeepsRows() throws Exception {
+        upgrade();
+
+        Cursor cursor = db.rawQuery("SELECT quiz_id, score, date, question_count FROM results ORDER BY _id", null);
+        try {
+            assertEquals(2, cursor.getCount());
+            long expected = new SimpleDateFormat(CountryDbHelper.DISPLAY_DATE_FORMAT, Locale.getDefault())
+                    .parse("2025-03-01 14:30").getTime();
+
+            cursor.moveToFirst();
+            assertEquals(1, cursor.getInt(0));
+            assertEquals(4, cursor.getInt(1));
+            assertEquals(Cursor.FIELD_TYPE_INTEGER, cursor.getType(2));
+            assertEquals(expected, cursor.getLong(2));
+            // every quiz before version 4 had six questions
+            assertEquals(6, cursor.getInt(3));
+
+            cursor.moveToNext();
+            assertEquals(6, cursor.getInt(1));
+        } finally {
+            cursor.close();
+        }
+
+        assertEquals(2, count("SELECT COUNT(*) FROM quizzes WHERE typeof(date) = 'integer'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM countries"));
+    }
+
+    @Test
+    public void migrateToLatestAddsIndices() {
+        upgrade();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'results_date_idx'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'results_quiz_id_idx'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'answers_country_idx'"));
+    }
+
+    @Test
+    public void migrateToLatestLeavesDatasetUnrecorded() {
+        upgrade();
+
+        // The existing countries get re-synced against the asset on the next start
+        assertEquals(CountryDbHelper.NO_DATASET_HASH, CountryDbHelper.queryDatasetHash(db, "country_continent.csv"));
+    }
+
+    @Test
+    public void migrateToLatestAddsEmptyCountryStats() {
+        upgrade();
+
+        // Version 1 kept no answers, so there is nothing to seed the statistics from
+        assertEquals(0, count("SELECT COUNT(*) FROM country_stats"));
+    }
+
+    @Test
+    public void migrateToLatestSchedulesExistingCountries() {
+        upgrade();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM review_state WHERE country = 'France' AND due_at IS NULL"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'review_due_idx'"));
+    }
+
+    @Test
+    public void resultsStillReferenceQuizzes() {
+        upgrade();
+
+        assertEquals(2, count("SELECT COUNT(*) FROM results r JOIN quizzes q ON r.quiz_id = q._id"));
+        assertEquals(0, count("SELECT COUNT(*) FROM sqlite_master WHERE sql LIKE '%quizzes_v2%'"));
+    }
+
+    @Test
+    public void migrateToLatestFillsScoreStats() {
+        upgrade();
+
+        ScoreStats stats = ScoreStatsStore.read(db);
+        assertEquals(2, stats.getCount());
+        assertEquals(10, stats.getSum());
+        assertEquals(1, stats.getScoreCount(6));
+        assertEquals(1, stats.getCurrentStreak());
+        assertTrue(ScoreStatsStore.verify(db));
+    }
+
+    private void upgrade() {
+        db.beginTransaction();
+        try {
+            CountryDbHelper.migrate(db, 1, CountryDbHelper.DATABASE_VERSION);
+            db.setVersion(CountryDbHelper.DATABASE_VERSION);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private long count(String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the incremental country import and the content hash recorded alongside it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatasetImportTest {
+    private static final String ASSET = "country_continent.csv";
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void createDatabase() {
+        db = SQLiteDatabase.create(null);
+        CountryDbHelper.createSchema(db);
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    @Test
+    public void firstImportInsertsEveryCountry() throws IOException {
+        int changed = ImportCsvTask.syncCountries(db, new StringReader("Japan,Asia\nPeru,South America\nKenya,Africa\n"));
+
+        assertEquals(3, changed);
+        assertEquals(3, count("SELECT COUNT(*) FROM countries"));
+        assertEquals("South America", continentOf("Peru"));
+    }
+
+    @Test
+    public void changedAssetIsAppliedAsDiff() throws IOException {
+        ImportCsvTask.syncCountries(db, new StringReader("Japan,Asia\nPeru,South America\nKenya,Africa\n"));
+        long japanId = idOf("Japan");
+        long peruId = idOf("Peru");
+
+        // Peru moves, Kenya is removed, Chile is new, Japan stays as it was
+        int changed = ImportCsvTask.syncCountries(db, new StringReader("Japan,Asia\nPeru,Oceania\nChile,South America\n"));
+
+        assertEquals(3, changed);
+        assertEquals(3, count("SELECT COUNT(*) FROM countries"));
+        assertEquals("Oceania", continentOf("Peru"));
+        assertEquals("South America", continentOf("Chile"));
+        assertEquals(0, count("SELECT COUNT(*) FROM countries WHERE country = 'Kenya'"));
+        // Rows are changed in place rather than rebuilt
+        assertEquals(japanId, idOf("Japan"));
+        assertEquals(peruId, idOf("Peru"));
+    }
+
+    @Test
+    public void unchangedAssetChangesNothing() throws IOException {
+        String csv = "Japan,Asia\nPeru,South America\n";
+        ImportCsvTask.syncCountries(db, new StringReader(csv));
+
+        assertEquals(0, ImportCsvTask.syncCountries(db, new StringReader(csv)));
+    }
+
+    @Test
+    public void duplicateRowsAreRemoved() throws IOException {
+        db.execSQL("INSERT INTO countries (country, continent) VALUES ('Japan', 'Asia')");
+        db.execSQL("INSERT INTO countries (country, continent) VALUES ('Japan', 'Asia')");
+
+        assertEquals(1, ImportCsvTask.syncCountries(db, new StringReader("Japan,Asia\n")));
+        assertEquals(1, count("SELECT COUNT(*) FROM countries"));
+    }
+
+    @Test
+    public void recordedHashReplacesPreviousOne() {
+        long first = ImportCsvTask.contentHash("Japan,Asia\n".getBytes(StandardCharsets.UTF_8));
+        long second = ImportCsvTask.contentHash("Japan,Europe\n".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(first, second);
+
+        assertEquals(CountryDbHelper.NO_DATASET_HASH, CountryDbHelper.queryDatasetHash(db, ASSET));
+        CountryDbHelper.recordDatasetHash(db, ASSET, first);
+        CountryDbHelper.recordDatasetHash(db, ASSET, second);
+
+        assertEquals(second, CountryDbHelper.queryDatasetHash(db, ASSET));
+        assertEquals(1, count("SELECT COUNT(*) FROM dataset_meta"));
+    }
+
+    private String continentOf(String country) {
+        Cursor cursor = db.rawQuery("SELECT continent FROM countries WHERE country = ?", new String[] { country });
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private long idOf(String country) {
+        Cursor cursor = db.rawQuery("SELECT _id FROM countries WHERE country = ?", new String[] { country });
+        try {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private long count(String sql) {
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+}
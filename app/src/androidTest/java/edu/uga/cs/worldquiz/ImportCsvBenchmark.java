@@ -0,0 +1,124 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.ContentValues;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
+import edu.uga.cs.worldquiz.core.Continents;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures CSV import throughput on a synthetic 100k-row country file, for the current import
+ * and for the original one it replaced: BufferedReader, String.split and a ContentValues
+ * insert per row.
+ * Results are written to logcat under the "ImportCsvBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImportCsvBenchmark {
+    private static final String TAG = "ImportCsvBenchmark";
+    private static final int ROWS = 100_000;
+
+    @Test
+    public void import100kRows() throws IOException {
+        SQLiteDatabase db = SQLiteDatabase.create(null);
+        try {
+            createTable(db, CountryEntry.TABLE_NAME);
+            ReviewStore.createTables(db);
+
+            // Original import into an empty table, as the baseline
+            createTable(db, "countries_before");
+            long start = System.nanoTime();
+            int importedBefore = importBySplit(db, "countries_before", createCsv(0));
+            long beforeMs = (System.nanoTime() - start) / 1_000_000;
+            assertEquals(ROWS, importedBefore);
+            Log.i(TAG, "Before: " + ROWS + " rows in " + beforeMs + " ms (" +
+                    (ROWS * 1000L / Math.max(1, beforeMs)) + " rows/s)");
+
+            // First import into an empty table
+            start = System.nanoTime();
+            int imported = ImportCsvTask.syncCountries(db, new StringReader(createCsv(0)));
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(ROWS, imported);
+            assertEquals(ROWS, DatabaseUtils.queryNumEntries(db, CountryEntry.TABLE_NAME));
+            Log.i(TAG, "After: " + ROWS + " rows in " + elapsedMs + " ms (" +
+                    (ROWS * 1000L / Math.max(1, elapsedMs)) + " rows/s)");
+
+            // Re-import with one continent in a hundred changed
+            start = System.nanoTime();
+            int changed = ImportCsvTask.syncCountries(db, new StringReader(createCsv(100)));
+            elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(ROWS / 100, changed);
+            Log.i(TAG, "Diff of " + changed + " changed rows over " + ROWS + " in " + elapsedMs + " ms");
+        } finally {
+            db.close();
+        }
+    }
+
+    private static void createTable(SQLiteDatabase db, String table) {
+        db.execSQL("CREATE TABLE " + table + " (" +
+                CountryEntry._ID + " INTEGER PRIMARY KEY," +
+                CountryEntry.COLUMN_NAME_COUNTRY + " TEXT," +
+                CountryEntry.COLUMN_NAME_CONTINENT + " TEXT)");
+    }
+
+    /**
+     * The import as it was before the streaming reader: one split and one ContentValues
+     * insert per line, in a single transaction.
+     * @param db The database.
+     * @param table The table to fill.
+     * @param csv The CSV text.
+     * @return The number of rows inserted.
+     */
+    private static int importBySplit(SQLiteDatabase db, String table, String csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        int inserted = 0;
+        String line;
+        db.beginTransaction();
+        try {
+            while ((line = reader.readLine()) != null) {
+                String[] row = line.split(",");
+                if (row.length >= 2) {
+                    ContentValues values = new ContentValues();
+                    values.put(CountryEntry.COLUMN_NAME_COUNTRY, row[0].trim());
+                    values.put(CountryEntry.COLUMN_NAME_CONTINENT, row[1].trim());
+                    if (db.insert(table, null, values) != -1) {
+                        inserted++;
+                    }
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return inserted;
+    }
+
+    /**
+     * Builds the synthetic country file.
+     * @param changeEvery Shift the continent of every n-th row, or 0 to change nothing.
+     * @return The CSV text.
+     */
+    private static String createCsv(int changeEvery) {
+        StringBuilder csv = new StringBuilder(ROWS * 24);
+        for (int i = 0; i < ROWS; i++) {
+            int continent = changeEvery > 0 && i % changeEvery == 0 ? i + 1 : i;
+            csv.append("Country ").append(i).append(',')
+                    .append(Continents.nameOf(continent % Continents.COUNT)).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package edu.uga.cs.worldquiz;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fails if any screen touches the database on the main looper.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MainThreadDatabaseAccessTest {
+
+    @Test
+    public void screensDoNotAccessDatabaseOnMainThread() throws Exception {
+        int before = CountryDbHelper.getMainThreadAccessCount();
+
+        try (ActivityScenario<MainActivity> main = ActivityScenario.launch(MainActivity.class)) {
+            awaitDatabaseWork();
+        }
+        try (ActivityScenario<QuizScreen> quiz = ActivityScenario.launch(QuizScreen.class)) {
+            awaitDatabaseWork();
+        }
+        try (ActivityScenario<ResultsScreen> results = ActivityScenario.launch(ResultsScreen.class)) {
+            awaitDatabaseWork();
+        }
+
+        assertEquals("Database accessed on the main thread",
+                before, CountryDbHelper.getMainThreadAccessCount());
+    }
+
+    /**
+     * Waits until the work queued so far on both executor queues and the main looper has run.
+     */
+    private void awaitDatabaseWork() throws Exception {
+        Callable<Void> noop = new Callable<Void>() {
+            @Override
+            public Void call() {
+                return null;
+            }
+        };
+        for (int i = 0; i < 2; i++) {
+            DbExecutor.getInstance().write(noop).get(10, TimeUnit.SECONDS);
+            DbExecutor.getInstance().read(noop).get(10, TimeUnit.SECONDS);
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.uga.cs.worldquiz;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import edu.uga.cs.worldquiz.core.NameCompleter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times typed-answer suggestions on the device, one keystroke at a time.
+ * Results are written to logcat under the "NameCompleterBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NameCompleterBenchmark {
+    private static final String TAG = "NameCompleterBenchmark";
+    private static final int KEYSTROKES = 10_000;
+
+    // Budget per keystroke, so suggestions keep up with typing
+    private static final long MAX_KEYSTROKE_NANOS = 1_000_000;
+
+    @Test
+    public void completeBundledNames() {
+        CountryDbHelper dbHelper = CountryDbHelper.getInstance(
+                InstrumentationRegistry.getInstrumentation().getTargetContext());
+        NameCompleter completer = dbHelper.getAnswerMatcher().getNames();
+        runBenchmark(completer, dbHelper.getCountrySnapshot().size());
+    }
+
+    @Test
+    public void complete50kNames() {
+        Random random = new Random(42);
+        String[] names = new String[50_000];
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            name.setLength(0);
+            int length = 4 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                name.append((char) ('a' + random.nextInt(26)));
+            }
+            names[i] = name.toString();
+        }
+
+        long start = System.nanoTime();
+        NameCompleter completer = new NameCompleter(names);
+        Log.i(TAG, names.length + " names: built in " + (System.nanoTime() - start) / 1000 + " us");
+        runBenchmark(completer, names.length);
+    }
+
+    private void runBenchmark(NameCompleter completer, int nameCount) {
+        // Typing "a", "ab", "abc" as the player would, through every letter combination
+        String[] prefixes = new String[KEYSTROKES];
+        Random random = new Random(7);
+        StringBuilder typed = new StringBuilder();
+        for (int i = 0; i < KEYSTROKES; i++) {
+            if (typed.length() == 4) {
+                typed.setLength(0);
+            }
+            typed.append((char) ('a' + random.nextInt(26)));
+            prefixes[i] = typed.toString();
+        }
+
+        String[] out = new String[3];
+        int found = 0;
+        long start = System.nanoTime();
+        for (String prefix : prefixes) {
+            found += completer.complete(prefix, out);
+        }
+        long perKeystroke = (System.nanoTime() - start) / KEYSTROKES;
+
+        Log.i(TAG, nameCount + " names: " + perKeystroke + " ns per keystroke, " + found + " suggestions");
+        assertTrue(perKeystroke + " ns", perKeystroke < MAX_KEYSTROKE_NANOS);
+    }
+}
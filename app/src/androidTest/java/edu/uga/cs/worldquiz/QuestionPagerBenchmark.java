@@ -0,0 +1,181 @@
+package edu.uga.cs.worldquiz;
+
+import android.app.Instrumentation;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.Quiz;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the main-thread work of one swipe when every question gets a freshly inflated
+ * page, as the fragment-per-question quiz did, against binding into recycled pages.
+ * A swipe is timed from the start of binding until the page has been measured, laid out
+ * and drawn into an offscreen canvas, which is the work of the frame that shows it.
+ * Fragment transactions are not included, so the old path is a lower bound.
+ * Results are written to logcat under the "QuestionPagerBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QuestionPagerBenchmark {
+    private static final String TAG = "QuestionPagerBenchmark";
+    private static final int COUNTRIES = 200;
+    private static final int SWIPES = 2_000;
+    private static final int WARMUP_SWIPES = 100;
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    // Receives no swipes, pages are changed by the benchmark
+    private static final QuestionPageAdapter.OnPageSwipeListener NO_SWIPES =
+            new QuestionPageAdapter.OnPageSwipeListener() {
+                @Override
+                public void onSwipeLeft(int position, int selectedIndex, String typedAnswer, long swipeTime) {}
+
+                @Override
+                public void onSwipeRight(int position) {}
+            };
+
+    private FrameLayout parent;
+    private Canvas canvas;
+    private Quiz quiz;
+
+    @Test
+    public void recycledPagesAreCheaperAndKeepMemoryFlat() {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                setUp(instrumentation);
+
+                long[] inflated = swipeWithNewPages();
+                long[] recycled = swipeWithRecycledPages();
+                long inflatedMedian = report("new page per swipe", inflated);
+                long recycledMedian = report("recycled pages", recycled);
+
+                assertTrue("Recycled pages were not faster: " + recycledMedian + " vs " + inflatedMedian + " us",
+                        recycledMedian < inflatedMedian);
+            }
+        });
+    }
+
+    private void setUp(Instrumentation instrumentation) {
+        ContextThemeWrapper context = new ContextThemeWrapper(instrumentation.getTargetContext(),
+                R.style.Theme_WorldQuiz);
+        parent = new FrameLayout(context);
+        canvas = new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888));
+
+        int[] ids = new int[COUNTRIES];
+        String[] names = new String[COUNTRIES];
+        byte[] continents = new byte[COUNTRIES];
+        for (int i = 0; i < COUNTRIES; i++) {
+            ids[i] = i + 1;
+            names[i] = "Country " + i;
+            continents[i] = (byte) (i % Continents.COUNT);
+        }
+        CountrySampler sampler = new CountrySampler(ids, names, continents, new Random(42));
+        quiz = new Quiz(new QuestionGenerator(null, null, new Random(42)), sampler, Quiz.ALL_COUNTRIES);
+
+        // Generate every question up front so only the views are measured
+        for (Question question : quiz) {
+            assertNotNull(question);
+        }
+    }
+
+    private long[] swipeWithNewPages() {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        long[] micros = new long[SWIPES];
+        for (int i = 0; i < WARMUP_SWIPES + SWIPES; i++) {
+            long start = System.nanoTime();
+            View page = inflater.inflate(R.layout.quiz_page, parent, false);
+            QuestionPageAdapter.PageViewHolder holder = new QuestionPageAdapter.PageViewHolder(page, NO_SWIPES);
+            holder.bind(quiz.get(i % quiz.size()), i % quiz.size(), quiz.size(), null);
+            parent.removeAllViews();
+            parent.addView(page);
+            drawFrame();
+            record(micros, i, start);
+        }
+        return micros;
+    }
+
+    private long[] swipeWithRecycledPages() {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+
+        // Two pages, like the outgoing and incoming page of a pager swipe
+        QuestionPageAdapter.PageViewHolder[] pages = new QuestionPageAdapter.PageViewHolder[2];
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = new QuestionPageAdapter.PageViewHolder(
+                    inflater.inflate(R.layout.quiz_page, parent, false), NO_SWIPES);
+        }
+
+        long[] micros = new long[SWIPES];
+        long heapAfterWarmup = 0;
+        for (int i = 0; i < WARMUP_SWIPES + SWIPES; i++) {
+            if (i == WARMUP_SWIPES) {
+                heapAfterWarmup = usedHeap();
+            }
+            long start = System.nanoTime();
+            QuestionPageAdapter.PageViewHolder holder = pages[i & 1];
+            holder.bind(quiz.get(i % quiz.size()), i % quiz.size(), quiz.size(), null);
+            parent.removeAllViews();
+            parent.addView(holder.itemView);
+            drawFrame();
+            record(micros, i, start);
+        }
+
+        long growth = usedHeap() - heapAfterWarmup;
+        Log.i(TAG, "recycled pages: heap grew " + growth / 1024 + " KB over " + SWIPES + " swipes");
+        // Generous bound so GC noise does not flake, but retaining a page per swipe would blow through it
+        assertTrue("Heap grew by " + growth / 1024 + " KB", growth < 2 * 1024 * 1024);
+        return micros;
+    }
+
+    private void drawFrame() {
+        parent.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        parent.layout(0, 0, WIDTH, HEIGHT);
+        parent.draw(canvas);
+    }
+
+    private static void record(long[] micros, int swipe, long startNanos) {
+        if (swipe >= WARMUP_SWIPES) {
+            micros[swipe - WARMUP_SWIPES] = (System.nanoTime() - startNanos) / 1000;
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Logs the median, 90th percentile and worst swipe.
+     * @return The median in microseconds.
+     */
+    private static long report(String label, long[] micros) {
+        long[] sorted = micros.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+        Log.i(TAG, label + ": median " + median + " us, p90 " + sorted[sorted.length * 9 / 10] +
+                " us, max " + sorted[sorted.length - 1] + " us per swipe");
+        return median;
+    }
+}
@@ -0,0 +1,151 @@
+package edu.uga.cs.worldquiz;
+
+import android.os.Bundle;
+import android.os.Parcel;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import edu.uga.cs.worldquiz.core.AnswerMatcher;
+import edu.uga.cs.worldquiz.core.CountryIndex;
+import edu.uga.cs.worldquiz.core.HopDistanceMatrix;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.Quiz;
+import edu.uga.cs.worldquiz.core.QuizState;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Simulates process death mid-quiz: the packed quiz goes through a Parcel, as saved instance
+ * state does, and is rebuilt against a neighbor graph freshly read from the country index.
+ * Typed quizzes also get their answer matcher back without reading the database.
+ * Restore times are written to logcat under the "QuizStateRestoreTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QuizStateRestoreTest {
+    private static final String TAG = "QuizStateRestoreTest";
+    private static final int ITERATIONS = 50;
+
+    private CountryDbHelper dbHelper;
+    private HopDistanceMatrix hopDistances;
+
+    @Before
+    public void openHelper() {
+        dbHelper = CountryDbHelper.getInstance(InstrumentationRegistry.getInstrumentation().getTargetContext());
+        hopDistances = dbHelper.getHopDistanceMatrix();
+        assertNotNull(hopDistances);
+    }
+
+    @Test
+    public void restoreDefaultQuiz() {
+        runRestore(Quiz.DEFAULT_LENGTH, 3);
+    }
+
+    @Test
+    public void restoreMarathonQuiz() {
+        runRestore(Quiz.ALL_COUNTRIES, 40);
+    }
+
+    @Test
+    public void restoreTypedQuizWithoutTheDatabase() {
+        Quiz quiz = new Quiz(new QuestionGenerator(dbHelper.getNeighborGraph(), hopDistances, new Random(1)),
+                dbHelper.getCountrySampler(), Quiz.DEFAULT_LENGTH);
+        for (int i = 0; i < quiz.size(); i++) {
+            quiz.get(i);
+        }
+        int[] packed = QuizState.pack(quiz, 0, 2);
+        assertNotNull(packed);
+
+        // Neither the restored quiz nor its matcher may ask for the database's country snapshot
+        long lookups = dbHelper.getSnapshotHitCount() + dbHelper.getSnapshotMissCount();
+        QuizState state = QuizState.unpack(unmarshall(marshall(packed)),
+                new QuestionGenerator(dbHelper.getNeighborGraph(), hopDistances, new Random(2)));
+        AnswerMatcher matcher = dbHelper.getRestoredAnswerMatcher();
+        assertEquals(lookups, dbHelper.getSnapshotHitCount() + dbHelper.getSnapshotMissCount());
+
+        assertNotNull(matcher);
+        Quiz restored = state.getQuiz();
+        for (int i = 0; i < restored.size(); i++) {
+            Question question = restored.get(i);
+            String correct = question.getOptionLabel(question.getCorrectAnswerIndex());
+            assertTrue(correct, matcher.isCorrect(question, correct.toLowerCase(Locale.ROOT)));
+            assertEquals(question.getCountryName(), matcher.getNames().find(question.getCountryName()));
+        }
+    }
+
+    private void runRestore(int length, int answered) {
+        Quiz quiz = new Quiz(new QuestionGenerator(dbHelper.getNeighborGraph(), hopDistances, new Random(1)),
+                dbHelper.getCountrySampler(), length);
+        for (int i = 0; i <= answered; i++) {
+            quiz.get(i);
+        }
+        int[] packed = QuizState.pack(quiz, answered - 1, answered);
+        assertNotNull(packed);
+        byte[] parceled = marshall(packed);
+
+        // The new process reads the graph from the index again
+        CountryIndex index = dbHelper.getCountryIndex();
+        assertNotNull(index);
+        NeighborGraph graph = index.toNeighborGraph();
+
+        QuizState state = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            state = QuizState.unpack(unmarshall(parceled),
+                    new QuestionGenerator(graph, hopDistances, new Random(i)));
+        }
+        long restoreNanos = (System.nanoTime() - start) / ITERATIONS;
+
+        Quiz restored = state.getQuiz();
+        assertEquals(quiz.size(), restored.size());
+        assertEquals(answered - 1, state.getScore());
+        assertEquals(answered, state.getCurrentIndex());
+        for (int i = 0; i <= answered; i++) {
+            Question before = quiz.get(i);
+            Question after = restored.get(i);
+            assertEquals(before.getQuestionText(), after.getQuestionText());
+            assertEquals(before.getOptions(), after.getOptions());
+            assertEquals(before.getCorrectAnswerIndex(), after.getCorrectAnswerIndex());
+        }
+        for (int i = answered + 1; i < quiz.size(); i++) {
+            assertEquals(quiz.get(i).getCountryName(), restored.get(i).getCountryName());
+        }
+
+        Log.i(TAG, quiz.size() + " questions: " + parceled.length + " bytes saved, restored in " +
+                restoreNanos / 1000 + " us");
+    }
+
+    private static byte[] marshall(int[] packed) {
+        Bundle state = new Bundle();
+        state.putIntArray("quiz", packed);
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeBundle(state);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static int[] unmarshall(byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            Bundle state = parcel.readBundle(QuizStateRestoreTest.class.getClassLoader());
+            return state.getIntArray("quiz");
+        } finally {
+            parcel.recycle();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import edu.uga.cs.worldquiz.core.CountryNames;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.TestCountries;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the all-or-nothing guarantee of grouped result writes.
+ * A killed process leaves behind exactly the database and WAL files as they were on disk, so
+ * the kill test copies those files while a group is halfway through its transaction and opens
+ * the copy the way the next process start would.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ResultWriteQueueTest {
+    private static final String TAG = "ResultWriteQueueTest";
+    private static final int QUESTIONS = 6;
+
+    private File dbFile;
+    private File imageFile;
+    private SQLiteDatabase db;
+    private CountrySampler sampler;
+    private QuestionGenerator generator;
+
+    @Before
+    public void createDatabase() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dbFile = context.getDatabasePath("write-queue-test.db");
+        imageFile = context.getDatabasePath("write-queue-test-killed.db");
+        dbFile.getParentFile().mkdirs();
+        SQLiteDatabase.deleteDatabase(dbFile);
+        SQLiteDatabase.deleteDatabase(imageFile);
+
+        db = SQLiteDatabase.openOrCreateDatabase(dbFile, null);
+        db.enableWriteAheadLogging();
+        CountryDbHelper.createSchema(db);
+
+        sampler = TestCountries.sampler(new Random(1));
+        generator = new QuestionGenerator(null, null, new Random(1));
+    }
+
+    @After
+    public void deleteDatabase() {
+        db.close();
+        SQLiteDatabase.deleteDatabase(dbFile);
+        SQLiteDatabase.deleteDatabase(imageFile);
+    }
+
+    @Test
+    public void groupIsCommittedTogether() {
+        ResultWriteQueue.writeGroup(db, createGroup(3));
+
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM quizzes"));
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM results"));
+        assertEquals(3 * QUESTIONS, count(db, "SELECT COUNT(*) FROM answers"));
+        assertEquals(3 * QUESTIONS, count(db, "SELECT SUM(asked) FROM country_stats"));
+        assertTrue(ScoreStatsStore.verify(db));
+    }
+
+    @Test
+    public void badResultDoesNotHoldBackTheOthers() {
+        // A question whose country has no name cannot be written to the answers table
+        Question nameless = new Question(Question.TYPE_CONTINENT, new CountryNames() {
+            @Override
+            public String getCountryName(int id) {
+                return null;
+            }
+        }, 1, -1, new int[] { 0, 1, 2, 3 }, 0);
+        AnswerTimings broken = new AnswerTimings(1, true);
+        broken.start(0, 0);
+        broken.record(0, nameless, true, 500);
+        ResultWriteQueue.PendingResult bad = new ResultWriteQueue.PendingResult(1, 1, broken, 5000L);
+
+        List<ResultWriteQueue.PendingResult> group = createGroup(4);
+        group.add(2, bad);
+
+        // As a group it never commits
+        try {
+            ResultWriteQueue.writeGroup(db, group);
+            fail("The bad result was written");
+        } catch (RuntimeException expected) {
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM quizzes"));
+        }
+
+        // One by one, everything but the bad result commits
+        Map<String, Long> rescheduled = new HashMap<>();
+        List<ResultWriteQueue.PendingResult> failed = ResultWriteQueue.writeEach(db, group, rescheduled);
+        assertEquals(1, failed.size());
+        assertSame(bad, failed.get(0));
+        assertEquals(4, count(db, "SELECT COUNT(*) FROM quizzes"));
+        assertEquals(4, count(db, "SELECT COUNT(*) FROM results"));
+        assertEquals(4 * QUESTIONS, count(db, "SELECT COUNT(*) FROM answers"));
+        assertEquals(4 * QUESTIONS, count(db, "SELECT SUM(asked) FROM country_stats"));
+        assertEquals(sampler.size(), rescheduled.size());
+        assertTrue(ScoreStatsStore.verify(db));
+    }
+
+    @Test
+    public void killDuringGroupCommitLeavesNoPartialGroup() throws IOException {
+        ResultWriteQueue.writeGroup(db, createGroup(5));
+
+        // A small page cache makes the open transaction spill pages into the WAL before it commits
+        db.execSQL("PRAGMA cache_size = 8");
+        db.beginTransaction();
+        try {
+            // Nested in the open transaction, so the group's own commit does not reach the disk yet
+            ResultWriteQueue.writeGroup(db, createGroup(500));
+            Log.i(TAG, "WAL holds " + new File(dbFile.getPath() + "-wal").length() +
+                    " bytes when the process is killed");
+            copyKillImage();
+        } finally {
+            db.endTransaction(); // rolls the second group back in this process
+        }
+
+        SQLiteDatabase image = SQLiteDatabase.openDatabase(imageFile.getPath(), null, SQLiteDatabase.OPEN_READWRITE);
+        try {
+            Cursor cursor = image.rawQuery("PRAGMA integrity_check", null);
+            try {
+                cursor.moveToFirst();
+                assertEquals("ok", cursor.getString(0));
+            } finally {
+                cursor.close();
+            }
+
+            // The first group survives whole, nothing of the second one is visible
+            assertEquals(5, count(image, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(5, count(image, "SELECT COUNT(*) FROM results"));
+            assertEquals(5 * QUESTIONS, count(image, "SELECT COUNT(*) FROM answers"));
+            assertEquals(5 * QUESTIONS, count(image, "SELECT SUM(asked) FROM country_stats"));
+            assertEquals(0, count(image, "SELECT COUNT(*) FROM results r LEFT JOIN quizzes q " +
+                    "ON r.quiz_id = q._id WHERE q._id IS NULL"));
+            assertTrue(ScoreStatsStore.verify(image));
+        } finally {
+            image.close();
+        }
+    }
+
+    private List<ResultWriteQueue.PendingResult> createGroup(int size) {
+        List<ResultWriteQueue.PendingResult> group = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            AnswerTimings answers = new AnswerTimings(QUESTIONS, true);
+            for (int q = 0; q < QUESTIONS; q++) {
+                Question question = generator.createQuestion(sampler, q % sampler.size());
+                answers.start(q, 1000L * q);
+                answers.record(q, question, q % 2 == 0, 1000L * q + 700);
+            }
+            group.add(new ResultWriteQueue.PendingResult(i % (QUESTIONS + 1), QUESTIONS, answers, 1000L * i));
+        }
+        return group;
+    }
+
+    /**
+     * Copies the database and its WAL, which is what a killed process leaves on disk.
+     * The shared-memory index is not copied; SQLite rebuilds it from the WAL on open.
+     */
+    private void copyKillImage() throws IOException {
+        copy(dbFile, imageFile);
+        File wal = new File(dbFile.getPath() + "-wal");
+        if (wal.exists()) {
+            copy(wal, new File(imageFile.getPath() + "-wal"));
+        }
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        try (InputStream in = new FileInputStream(from); OutputStream out = new FileOutputStream(to)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static long count(SQLiteDatabase database, String sql) {
+        Cursor cursor = database.rawQuery(sql, null);
+        try {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        } finally {
+            cursor.close();
+        }
+    }
+}
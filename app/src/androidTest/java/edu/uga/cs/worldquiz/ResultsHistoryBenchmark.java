@@ -0,0 +1,95 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.DatabaseContract.ResultEntry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures first-page and deep-page latency of the keyset-paginated result history.
+ * Results are written to logcat under the "ResultsHistoryBenchmark" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ResultsHistoryBenchmark {
+    private static final String TAG = "ResultsHistoryBenchmark";
+    private static final int ITERATIONS = 20;
+    private static final long START_MILLIS = 1_735_689_600_000L; // 2025-01-01
+
+    @Test
+    public void firstPageLatencyStaysFlat() {
+        long small = measure(1_000);
+        long large = measure(100_000);
+
+        // Generous bound so device noise does not flake, but a full scan would blow through it
+        assertTrue("First page got slower with history size: " + small + " vs " + large + " us",
+                large < Math.max(5_000, small * 10));
+    }
+
+    private long measure(int rows) {
+        SQLiteDatabase db = SQLiteDatabase.create(null);
+        try {
+            db.execSQL("CREATE TABLE " + ResultEntry.TABLE_NAME + " (" +
+                    ResultEntry._ID + " INTEGER PRIMARY KEY," +
+                    ResultEntry.COLUMN_NAME_QUIZ_ID + " INTEGER," +
+                    ResultEntry.COLUMN_NAME_SCORE + " INTEGER," +
+                    ResultEntry.COLUMN_NAME_DATE + " INTEGER," +
+                    ResultEntry.COLUMN_NAME_QUESTION_COUNT + " INTEGER NOT NULL DEFAULT 6)");
+            db.execSQL("CREATE INDEX results_date_idx ON " + ResultEntry.TABLE_NAME +
+                    " (" + ResultEntry.COLUMN_NAME_DATE + ")");
+            seed(db, rows);
+
+            long start = System.nanoTime();
+            List<QuizResultRow> page = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                page = CountryDbHelper.queryQuizResultsPage(db, null, ResultsAdapter.PAGE_SIZE);
+            }
+            long firstPageMicros = (System.nanoTime() - start) / ITERATIONS / 1000;
+            assertEquals(ResultsAdapter.PAGE_SIZE, page.size());
+
+            // Walk a few pages deep to show later pages cost the same
+            QuizResultRow last = page.get(page.size() - 1);
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                page = CountryDbHelper.queryQuizResultsPage(db, last, ResultsAdapter.PAGE_SIZE);
+                last = page.get(page.size() - 1);
+            }
+            long nextPageMicros = (System.nanoTime() - start) / ITERATIONS / 1000;
+
+            Log.i(TAG, rows + " results: first page " + firstPageMicros + " us, next pages " +
+                    nextPageMicros + " us");
+            return firstPageMicros;
+        } finally {
+            db.close();
+        }
+    }
+
+    private void seed(SQLiteDatabase db, int rows) {
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + ResultEntry.TABLE_NAME + " (" +
+                ResultEntry.COLUMN_NAME_QUIZ_ID + ", " + ResultEntry.COLUMN_NAME_SCORE + ", " +
+                ResultEntry.COLUMN_NAME_DATE + ") VALUES (?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < rows; i++) {
+                insert.bindLong(1, i + 1);
+                insert.bindLong(2, i % 7);
+                // A few results per minute, so dates repeat like real history
+                insert.bindLong(3, START_MILLIS + (i / 3) * 60_000L);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.ReviewQueue;
+import edu.uga.cs.worldquiz.core.TestCountries;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the review schedule table and that reading the next reviews stays an index range scan.
+ * Queue fill times are written to logcat under the "ReviewStoreTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReviewStoreTest {
+    private static final String TAG = "ReviewStoreTest";
+    private static final int LARGE_COUNTRY_COUNT = 50000;
+    private static final int WINDOW = 512;
+    private static final long NOW = 1_700_000_000_000L;
+
+    private SQLiteDatabase db;
+
+    @Before
+    public void createDatabase() {
+        db = SQLiteDatabase.create(null);
+        CountryDbHelper.createSchema(db);
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    @Test
+    public void nextReviewsAreReadFromTheIndex() {
+        for (String sql : new String[] { ReviewStore.SQL_NEXT_REVIEWS, ReviewStore.SQL_NEW_COUNTRIES }) {
+            String plan = queryPlan(sql);
+            assertTrue(plan, plan.contains(ReviewStore.REVIEW_DUE_INDEX));
+            assertFalse(plan, plan.contains("TEMP B-TREE"));
+        }
+    }
+
+    @Test
+    public void missedCountryComesBackFirst() throws IOException {
+        ImportCsvTask.syncCountries(db, new StringReader(TestCountries.CSV));
+        CountrySnapshot snapshot = TestCountries.snapshot();
+        CountrySampler sampler = snapshot.newSampler(new Random(1));
+        QuestionGenerator generator = new QuestionGenerator(null, null, new Random(1));
+
+        AnswerTimings answers = new AnswerTimings(2, false);
+        answers.record(0, generator.createQuestion(sampler, TestCountries.JAPAN), true, 0);
+        answers.record(1, generator.createQuestion(sampler, TestCountries.PERU), false, 0);
+        Map<String, Long> rescheduled = new HashMap<>();
+        ReviewStore.recordOutcomes(db, answers, NOW, rescheduled);
+        assertEquals(2, rescheduled.size());
+        assertTrue(rescheduled.get("Peru") < rescheduled.get("Japan"));
+        assertEquals(1, ReviewStore.read(db, "Japan").getRepetitions());
+
+        // An hour later Peru is due, Kenya is still new and Japan is not due until tomorrow
+        ReviewQueue queue = ReviewStore.fill(db, snapshot, WINDOW);
+        int[] rows = new int[3];
+        assertEquals(3, queue.poll(3, NOW + 3_600_000L, new Random(1), rows));
+        assertArrayEquals(new int[] { TestCountries.PERU, TestCountries.KENYA, TestCountries.JAPAN }, rows);
+    }
+
+    @Test
+    public void fillLargeSchedule() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        String[] names = new String[LARGE_COUNTRY_COUNT];
+        for (int i = 0; i < LARGE_COUNTRY_COUNT; i++) {
+            names[i] = "Country " + i;
+            csv.append(names[i]).append(",Asia\n");
+        }
+        ImportCsvTask.syncCountries(db, new StringReader(csv.toString()));
+        CountrySnapshot snapshot = new CountrySnapshot(new int[LARGE_COUNTRY_COUNT], names,
+                new byte[LARGE_COUNTRY_COUNT]);
+
+        // Give half the countries a schedule spread over the next year
+        Random random = new Random(3);
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < LARGE_COUNTRY_COUNT; i += 2) {
+                db.execSQL("UPDATE review_state SET due_at = ? WHERE country = ?",
+                        new Object[] { NOW + (long) (random.nextDouble() * 365 * 86_400_000L), names[i] });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        long start = System.nanoTime();
+        ReviewQueue queue = ReviewStore.fill(db, snapshot, WINDOW);
+        long fillNanos = System.nanoTime() - start;
+        assertEquals(2 * WINDOW, queue.size());
+
+        int[] rows = new int[6];
+        start = System.nanoTime();
+        assertEquals(6, queue.poll(6, NOW, random, rows));
+        long pollNanos = System.nanoTime() - start;
+
+        Log.i(TAG, LARGE_COUNTRY_COUNT + " countries: filled " + queue.size() + " in " + fillNanos / 1000 +
+                " us, took 6 in " + pollNanos / 1000 + " us");
+    }
+
+    private String queryPlan(String sql) {
+        StringBuilder plan = new StringBuilder();
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, new String[] { Integer.toString(WINDOW) });
+        try {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        } finally {
+            cursor.close();
+        }
+        return plan.toString();
+    }
+}
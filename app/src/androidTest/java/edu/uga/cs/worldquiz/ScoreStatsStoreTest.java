@@ -0,0 +1,65 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import edu.uga.cs.worldquiz.DatabaseContract.ScoreStatsEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the incrementally maintained score statistics match the raw results.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScoreStatsStoreTest {
+    private SQLiteDatabase db;
+
+    @Before
+    public void createDatabase() {
+        db = SQLiteDatabase.create(null);
+        CountryDbHelper.createSchema(db);
+    }
+
+    @After
+    public void closeDatabase() {
+        db.close();
+    }
+
+    @Test
+    public void insertsUpdateAggregates() {
+        int[] scores = { 6, 6, 3, 6, 6, 6, 0 };
+        for (int i = 0; i < scores.length; i++) {
+            CountryDbHelper.insertQuizResult(db, scores[i], 6, 1000L * i);
+        }
+
+        ScoreStats stats = ScoreStatsStore.read(db);
+        assertEquals(7, stats.getCount());
+        assertEquals(33, stats.getSum());
+        assertEquals(5 * 36 + 9, stats.getSumSquares());
+        assertEquals(0, stats.getCurrentStreak());
+        assertEquals(3, stats.getBestStreak());
+        assertEquals(5, stats.getScoreCount(6));
+        assertEquals(1, stats.getScoreCount(3));
+        assertEquals(1, stats.getScoreCount(0));
+
+        assertEquals(ScoreStatsStore.compute(db), stats);
+        assertTrue(ScoreStatsStore.verify(db));
+    }
+
+    @Test
+    public void verifyRepairsDriftedAggregates() {
+        CountryDbHelper.insertQuizResult(db, 4, 6, 1000L);
+        CountryDbHelper.insertQuizResult(db, 5, 6, 2000L);
+        db.execSQL("UPDATE " + ScoreStatsEntry.TABLE_NAME + " SET " + ScoreStatsEntry.COLUMN_NAME_SUM + " = 0");
+
+        assertFalse(ScoreStatsStore.verify(db));
+        assertEquals(9, ScoreStatsStore.read(db).getSum());
+        assertTrue(ScoreStatsStore.verify(db));
+    }
+}
@@ -0,0 +1,101 @@
+package edu.uga.cs.worldquiz;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import edu.uga.cs.worldquiz.core.AliasTable;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Per-country sampling weights of the adaptive quiz mode and the alias table built from them.
+ * A country's weight is its smoothed error rate, (wrong + 1) / (asked + 2), so countries the
+ * player keeps getting wrong come up more often and countries never asked about sit in between.
+ * Immutable: written quizzes produce a new instance from the in-memory counts, without
+ * reading the statistics table or the results history again.
+ */
+final class AdaptiveWeights {
+    private final CountrySnapshot snapshot;
+    private final int[] asked;
+    private final int[] wrong;
+    private final AliasTable table;
+
+    private AdaptiveWeights(CountrySnapshot snapshot, int[] asked, int[] wrong) {
+        this.snapshot = snapshot;
+        this.asked = asked;
+        this.wrong = wrong;
+
+        double[] weights = new double[asked.length];
+        for (int row = 0; row < weights.length; row++) {
+            weights[row] = weightOf(asked[row], wrong[row]);
+        }
+        table = weights.length > 0 ? new AliasTable(weights) : null;
+    }
+
+    /**
+     * Reads the country statistics once and builds the weights for a snapshot.
+     * @param db The database.
+     * @param snapshot The countries to weight.
+     * @return The weights.
+     */
+    static AdaptiveWeights load(SQLiteDatabase db, CountrySnapshot snapshot) {
+        int[] asked = new int[snapshot.size()];
+        int[] wrong = new int[snapshot.size()];
+        CountryStatsStore.read(db, snapshot, asked, wrong);
+        return new AdaptiveWeights(snapshot, asked, wrong);
+    }
+
+    /**
+     * Adds the answers of written quizzes to the counts and rebuilds the alias table.
+     * @param written The answers of the quizzes, in the order they were written.
+     * @return The updated weights.
+     */
+    AdaptiveWeights withOutcomes(List<AnswerTimings> written) {
+        int[] newAsked = asked.clone();
+        int[] newWrong = wrong.clone();
+        for (AnswerTimings answers : written) {
+            for (int i = 0; i < answers.size(); i++) {
+                if (!answers.isAnswered(i)) {
+                    continue;
+                }
+                int row = snapshot.indexOf(answers.getCountry(i));
+                if (row >= 0) {
+                    newAsked[row]++;
+                    if (!answers.isCorrect(i)) {
+                        newWrong[row]++;
+                    }
+                }
+            }
+        }
+        return new AdaptiveWeights(snapshot, newAsked, newWrong);
+    }
+
+    /**
+     * Computes the sampling weight of a country.
+     * @param asked Number of answered questions about the country.
+     * @param wrong How many of them were wrong.
+     * @return The smoothed error rate, between 0 and 1.
+     */
+    static double weightOf(int asked, int wrong) {
+        return (wrong + 1.0) / (asked + 2.0);
+    }
+
+    /**
+     * Creates a sampler that draws countries by these weights.
+     * @param random Source of randomness.
+     * @return A new sampler over the snapshot.
+     */
+    CountrySampler newSampler(Random random) {
+        return table != null ? snapshot.newWeightedSampler(table, random) : snapshot.newSampler(random);
+    }
+
+    /**
+     * Gets the countries the weights belong to.
+     * @return The snapshot.
+     */
+    CountrySnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -0,0 +1,217 @@
+package edu.uga.cs.worldquiz;
+
+import edu.uga.cs.worldquiz.core.Question;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The answers of one quiz, indexed by question: which country each question was about, whether
+ * it was answered correctly, and in timed quizzes the response time. Recorded in every quiz mode;
+ * the outcomes feed the per-country statistics and the review schedule, the response times the
+ * answers table.
+ * A question is timed from when its page settles on screen until the swipe that answers it,
+ * both read from {@link android.os.SystemClock#uptimeMillis()}, the monotonic clock that
+ * touch event times use. Answering a question again after going back replaces its outcome, and
+ * its timing if it was timed again.
+ * Only used on the main thread until the quiz ends and it is handed to the database writer.
+ */
+public class AnswerTimings {
+    // Outcome codes, as saved in instance state
+    private static final byte UNANSWERED = 0;
+    private static final byte WRONG = 1;
+    private static final byte CORRECT = 2;
+
+    // Response time of a question that has not been timed
+    private static final int UNTIMED = -1;
+
+    private final String[] countries;
+    private final byte[] types;
+    private final byte[] outcomes;
+
+    // Response times, or null if the quiz is not timed
+    private final int[] responseMillis;
+
+    // Question whose timer is running, and when it started
+    private int timedIndex = -1;
+    private long startTime;
+
+    /**
+     * Creates empty answers for a quiz.
+     * @param questionCount The number of questions in the quiz.
+     * @param timed Whether response times are recorded.
+     */
+    public AnswerTimings(int questionCount, boolean timed) {
+        countries = new String[questionCount];
+        types = new byte[questionCount];
+        outcomes = new byte[questionCount];
+        if (timed) {
+            responseMillis = new int[questionCount];
+            Arrays.fill(responseMillis, UNTIMED);
+        } else {
+            responseMillis = null;
+        }
+    }
+
+    /**
+     * Recreates the recorded answers of a quiz from saved state.
+     * A question that was being timed when the state was saved is timed again once it is shown.
+     * @param outcomes Outcome codes as returned by {@link #copyOutcomes()}.
+     * @param responseMillis Response times as returned by {@link #copyResponseMillis()}, or null if
+     *                       the quiz is not timed.
+     * @param questions The questions of the quiz; every answered one must be generated already.
+     * @return The restored answers.
+     */
+    public static AnswerTimings restore(byte[] outcomes, int[] responseMillis, List<Question> questions) {
+        AnswerTimings answers = new AnswerTimings(outcomes.length, responseMillis != null);
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] != UNANSWERED) {
+                Question question = questions.get(i);
+                answers.countries[i] = question.getCountryName();
+                answers.types[i] = (byte) question.getType();
+                answers.outcomes[i] = outcomes[i];
+                if (responseMillis != null) {
+                    answers.responseMillis[i] = responseMillis[i];
+                }
+            }
+        }
+        return answers;
+    }
+
+    /**
+     * Starts timing a question once it is shown. Does nothing if that question is already being
+     * timed, so recreating the view after a configuration change does not restart the clock,
+     * or if the quiz is not timed.
+     * @param index The question index.
+     * @param uptimeMillis The current {@link android.os.SystemClock#uptimeMillis()}.
+     */
+    public void start(int index, long uptimeMillis) {
+        if (responseMillis != null && index != timedIndex) {
+            timedIndex = index;
+            startTime = uptimeMillis;
+        }
+    }
+
+    /**
+     * Records the answer to a question, with its response time if the question is being timed.
+     * @param index The question index.
+     * @param question The question.
+     * @param isCorrect Whether the answer was correct.
+     * @param uptimeMillis When the answering swipe ended, in {@link android.os.SystemClock#uptimeMillis()} time.
+     */
+    public void record(int index, Question question, boolean isCorrect, long uptimeMillis) {
+        countries[index] = question.getCountryName();
+        types[index] = (byte) question.getType();
+        outcomes[index] = isCorrect ? CORRECT : WRONG;
+        if (responseMillis != null && index == timedIndex) {
+            responseMillis[index] = (int) Math.min(Integer.MAX_VALUE, Math.max(0, uptimeMillis - startTime));
+            timedIndex = -1;
+        }
+    }
+
+    /**
+     * Gets the number of questions in the quiz.
+     * @return The number of questions.
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    /**
+     * Checks whether response times are recorded.
+     * @return true for a timed quiz.
+     */
+    public boolean isTimed() {
+        return responseMillis != null;
+    }
+
+    /**
+     * Checks whether a question has been answered.
+     * @param index The question index.
+     * @return true if the question was answered.
+     */
+    public boolean isAnswered(int index) {
+        return outcomes[index] != UNANSWERED;
+    }
+
+    /**
+     * Checks whether an answered question has a response time. Only in timed quizzes, and only
+     * if the question was on screen long enough to be timed.
+     * @param index The question index.
+     * @return true if the question was timed.
+     */
+    public boolean hasResponseTime(int index) {
+        return responseMillis != null && responseMillis[index] != UNTIMED;
+    }
+
+    /**
+     * Gets the name of the country an answered question was about.
+     * @param index The question index.
+     * @return The country name.
+     */
+    public String getCountry(int index) {
+        return countries[index];
+    }
+
+    /**
+     * Gets the type of an answered question.
+     * @param index The question index.
+     * @return One of the Question TYPE_ constants.
+     */
+    public int getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * Checks whether an answered question was answered correctly.
+     * @param index The question index.
+     * @return true if the answer was correct.
+     */
+    public boolean isCorrect(int index) {
+        return outcomes[index] == CORRECT;
+    }
+
+    /**
+     * Gets how long a timed question took.
+     * @param index The question index.
+     * @return The response time in milliseconds; only valid if {@link #hasResponseTime(int)}.
+     */
+    public int getResponseMillis(int index) {
+        return responseMillis[index];
+    }
+
+    /**
+     * Copies the outcome codes for saving.
+     * @return One code per question.
+     */
+    public byte[] copyOutcomes() {
+        return outcomes.clone();
+    }
+
+    /**
+     * Copies the response times for saving; untimed questions hold -1.
+     * @return The response times in milliseconds, indexed by question, or null if the quiz is not timed.
+     */
+    public int[] copyResponseMillis() {
+        return responseMillis != null ? responseMillis.clone() : null;
+    }
+
+    /**
+     * Gets the mean response time over the timed questions.
+     * @return The mean in milliseconds, or 0 if nothing was timed.
+     */
+    public long getAverageMillis() {
+        if (responseMillis == null) {
+            return 0;
+        }
+        long total = 0;
+        int answered = 0;
+        for (int millis : responseMillis) {
+            if (millis != UNTIMED) {
+                total += millis;
+                answered++;
+            }
+        }
+        return answered > 0 ? total / answered : 0;
+    }
+}
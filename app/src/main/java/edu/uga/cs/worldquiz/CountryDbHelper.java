@@ -1,36 +1,101 @@
 package edu.uga.cs.worldquiz;
 
+import edu.uga.cs.worldquiz.DatabaseContract.AnswerEntry;
 import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
+import edu.uga.cs.worldquiz.DatabaseContract.DatasetEntry;
 import edu.uga.cs.worldquiz.DatabaseContract.QuizEntry;
 import edu.uga.cs.worldquiz.DatabaseContract.ResultEntry;
+import edu.uga.cs.worldquiz.core.AnswerMatcher;
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountryIndex;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+import edu.uga.cs.worldquiz.core.HopDistanceMatrix;
+import edu.uga.cs.worldquiz.core.NameCompleter;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+import edu.uga.cs.worldquiz.core.ReviewQueue;
 
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.text.SimpleDateFormat;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SQLite database helper class to manage database creation and version management
  */
 public class CountryDbHelper extends SQLiteOpenHelper {
+    private static final String TAG = "CountryDbHelper";
+
+    // File name prefix of the on-disk hop distance cache
+    private static final String HOP_CACHE_PREFIX = "hop_distances_";
+
+    // Format used when showing stored epoch-millis dates
+    public static final String DISPLAY_DATE_FORMAT = "yyyy-MM-dd HH:mm";
+
     // Database version and name constants
-    public static final int DATABASE_VERSION = 1;
+    public static final int DATABASE_VERSION = 8;
     public static final String DATABASE_NAME = "Countries.db";
 
     // Singleton instance
     private static CountryDbHelper instance;
+
+    // Number of database accesses made on the main thread, see checkNotMainThread()
+    private static final AtomicInteger mainThreadAccessCount = new AtomicInteger();
     private Context context;
 
+    // Immutable copy of the countries table, replaced as a whole and reloaded lazily after invalidation
+    private volatile CountrySnapshot countrySnapshot;
+
+    // Lookups of the country snapshot served from memory, and those that had to load it
+    private final AtomicLong snapshotHits = new AtomicLong();
+    private final AtomicLong snapshotMisses = new AtomicLong();
+
+    // Error-rate weights of the adaptive mode, replaced after every committed group of results
+    private volatile AdaptiveWeights adaptiveWeights;
+
+    // Most scheduled reviews, and most new countries, the study queue reads at a time
+    private static final int REVIEW_WINDOW = 512;
+
+    // Window onto the review schedule and the snapshot its rows refer to, guarded by this
+    private ReviewQueue reviewQueue;
+    private CountrySnapshot reviewSnapshot;
+    private final Random reviewRandom = new Random();
+
+    // Completion and checking of typed answers, built from the country snapshot and dropped with it
+    private volatile AnswerMatcher answerMatcher;
+
+    // Prebuilt binary country index, opened lazily
+    private volatile CountryIndex countryIndex;
+
+    // Border graph, built lazily from the country index
+    private volatile NeighborGraph neighborGraph;
+
+    // All-pairs border crossing counts, cached on disk per country index
+    private volatile HopDistanceMatrix hopDistances;
+
     // SQL statements for table creation
     private static final String SQL_CREATE_COUNTRIES =
             "CREATE TABLE " + CountryEntry.TABLE_NAME + " (" +
@@ -39,31 +104,95 @@ public class CountryDbHelper extends SQLiteOpenHelper {
                     CountryEntry.COLUMN_NAME_CONTINENT + " TEXT)";
 
     // SQL statements for creating quizzes table
-    private static final String SQL_CREATE_QUIZZES =
-            "CREATE TABLE " + QuizEntry.TABLE_NAME + " (" +
-                    QuizEntry._ID + " INTEGER PRIMARY KEY," +
-                    QuizEntry.COLUMN_NAME_TITLE + " TEXT," +
-                    QuizEntry.COLUMN_NAME_DATE + " TEXT)";
+    private static final String SQL_CREATE_QUIZZES = createQuizzesSql(QuizEntry.TABLE_NAME);
 
     // SQL statements for results table
-    private static final String SQL_CREATE_RESULTS =
-            "CREATE TABLE " + ResultEntry.TABLE_NAME + " (" +
-                    ResultEntry._ID + " INTEGER PRIMARY KEY," +
-                    ResultEntry.COLUMN_NAME_QUIZ_ID + " INTEGER," +
-                    ResultEntry.COLUMN_NAME_SCORE + " INTEGER," +
-                    ResultEntry.COLUMN_NAME_DATE + " TEXT," +
-                    "FOREIGN KEY (" + ResultEntry.COLUMN_NAME_QUIZ_ID + ") REFERENCES " +
+    private static final String SQL_CREATE_RESULTS = createResultsSql(ResultEntry.TABLE_NAME);
+
+    // Column added in version 4; existing results all come from 6-question quizzes
+    private static final String SQL_ADD_RESULTS_QUESTION_COUNT =
+            "ALTER TABLE " + ResultEntry.TABLE_NAME + " ADD COLUMN " +
+                    ResultEntry.COLUMN_NAME_QUESTION_COUNT + " INTEGER NOT NULL DEFAULT 6";
+
+    // Answer count, correct answer count and mean response time, shared by the response time queries
+    private static final String RESPONSE_AGGREGATES =
+            "COUNT(*), SUM(" + AnswerEntry.COLUMN_NAME_CORRECT + "), CAST(AVG(" +
+                    AnswerEntry.COLUMN_NAME_RESPONSE_MILLIS + ") AS INTEGER)";
+
+    // Index used for keyset pagination of the result history, newest first
+    private static final String SQL_CREATE_RESULTS_DATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS results_date_idx ON " + ResultEntry.TABLE_NAME +
+                    " (" + ResultEntry.COLUMN_NAME_DATE + ")";
+
+    // Index used to find the result of a quiz
+    private static final String SQL_CREATE_RESULTS_QUIZ_ID_INDEX =
+            "CREATE INDEX IF NOT EXISTS results_quiz_id_idx ON " + ResultEntry.TABLE_NAME +
+                    " (" + ResultEntry.COLUMN_NAME_QUIZ_ID + ")";
+
+    // SQL statements for the answers table of timed quizzes
+    private static final String SQL_CREATE_ANSWERS =
+            "CREATE TABLE " + AnswerEntry.TABLE_NAME + " (" +
+                    AnswerEntry._ID + " INTEGER PRIMARY KEY," +
+                    AnswerEntry.COLUMN_NAME_QUIZ_ID + " INTEGER NOT NULL," +
+                    AnswerEntry.COLUMN_NAME_QUESTION_INDEX + " INTEGER NOT NULL," +
+                    AnswerEntry.COLUMN_NAME_QUESTION_TYPE + " INTEGER NOT NULL," +
+                    AnswerEntry.COLUMN_NAME_COUNTRY + " TEXT NOT NULL," +
+                    AnswerEntry.COLUMN_NAME_CORRECT + " INTEGER NOT NULL," +
+                    AnswerEntry.COLUMN_NAME_RESPONSE_MILLIS + " INTEGER NOT NULL," +
+                    "FOREIGN KEY (" + AnswerEntry.COLUMN_NAME_QUIZ_ID + ") REFERENCES " +
                     QuizEntry.TABLE_NAME + "(" + QuizEntry._ID + "))";
 
-    // SQL statements for table deletion
-    private static final String SQL_DELETE_COUNTRIES =
-            "DROP TABLE IF EXISTS " + CountryEntry.TABLE_NAME;
+    // Index used by the per-country response time aggregates
+    private static final String SQL_CREATE_ANSWERS_COUNTRY_INDEX =
+            "CREATE INDEX IF NOT EXISTS answers_country_idx ON " + AnswerEntry.TABLE_NAME +
+                    " (" + AnswerEntry.COLUMN_NAME_COUNTRY + ")";
 
-    private static final String SQL_DELETE_QUIZZES =
-            "DROP TABLE IF EXISTS " + QuizEntry.TABLE_NAME;
+    private static final String SQL_INSERT_ANSWER =
+            "INSERT INTO " + AnswerEntry.TABLE_NAME + " (" +
+                    AnswerEntry.COLUMN_NAME_QUIZ_ID + ", " + AnswerEntry.COLUMN_NAME_QUESTION_INDEX + ", " +
+                    AnswerEntry.COLUMN_NAME_QUESTION_TYPE + ", " + AnswerEntry.COLUMN_NAME_COUNTRY + ", " +
+                    AnswerEntry.COLUMN_NAME_CORRECT + ", " + AnswerEntry.COLUMN_NAME_RESPONSE_MILLIS +
+                    ") VALUES (?, ?, ?, ?, ?, ?)";
 
-    private static final String SQL_DELETE_RESULTS =
-            "DROP TABLE IF EXISTS " + ResultEntry.TABLE_NAME;
+    // SQL statement for the content hashes of imported assets
+    private static final String SQL_CREATE_DATASET_META =
+            "CREATE TABLE " + DatasetEntry.TABLE_NAME + " (" +
+                    DatasetEntry.COLUMN_NAME_ASSET + " TEXT PRIMARY KEY," +
+                    DatasetEntry.COLUMN_NAME_CONTENT_HASH + " INTEGER NOT NULL," +
+                    DatasetEntry.COLUMN_NAME_IMPORTED_AT + " INTEGER NOT NULL)";
+
+    /**
+     * Returned by {@link #getDatasetHash} for an asset that was never imported.
+     * CRC32 values are never negative.
+     */
+    public static final long NO_DATASET_HASH = -1;
+
+    /**
+     * Builds the quizzes table definition under the given name, so migrations can create a copy.
+     * @param tableName The table name.
+     * @return The CREATE TABLE statement.
+     */
+    private static String createQuizzesSql(String tableName) {
+        return "CREATE TABLE " + tableName + " (" +
+                QuizEntry._ID + " INTEGER PRIMARY KEY," +
+                QuizEntry.COLUMN_NAME_TITLE + " TEXT," +
+                QuizEntry.COLUMN_NAME_DATE + " INTEGER)";
+    }
+
+    /**
+     * Builds the results table definition under the given name, so migrations can create a copy.
+     * @param tableName The table name.
+     * @return The CREATE TABLE statement.
+     */
+    private static String createResultsSql(String tableName) {
+        return "CREATE TABLE " + tableName + " (" +
+                ResultEntry._ID + " INTEGER PRIMARY KEY," +
+                ResultEntry.COLUMN_NAME_QUIZ_ID + " INTEGER," +
+                ResultEntry.COLUMN_NAME_SCORE + " INTEGER," +
+                ResultEntry.COLUMN_NAME_DATE + " INTEGER," +
+                "FOREIGN KEY (" + ResultEntry.COLUMN_NAME_QUIZ_ID + ") REFERENCES " +
+                QuizEntry.TABLE_NAME + "(" + QuizEntry._ID + "))";
+    }
 
     /**
      * Get singleton instance of the database helper
@@ -84,6 +213,48 @@ public class CountryDbHelper extends SQLiteOpenHelper {
     private CountryDbHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
         this.context = context;
+
+        // WAL lets the reader pool run while the writer commits, and makes each commit a single append
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * Opens the database for reading. Must not be called on the main thread.
+     * @return The database.
+     */
+    @Override
+    public SQLiteDatabase getReadableDatabase() {
+        checkNotMainThread();
+        return super.getReadableDatabase();
+    }
+
+    /**
+     * Opens the database for writing. Must not be called on the main thread.
+     * @return The database.
+     */
+    @Override
+    public SQLiteDatabase getWritableDatabase() {
+        checkNotMainThread();
+        return super.getWritableDatabase();
+    }
+
+    /**
+     * Records database or disk access made from the main thread; all such work belongs on {@link DbExecutor}.
+     */
+    private static void checkNotMainThread() {
+        if (DbExecutor.isMainThread()) {
+            mainThreadAccessCount.incrementAndGet();
+            Log.w(TAG, "Database accessed on the main thread", new Throwable());
+        }
+    }
+
+    /**
+     * Gets how many times the database or its disk caches were accessed on the main thread.
+     * Expected to stay at zero.
+     * @return The number of main thread accesses since the process started.
+     */
+    public static int getMainThreadAccessCount() {
+        return mainThreadAccessCount.get();
     }
 
     /**
@@ -92,25 +263,164 @@ public class CountryDbHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onCreate(SQLiteDatabase db) {
+        createSchema(db);
+    }
+
+    /**
+     * Creates every table and index of the latest schema version.
+     * @param db The database.
+     */
+    static void createSchema(SQLiteDatabase db) {
         // Create all tables
         db.execSQL(SQL_CREATE_COUNTRIES);
         db.execSQL(SQL_CREATE_QUIZZES);
         db.execSQL(SQL_CREATE_RESULTS);
+        // Added the same way as in the migration, so new and upgraded tables are identical
+        db.execSQL(SQL_ADD_RESULTS_QUESTION_COUNT);
+        db.execSQL(SQL_CREATE_RESULTS_DATE_INDEX);
+        db.execSQL(SQL_CREATE_RESULTS_QUIZ_ID_INDEX);
+        ScoreStatsStore.createTables(db);
+        db.execSQL(SQL_CREATE_ANSWERS);
+        db.execSQL(SQL_CREATE_ANSWERS_COUNTRY_INDEX);
+        db.execSQL(SQL_CREATE_DATASET_META);
+        CountryStatsStore.createTables(db);
+        ReviewStore.createTables(db);
     }
 
     /**
      * Called when the database needs to be changed and updated.
+     * Existing rows are kept by applying each schema migration in turn.
      * @param db The database.
      * @param oldVersion The old database version.
      * @param newVersion The new database version.
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Drop all tables and recreate them
-        db.execSQL(SQL_DELETE_RESULTS);
-        db.execSQL(SQL_DELETE_QUIZZES);
-        db.execSQL(SQL_DELETE_COUNTRIES);
-        onCreate(db);
+        migrate(db, oldVersion, newVersion);
+        invalidateCountrySnapshot();
+    }
+
+    /**
+     * Upgrades a database one schema version at a time.
+     * Runs inside the transaction opened by SQLiteOpenHelper, so a failed step leaves the old schema intact.
+     * @param db The database.
+     * @param oldVersion The version the database is at.
+     * @param newVersion The version to upgrade to.
+     */
+    static void migrate(SQLiteDatabase db, int oldVersion, int newVersion) {
+        for (int version = oldVersion + 1; version <= newVersion; version++) {
+            switch (version) {
+                case 2:
+                    migrateToVersion2(db);
+                    break;
+                case 3:
+                    migrateToVersion3(db);
+                    break;
+                case 4:
+                    migrateToVersion4(db);
+                    break;
+                case 5:
+                    migrateToVersion5(db);
+                    break;
+                case 6:
+                    migrateToVersion6(db);
+                    break;
+                case 7:
+                    migrateToVersion7(db);
+                    break;
+                case 8:
+                    migrateToVersion8(db);
+                    break;
+                default:
+                    throw new IllegalStateException("No migration to database version " + version);
+            }
+        }
+    }
+
+    /**
+     * Version 2: quiz and result dates become epoch-millis INTEGER columns instead of
+     * formatted local-time TEXT, and results gets indices on date and quiz_id.
+     * @param db The database.
+     */
+    private static void migrateToVersion2(SQLiteDatabase db) {
+        // v1 dates were "yyyy-MM-dd HH:mm" in local time; rows that cannot be parsed become 0
+        String quizDate = "COALESCE(CAST(strftime('%s', " + QuizEntry.COLUMN_NAME_DATE +
+                ", 'utc') AS INTEGER) * 1000, 0)";
+        String resultDate = "COALESCE(CAST(strftime('%s', " + ResultEntry.COLUMN_NAME_DATE +
+                ", 'utc') AS INTEGER) * 1000, 0)";
+
+        // Copy into new tables and rename them afterwards, so the results foreign key keeps pointing at quizzes
+        db.execSQL(createQuizzesSql("quizzes_v2"));
+        db.execSQL("INSERT INTO quizzes_v2 (" + QuizEntry._ID + ", " + QuizEntry.COLUMN_NAME_TITLE + ", " +
+                QuizEntry.COLUMN_NAME_DATE + ") SELECT " + QuizEntry._ID + ", " + QuizEntry.COLUMN_NAME_TITLE +
+                ", " + quizDate + " FROM " + QuizEntry.TABLE_NAME);
+
+        db.execSQL(createResultsSql("results_v2"));
+        db.execSQL("INSERT INTO results_v2 (" + ResultEntry._ID + ", " + ResultEntry.COLUMN_NAME_QUIZ_ID + ", " +
+                ResultEntry.COLUMN_NAME_SCORE + ", " + ResultEntry.COLUMN_NAME_DATE + ") SELECT " +
+                ResultEntry._ID + ", " + ResultEntry.COLUMN_NAME_QUIZ_ID + ", " + ResultEntry.COLUMN_NAME_SCORE +
+                ", " + resultDate + " FROM " + ResultEntry.TABLE_NAME);
+
+        db.execSQL("DROP TABLE " + ResultEntry.TABLE_NAME);
+        db.execSQL("DROP TABLE " + QuizEntry.TABLE_NAME);
+        db.execSQL("ALTER TABLE quizzes_v2 RENAME TO " + QuizEntry.TABLE_NAME);
+        db.execSQL("ALTER TABLE results_v2 RENAME TO " + ResultEntry.TABLE_NAME);
+
+        db.execSQL(SQL_CREATE_RESULTS_DATE_INDEX);
+        db.execSQL(SQL_CREATE_RESULTS_QUIZ_ID_INDEX);
+    }
+
+    /**
+     * Version 3: adds the score_stats and score_histogram aggregate tables, filled from existing results.
+     * @param db The database.
+     */
+    private static void migrateToVersion3(SQLiteDatabase db) {
+        ScoreStatsStore.createTables(db);
+        ScoreStatsStore.rebuild(db);
+    }
+
+    /**
+     * Version 4: results record how many questions the quiz had, since quiz length is no longer fixed.
+     * @param db The database.
+     */
+    private static void migrateToVersion4(SQLiteDatabase db) {
+        db.execSQL(SQL_ADD_RESULTS_QUESTION_COUNT);
+    }
+
+    /**
+     * Version 5: adds the answers table holding the response times of timed quizzes.
+     * @param db The database.
+     */
+    private static void migrateToVersion5(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_ANSWERS);
+        db.execSQL(SQL_CREATE_ANSWERS_COUNTRY_INDEX);
+    }
+
+    /**
+     * Version 6: adds the dataset_meta table. It starts empty, so the next start compares the
+     * assets against nothing and re-syncs the existing countries once, keeping rows that match.
+     * @param db The database.
+     */
+    private static void migrateToVersion6(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_DATASET_META);
+    }
+
+    /**
+     * Version 7: adds the country_stats table, seeded from the answers of timed quizzes.
+     * @param db The database.
+     */
+    private static void migrateToVersion7(SQLiteDatabase db) {
+        CountryStatsStore.createTables(db);
+        CountryStatsStore.seedFromAnswers(db);
+    }
+
+    /**
+     * Version 8: adds the review_state table, with every existing country not yet reviewed.
+     * @param db The database.
+     */
+    private static void migrateToVersion8(SQLiteDatabase db) {
+        ReviewStore.createTables(db);
+        ReviewStore.syncCountries(db);
     }
 
     /**
@@ -118,120 +428,659 @@ public class CountryDbHelper extends SQLiteOpenHelper {
      * @return true if database exists, false otherwise
      */
     public boolean isDatabaseExists() {
+        checkNotMainThread();
         File dbFile = context.getDatabasePath(DATABASE_NAME);
         return dbFile.exists();
     }
 
     /**
-     * Check if data is already loaded in the countries table
-     * @return true if data exists, false otherwise
+     * Gets the content hash an asset was last imported from.
+     * @param asset The asset file name.
+     * @return The hash, or {@link #NO_DATASET_HASH} if the asset was never imported.
      */
-    public boolean isDataLoaded() {
-        SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + CountryEntry.TABLE_NAME, null);
-        cursor.moveToFirst();
-        int count = cursor.getInt(0);
-        cursor.close();
-        return count > 0;
+    public long getDatasetHash(String asset) {
+        checkNotMainThread();
+        return queryDatasetHash(getReadableDatabase(), asset);
     }
 
     /**
-     * Get random country-continent pairs
-     * @param count Number of random countries to retrieve
-     * @return A Map with country names as keys and their continents as values
+     * Looks up the content hash of an imported asset by its primary key.
+     * @param db The database.
+     * @param asset The asset file name.
+     * @return The hash, or {@link #NO_DATASET_HASH} if the asset was never imported.
      */
-    public Map<String, String> getRandomCountryContinentPairs(int count) {
-        Map<String, String> countryContinentMap = new HashMap<>();
+    static long queryDatasetHash(SQLiteDatabase db, String asset) {
+        Cursor cursor = db.query(DatasetEntry.TABLE_NAME,
+                new String[] { DatasetEntry.COLUMN_NAME_CONTENT_HASH },
+                DatasetEntry.COLUMN_NAME_ASSET + " = ?", new String[] { asset },
+                null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : NO_DATASET_HASH;
+        } finally {
+            cursor.close();
+        }
+    }
 
-        SQLiteDatabase db = this.getReadableDatabase();
+    /**
+     * Records the content hash an asset was imported from, replacing the previous one.
+     * Call it in the same transaction as the import so the two cannot disagree.
+     * @param db The database.
+     * @param asset The asset file name.
+     * @param contentHash The hash of the imported content.
+     */
+    static void recordDatasetHash(SQLiteDatabase db, String asset, long contentHash) {
+        ContentValues values = new ContentValues();
+        values.put(DatasetEntry.COLUMN_NAME_ASSET, asset);
+        values.put(DatasetEntry.COLUMN_NAME_CONTENT_HASH, contentHash);
+        values.put(DatasetEntry.COLUMN_NAME_IMPORTED_AT, System.currentTimeMillis());
+        db.insertWithOnConflict(DatasetEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Creates a sampler over the current country snapshot.
+     * Each caller gets its own sampler, so concurrent quizzes do not share a shuffle order.
+     * @return A new country sampler.
+     */
+    public CountrySampler getCountrySampler() {
+        return getCountrySnapshot().newSampler(new Random());
+    }
+
+    /**
+     * Creates a sampler for the adaptive mode, which draws countries the player often gets wrong
+     * more often. The weights are read from the statistics table once and then kept up to date
+     * in memory as quizzes are written.
+     * @return A new weighted country sampler.
+     */
+    public CountrySampler getAdaptiveSampler() {
+        CountrySnapshot snapshot = getCountrySnapshot();
+        AdaptiveWeights weights = adaptiveWeights;
+        if (weights == null || weights.getSnapshot() != snapshot) {
+            synchronized (this) {
+                weights = adaptiveWeights;
+                if (weights == null || weights.getSnapshot() != snapshot) {
+                    weights = AdaptiveWeights.load(getReadableDatabase(), snapshot);
+                    adaptiveWeights = weights;
+                }
+            }
+        }
+        return weights.newSampler(new Random());
+    }
 
-        // We need both country and continent columns
-        String[] projection = {
-                CountryEntry.COLUMN_NAME_COUNTRY,
-                CountryEntry.COLUMN_NAME_CONTINENT
-        };
+    /**
+     * Folds the answers of committed quizzes into the adaptive weights. Called on the writer thread
+     * right after the commit, with this helper locked across both, so the loader cannot read the
+     * statistics in between and count the same answers twice.
+     * @param written The answers of the committed quizzes.
+     */
+    synchronized void applyAnswerOutcomes(List<AnswerTimings> written) {
+        AdaptiveWeights weights = adaptiveWeights;
+        if (weights != null && !written.isEmpty()) {
+            adaptiveWeights = weights.withOutcomes(written);
+        }
+    }
 
-        // Get random countries
+    /**
+     * Creates a sampler for the study mode over the next countries to review: the ones due,
+     * then countries never reviewed, then the ones due soonest. The schedule is read through an
+     * in-memory window that is only refilled from the due-time index when it runs low.
+     * @param count Number of countries wanted.
+     * @return A sampler over at most count countries, or over every country if nothing is scheduled.
+     */
+    public synchronized CountrySampler getStudySampler(int count) {
+        CountrySnapshot snapshot = getCountrySnapshot();
+        if (reviewQueue == null || reviewSnapshot != snapshot || reviewQueue.needsFill(count)) {
+            reviewQueue = ReviewStore.fill(getReadableDatabase(), snapshot, REVIEW_WINDOW);
+            reviewSnapshot = snapshot;
+        }
+
+        int[] rows = new int[count];
+        int taken = reviewQueue.poll(count, System.currentTimeMillis(), reviewRandom, rows);
+        if (taken == 0) {
+            // Nothing to schedule before the first import
+            return snapshot.newSampler(new Random());
+        }
+        return snapshot.newSubsetSampler(Arrays.copyOf(rows, taken), new Random());
+    }
+
+    /**
+     * Moves reviewed countries in the study queue. Called on the writer thread right after the
+     * commit that rescheduled them, with this helper locked across both.
+     * @param rescheduled The new due time of each reviewed country.
+     */
+    synchronized void applyReviews(Map<String, Long> rescheduled) {
+        if (reviewQueue == null) {
+            return;
+        }
+        for (Map.Entry<String, Long> entry : rescheduled.entrySet()) {
+            int row = reviewSnapshot.indexOf(entry.getKey());
+            if (row >= 0) {
+                reviewQueue.reschedule(row, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Puts the countries of a study quiz that was discarded unfinished back into the study queue,
+     * so the next study quiz can take them again. Countries reviewed since are left where they are.
+     * @param names The countries of the discarded quiz.
+     */
+    synchronized void releaseStudyCountries(String[] names) {
+        if (reviewQueue == null) {
+            return;
+        }
+        for (String name : names) {
+            int row = reviewSnapshot.indexOf(name);
+            if (row >= 0) {
+                reviewQueue.release(row);
+            }
+        }
+    }
+
+    /**
+     * Drops the adaptive weights and the study queue, so both are read from the database again
+     * on next use. Called when a commit could not be folded into them in memory.
+     */
+    synchronized void invalidateAnswerState() {
+        adaptiveWeights = null;
+        reviewQueue = null;
+    }
+
+    /**
+     * Gets the immutable copy of the countries table, loading it on first use and after invalidation.
+     * Once loaded, lookups only read a volatile field and may be made from any thread.
+     * Before the country data has been imported, the snapshot is taken from the prebuilt country
+     * index instead, so quizzes do not wait for the first import; the import then invalidates it.
+     * @return The country snapshot.
+     */
+    public CountrySnapshot getCountrySnapshot() {
+        CountrySnapshot snapshot = countrySnapshot;
+        if (snapshot != null) {
+            snapshotHits.incrementAndGet();
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = countrySnapshot;
+            if (snapshot != null) {
+                snapshotHits.incrementAndGet();
+                return snapshot;
+            }
+            snapshotMisses.incrementAndGet();
+            checkNotMainThread();
+
+            SQLiteDatabase db = getReadableDatabase();
+            CountryIndex index = null;
+            if (queryDatasetHash(db, ImportCsvTask.COUNTRY_ASSET) == NO_DATASET_HASH) {
+                index = getCountryIndex();
+            }
+            snapshot = index != null ? CountrySnapshot.fromIndex(index) : loadCountrySnapshot(db);
+            countrySnapshot = snapshot;
+            Log.d(TAG, "Loaded " + snapshot.size() + " countries from " + (index != null ? "index" : "database"));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets how many country snapshot lookups were served from memory.
+     * @return The hit count since the helper was created.
+     */
+    public long getSnapshotHitCount() {
+        return snapshotHits.get();
+    }
+
+    /**
+     * Gets how many country snapshot lookups had to load the snapshot.
+     * @return The miss count since the helper was created.
+     */
+    public long getSnapshotMissCount() {
+        return snapshotMisses.get();
+    }
+
+    /**
+     * Gets the prebuilt binary country index, memory-mapping it on first use.
+     * @return The country index, or null if the asset could not be opened.
+     */
+    public CountryIndex getCountryIndex() {
+        CountryIndex index = countryIndex;
+        if (index == null) {
+            checkNotMainThread();
+            synchronized (this) {
+                index = countryIndex;
+                if (index == null) {
+                    try {
+                        index = openCountryIndex();
+                        countryIndex = index;
+                    } catch (IOException e) {
+                        Log.e(TAG, "Error opening country index", e);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Memory-maps the country index asset. The asset must be stored uncompressed in the APK.
+     * @return The country index.
+     * @throws IOException If the asset cannot be opened.
+     */
+    private CountryIndex openCountryIndex() throws IOException {
+        try (AssetFileDescriptor afd = context.getAssets().openFd(CountryIndex.ASSET_NAME);
+             FileInputStream in = afd.createInputStream()) {
+            return CountryIndex.map(in.getChannel(), afd.getStartOffset(), afd.getDeclaredLength());
+        }
+    }
+
+    /**
+     * Loads every country from the database in a single pass.
+     * @param db The database to read from.
+     * @return A snapshot of the current contents of the countries table.
+     */
+    static CountrySnapshot loadCountrySnapshot(SQLiteDatabase db) {
         Cursor cursor = db.query(
                 CountryEntry.TABLE_NAME,
-                projection,
-                null,
-                null,
-                null,
-                null,
-                "RANDOM()",
-                String.valueOf(count)
+                new String[] { CountryEntry._ID, CountryEntry.COLUMN_NAME_COUNTRY, CountryEntry.COLUMN_NAME_CONTINENT },
+                null, null, null, null, null
         );
 
         try {
-            // Process all rows
-            while (cursor != null && cursor.moveToNext()) {
-                // Get column indices
-                int nameIndex = cursor.getColumnIndexOrThrow(CountryEntry.COLUMN_NAME_COUNTRY);
-                int continentIndex = cursor.getColumnIndexOrThrow(CountryEntry.COLUMN_NAME_CONTINENT);
-
-                // Extract data
-                String countryName = cursor.getString(nameIndex);
-                String continent = cursor.getString(continentIndex);
+            int count = cursor.getCount();
+            int[] ids = new int[count];
+            String[] names = new String[count];
+            byte[] continentCodes = new byte[count];
 
-                // Add to map (country name as key, continent as value)
-                countryContinentMap.put(countryName, continent);
+            int row = 0;
+            while (cursor.moveToNext()) {
+                ids[row] = cursor.getInt(0);
+                names[row] = cursor.getString(1);
+                continentCodes[row] = (byte) Continents.codeOf(cursor.getString(2));
+                row++;
             }
+
+            return new CountrySnapshot(ids, names, continentCodes);
         } finally {
-            if (cursor != null) {
-                cursor.close();
+            cursor.close();
+        }
+    }
+
+    /**
+     * Gets the matcher for typed answers, building its name completer and typo index on first use.
+     * Completes and matches country and continent names from memory, so neither suggestions nor
+     * answer checks query the database.
+     * @return The answer matcher.
+     */
+    public AnswerMatcher getAnswerMatcher() {
+        AnswerMatcher matcher = answerMatcher;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = answerMatcher;
+                if (matcher == null) {
+                    CountrySnapshot snapshot = getCountrySnapshot();
+                    String[] names = new String[snapshot.size()];
+                    for (int row = 0; row < names.length; row++) {
+                        names[row] = snapshot.getName(row);
+                    }
+                    matcher = buildAnswerMatcher(names, getNeighborGraph());
+                    answerMatcher = matcher;
+                }
             }
         }
+        return matcher;
+    }
 
-        return countryContinentMap;
+    /**
+     * Gets a matcher for typed answers to a quiz restored after process death without touching
+     * the database: the matcher already built, if any, otherwise one over the names of the
+     * neighbor graph, which the restored quiz takes its country names from too. The latter is
+     * not kept, the next quiz builds the regular one.
+     * @return The answer matcher, or null if the neighbor graph is unavailable.
+     */
+    public AnswerMatcher getRestoredAnswerMatcher() {
+        AnswerMatcher matcher = answerMatcher;
+        if (matcher != null) {
+            return matcher;
+        }
+        NeighborGraph graph = getNeighborGraph();
+        if (graph == null) {
+            return null;
+        }
+        String[] names = new String[graph.size()];
+        for (int id = 0; id < names.length; id++) {
+            names[id] = graph.nameOf(id);
+        }
+        return buildAnswerMatcher(names, graph);
     }
 
     /**
-     * Retrieves all quiz results from the database in descending order by date.
-     * @return A list of formatted strings, each resulting in a past quiz result.
+     * Builds a matcher over country names and the continent names.
+     * @param countryNames The country names.
+     * @param graph The neighbor graph for border questions, or null.
+     * @return The answer matcher.
      */
-    public List<String> getAllQuizResults() {
-        List<String> results = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
+    private static AnswerMatcher buildAnswerMatcher(String[] countryNames, NeighborGraph graph) {
+        String[] names = Arrays.copyOf(countryNames, countryNames.length + Continents.COUNT);
+        System.arraycopy(Continents.NAMES, 0, names, countryNames.length, Continents.COUNT);
+        return new AnswerMatcher(new NameCompleter(names), graph);
+    }
 
-        Cursor cursor = db.rawQuery(
-                "SELECT r.score, r.date FROM " + DatabaseContract.ResultEntry.TABLE_NAME + " r ORDER BY r.date DESC",
-                null
-        );
+    /**
+     * Gets the land border graph, building it on first use.
+     * The graph comes from the prebuilt country index, or from country_neighbors.csv
+     * if the index asset is unavailable.
+     * @return The neighbor graph, or null if neither source could be read.
+     */
+    public NeighborGraph getNeighborGraph() {
+        NeighborGraph graph = neighborGraph;
+        if (graph == null) {
+            synchronized (this) {
+                graph = neighborGraph;
+                if (graph == null) {
+                    CountryIndex index = getCountryIndex();
+                    if (index != null) {
+                        graph = index.toNeighborGraph();
+                    } else {
+                        try (Reader in = new InputStreamReader(
+                                context.getAssets().open("country_neighbors.csv"), StandardCharsets.UTF_8)) {
+                            graph = NeighborGraph.read(in);
+                        } catch (IOException e) {
+                            Log.e(TAG, "Error reading neighbor data", e);
+                            return null;
+                        }
+                    }
+                    neighborGraph = graph;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Gets the all-pairs border crossing table for the neighbor graph.
+     * The table is read from the cache directory when a copy built from the same country index
+     * exists, otherwise it is built once and saved there.
+     * @return The distance matrix, or null if the neighbor graph is unavailable.
+     */
+    public HopDistanceMatrix getHopDistanceMatrix() {
+        HopDistanceMatrix matrix = hopDistances;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = hopDistances;
+                if (matrix == null) {
+                    NeighborGraph graph = getNeighborGraph();
+                    if (graph == null) {
+                        return null;
+                    }
+                    CountryIndex index = getCountryIndex();
+                    matrix = index != null
+                            ? loadOrBuildHopDistances(graph, index.getContentHash())
+                            : HopDistanceMatrix.build(graph);
+                    hopDistances = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Reads the hop distance cache file for an index checksum, building and saving it if missing.
+     * @param graph The neighbor graph.
+     * @param hash Checksum of the country index the graph was built from.
+     * @return The distance matrix.
+     */
+    private HopDistanceMatrix loadOrBuildHopDistances(NeighborGraph graph, long hash) {
+        checkNotMainThread();
+        File cacheDir = context.getCacheDir();
+        String fileName = HOP_CACHE_PREFIX + Long.toHexString(hash) + ".bin";
+        File cacheFile = new File(cacheDir, fileName);
+
+        if (cacheFile.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(cacheFile))) {
+                HopDistanceMatrix matrix = HopDistanceMatrix.read(in);
+                if (matrix.size() == graph.size()) {
+                    return matrix;
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Discarding unreadable hop distance cache", e);
+            }
+        }
+
+        HopDistanceMatrix matrix = HopDistanceMatrix.build(graph);
+
+        // Write to a temporary file first so a partial write is never mistaken for a cache hit
+        File tmpFile = new File(cacheDir, fileName + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmpFile))) {
+            matrix.write(out);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not cache hop distances", e);
+            tmpFile.delete();
+            return matrix;
+        }
+        if (tmpFile.renameTo(cacheFile)) {
+            // Remove tables built from older versions of the index
+            File[] stale = cacheDir.listFiles();
+            if (stale != null) {
+                for (File file : stale) {
+                    if (file.getName().startsWith(HOP_CACHE_PREFIX) && !file.getName().equals(fileName)) {
+                        file.delete();
+                    }
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Drops the cached country snapshot and the answer matcher built from it. Must be called
+     * whenever the countries table changes. Synchronized with the loaders, so a load that read
+     * the table before the change cannot publish its result after this call.
+     */
+    public synchronized void invalidateCountrySnapshot() {
+        countrySnapshot = null;
+        answerMatcher = null;
+    }
+
+    /**
+     * Retrieves one page of quiz results, newest first.
+     * @param after Last row of the previous page, or null for the first page.
+     * @param limit Maximum number of rows to return.
+     * @return The page of results.
+     */
+    public List<QuizResultRow> getQuizResultsPage(QuizResultRow after, int limit) {
+        return queryQuizResultsPage(getReadableDatabase(), after, limit);
+    }
 
-        while (cursor.moveToNext()) {
-            int score = cursor.getInt(0);
-            String date = cursor.getString(1);
-            results.add("Date: " + date + " | Score: " + score + "/6");
+    /**
+     * Keyset pagination over the results table. Each page continues strictly after the
+     * (date, id) of the previous page's last row, so the cost of a page does not depend
+     * on how many rows came before it.
+     * @param db The database.
+     * @param after Last row of the previous page, or null for the first page.
+     * @param limit Maximum number of rows to return.
+     * @return The page of results.
+     */
+    static List<QuizResultRow> queryQuizResultsPage(SQLiteDatabase db, QuizResultRow after, int limit) {
+        String sql = "SELECT " + ResultEntry._ID + ", " + ResultEntry.COLUMN_NAME_SCORE + ", " +
+                ResultEntry.COLUMN_NAME_DATE + ", " + ResultEntry.COLUMN_NAME_QUESTION_COUNT +
+                " FROM " + ResultEntry.TABLE_NAME;
+        String[] args;
+        if (after == null) {
+            args = new String[] { String.valueOf(limit) };
+        } else {
+            // date <= ? keeps the index range scan, the OR breaks ties between equal dates
+            sql += " WHERE " + ResultEntry.COLUMN_NAME_DATE + " <= ? AND (" +
+                    ResultEntry.COLUMN_NAME_DATE + " < ? OR " + ResultEntry._ID + " < ?)";
+            String afterDate = String.valueOf(after.getDate());
+            args = new String[] { afterDate, afterDate, String.valueOf(after.getId()), String.valueOf(limit) };
+        }
+        sql += " ORDER BY " + ResultEntry.COLUMN_NAME_DATE + " DESC, " + ResultEntry._ID + " DESC LIMIT ?";
+
+        List<QuizResultRow> page = new ArrayList<>(limit);
+        Cursor cursor = db.rawQuery(sql, args);
+        try {
+            while (cursor.moveToNext()) {
+                page.add(new QuizResultRow(cursor.getLong(0), cursor.getInt(1), cursor.getLong(2), cursor.getInt(3)));
+            }
+        } finally {
+            cursor.close();
         }
+        return page;
+    }
 
-        cursor.close();
-        return results;
+    /**
+     * Inserts a quiz result without response times and updates the score statistics in one transaction.
+     * @param db The database.
+     * @param score The final score achieved in the quiz.
+     * @param questionCount The number of questions in the quiz.
+     * @param date The date and time of the quiz completion, in epoch milliseconds.
+     * @return The id of the new quiz row.
+     */
+    static long insertQuizResult(SQLiteDatabase db, int score, int questionCount, long date) {
+        return insertQuizResult(db, score, questionCount, null, date);
     }
 
     /**
-     * Inserts a new quiz result into the database.
-     * The method stores both a quiz entry and a corresponding result entry.
-     * @param score The final score achieved in the quiz (out of 6).
+     * Inserts a quiz result, the per-country outcomes and, for a timed quiz, the answers with
+     * their response times, and updates the score statistics in one transaction, so a quiz costs
+     * a single commit however many questions it had.
+     * @param db The database.
+     * @param score The final score achieved in the quiz.
+     * @param questionCount The number of questions in the quiz.
+     * @param answers The answers of the quiz, or null.
+     * @param date The date and time of the quiz completion, in epoch milliseconds.
+     * @return The id of the new quiz row.
      */
-    public void insertQuizResult(int score) {
-        SQLiteDatabase db = this.getWritableDatabase();
+    static long insertQuizResult(SQLiteDatabase db, int score, int questionCount, AnswerTimings answers,
+                                 long date) {
+        db.beginTransaction();
+        try {
+            // inserts to the quizzes table
+            ContentValues quizValues = new ContentValues();
+            quizValues.put(DatabaseContract.QuizEntry.COLUMN_NAME_TITLE, "Quiz");
+            quizValues.put(DatabaseContract.QuizEntry.COLUMN_NAME_DATE, date);
+            long quizId = db.insert(DatabaseContract.QuizEntry.TABLE_NAME, null, quizValues);
+
+            // inserts to the results table
+            ContentValues resultValues = new ContentValues();
+            resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_QUIZ_ID, quizId);
+            resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_SCORE, score);
+            resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_DATE, date);
+            resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_QUESTION_COUNT, questionCount);
+            db.insert(DatabaseContract.ResultEntry.TABLE_NAME, null, resultValues);
 
-        // gets the date and time of the quiz completion and formats it
-        String date = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault()).format(new Date());
+            // keeps the aggregates in step with the results table
+            ScoreStatsStore.recordResult(db, score, questionCount);
+
+            if (answers != null) {
+                if (answers.isTimed()) {
+                    insertAnswers(db, quizId, answers);
+                }
+                CountryStatsStore.recordOutcomes(db, answers);
+            }
 
-        // inserts to the quizzes table
-        ContentValues quizValues = new ContentValues();
-        quizValues.put(DatabaseContract.QuizEntry.COLUMN_NAME_TITLE, "Quiz");
-        quizValues.put(DatabaseContract.QuizEntry.COLUMN_NAME_DATE, date);
-        long quizId = db.insert(DatabaseContract.QuizEntry.TABLE_NAME, null, quizValues);
+            db.setTransactionSuccessful();
+            return quizId;
+        } finally {
+            db.endTransaction();
+        }
+    }
 
-        // inserts to the results table
-        ContentValues resultValues = new ContentValues();
-        resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_QUIZ_ID, quizId);
-        resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_SCORE, score);
-        resultValues.put(DatabaseContract.ResultEntry.COLUMN_NAME_DATE, date);
-        db.insert(DatabaseContract.ResultEntry.TABLE_NAME, null, resultValues);
+    /**
+     * Writes one answers row per timed question through a single compiled statement.
+     * Must run inside the transaction of the quiz insert.
+     * @param db The database.
+     * @param quizId Id of the quiz the answers belong to.
+     * @param timings The answers of a timed quiz.
+     */
+    private static void insertAnswers(SQLiteDatabase db, long quizId, AnswerTimings timings) {
+        SQLiteStatement insert = db.compileStatement(SQL_INSERT_ANSWER);
+        try {
+            for (int i = 0; i < timings.size(); i++) {
+                if (!timings.hasResponseTime(i)) {
+                    continue;
+                }
+                insert.bindLong(1, quizId);
+                insert.bindLong(2, i);
+                insert.bindLong(3, timings.getType(i));
+                insert.bindString(4, timings.getCountry(i));
+                insert.bindLong(5, timings.isCorrect(i) ? 1 : 0);
+                insert.bindLong(6, timings.getResponseMillis(i));
+                insert.executeInsert();
+            }
+        } finally {
+            insert.close();
+        }
+    }
+
+    /**
+     * Gets response time statistics per country, slowest first.
+     * @return One entry per country that has been asked about in a timed quiz.
+     */
+    public List<ResponseTimeStats> getResponseTimesByCountry() {
+        return queryResponseTimesByCountry(getReadableDatabase());
+    }
+
+    /**
+     * Gets response time statistics per continent, slowest first.
+     * @return One entry per continent that has been asked about in a timed quiz.
+     */
+    public List<ResponseTimeStats> getResponseTimesByContinent() {
+        return queryResponseTimesByContinent(getReadableDatabase());
+    }
+
+    /**
+     * Aggregates the answers table by country.
+     * @param db The database.
+     * @return The statistics, slowest country first.
+     */
+    static List<ResponseTimeStats> queryResponseTimesByCountry(SQLiteDatabase db) {
+        return queryResponseTimes(db, "SELECT " + AnswerEntry.COLUMN_NAME_COUNTRY + ", " + RESPONSE_AGGREGATES +
+                " FROM " + AnswerEntry.TABLE_NAME +
+                " GROUP BY " + AnswerEntry.COLUMN_NAME_COUNTRY + " ORDER BY 4 DESC");
+    }
+
+    /**
+     * Aggregates the answers table by the continent of each country, looked up in the countries table.
+     * @param db The database.
+     * @return The statistics, slowest continent first.
+     */
+    static List<ResponseTimeStats> queryResponseTimesByContinent(SQLiteDatabase db) {
+        return queryResponseTimes(db, "SELECT c." + CountryEntry.COLUMN_NAME_CONTINENT + ", " + RESPONSE_AGGREGATES +
+                " FROM " + AnswerEntry.TABLE_NAME + " a JOIN " + CountryEntry.TABLE_NAME + " c ON c." +
+                CountryEntry.COLUMN_NAME_COUNTRY + " = a." + AnswerEntry.COLUMN_NAME_COUNTRY +
+                " GROUP BY c." + CountryEntry.COLUMN_NAME_CONTINENT + " ORDER BY 4 DESC");
+    }
+
+    /**
+     * Reads (label, answers, correct answers, mean response time) rows.
+     */
+    private static List<ResponseTimeStats> queryResponseTimes(SQLiteDatabase db, String sql) {
+        List<ResponseTimeStats> stats = new ArrayList<>();
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            while (cursor.moveToNext()) {
+                stats.add(new ResponseTimeStats(cursor.getString(0), cursor.getInt(1), cursor.getInt(2),
+                        cursor.getLong(3)));
+            }
+        } finally {
+            cursor.close();
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the running score statistics. Costs the same regardless of how many results are stored.
+     * @return The score statistics.
+     */
+    public ScoreStats getScoreStats() {
+        return ScoreStatsStore.read(getReadableDatabase());
+    }
+
+    /**
+     * Checks the score statistics against the raw results and rebuilds them if they have drifted.
+     * Scans the whole results table, so it is meant for occasional maintenance only.
+     * @return true if the statistics were consistent, false if they had to be rebuilt.
+     */
+    public boolean verifyScoreStats() {
+        return ScoreStatsStore.verify(getWritableDatabase());
     }
 
-}
\ No newline at end of file
+}
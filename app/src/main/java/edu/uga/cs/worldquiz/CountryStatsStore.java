@@ -0,0 +1,111 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import edu.uga.cs.worldquiz.DatabaseContract.AnswerEntry;
+import edu.uga.cs.worldquiz.DatabaseContract.CountryStatsEntry;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+
+/**
+ * Maintains the country_stats table: how often each country was asked about and answered wrong.
+ * Rows are updated incrementally with every written quiz, so reading the statistics of every
+ * country costs one row per country no matter how much history there is.
+ */
+public final class CountryStatsStore {
+    private static final String SQL_CREATE_STATS =
+            "CREATE TABLE " + CountryStatsEntry.TABLE_NAME + " (" +
+                    CountryStatsEntry.COLUMN_NAME_COUNTRY + " TEXT PRIMARY KEY," +
+                    CountryStatsEntry.COLUMN_NAME_ASKED + " INTEGER NOT NULL DEFAULT 0," +
+                    CountryStatsEntry.COLUMN_NAME_WRONG + " INTEGER NOT NULL DEFAULT 0)";
+
+    private static final String SQL_RECORD_ANSWER =
+            "UPDATE " + CountryStatsEntry.TABLE_NAME + " SET " +
+                    CountryStatsEntry.COLUMN_NAME_ASKED + " = " + CountryStatsEntry.COLUMN_NAME_ASKED + " + 1, " +
+                    CountryStatsEntry.COLUMN_NAME_WRONG + " = " + CountryStatsEntry.COLUMN_NAME_WRONG + " + ?2 " +
+                    "WHERE " + CountryStatsEntry.COLUMN_NAME_COUNTRY + " = ?1";
+
+    // Private constructor to prevent instantiation
+    private CountryStatsStore() {}
+
+    /**
+     * Creates the empty statistics table.
+     * @param db The database.
+     */
+    static void createTables(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_STATS);
+    }
+
+    /**
+     * Seeds the statistics from the answers of timed quizzes, the only per-country history
+     * kept before this table existed.
+     * @param db The database.
+     */
+    static void seedFromAnswers(SQLiteDatabase db) {
+        db.execSQL("INSERT INTO " + CountryStatsEntry.TABLE_NAME + " (" +
+                CountryStatsEntry.COLUMN_NAME_COUNTRY + ", " + CountryStatsEntry.COLUMN_NAME_ASKED + ", " +
+                CountryStatsEntry.COLUMN_NAME_WRONG + ") SELECT " + AnswerEntry.COLUMN_NAME_COUNTRY +
+                ", COUNT(*), COUNT(*) - SUM(" + AnswerEntry.COLUMN_NAME_CORRECT + ") FROM " +
+                AnswerEntry.TABLE_NAME + " GROUP BY " + AnswerEntry.COLUMN_NAME_COUNTRY);
+    }
+
+    /**
+     * Adds the answered questions of one quiz to the statistics.
+     * Must run in the same transaction as the result insert.
+     * @param db The database.
+     * @param answers The answers of the quiz.
+     */
+    static void recordOutcomes(SQLiteDatabase db, AnswerTimings answers) {
+        SQLiteStatement update = db.compileStatement(SQL_RECORD_ANSWER);
+        try {
+            for (int i = 0; i < answers.size(); i++) {
+                if (!answers.isAnswered(i)) {
+                    continue;
+                }
+                int wrong = answers.isCorrect(i) ? 0 : 1;
+                update.bindString(1, answers.getCountry(i));
+                update.bindLong(2, wrong);
+                // No UPSERT before SQLite 3.24, so the first answer about a country inserts its row
+                if (update.executeUpdateDelete() == 0) {
+                    ContentValues values = new ContentValues();
+                    values.put(CountryStatsEntry.COLUMN_NAME_COUNTRY, answers.getCountry(i));
+                    values.put(CountryStatsEntry.COLUMN_NAME_ASKED, 1);
+                    values.put(CountryStatsEntry.COLUMN_NAME_WRONG, wrong);
+                    db.insert(CountryStatsEntry.TABLE_NAME, null, values);
+                }
+            }
+        } finally {
+            update.close();
+        }
+    }
+
+    /**
+     * Reads the statistics of every country in a snapshot. Countries never asked about stay at zero.
+     * @param db The database.
+     * @param snapshot The countries, whose rows index the output arrays.
+     * @param asked Receives the number of answered questions per row.
+     * @param wrong Receives the number of wrong answers per row.
+     */
+    static void read(SQLiteDatabase db, CountrySnapshot snapshot, int[] asked, int[] wrong) {
+        Cursor cursor = db.query(CountryStatsEntry.TABLE_NAME,
+                new String[] {
+                        CountryStatsEntry.COLUMN_NAME_COUNTRY,
+                        CountryStatsEntry.COLUMN_NAME_ASKED,
+                        CountryStatsEntry.COLUMN_NAME_WRONG
+                },
+                null, null, null, null, null);
+        try {
+            while (cursor.moveToNext()) {
+                int row = snapshot.indexOf(cursor.getString(0));
+                if (row >= 0) {
+                    asked[row] = cursor.getInt(1);
+                    wrong[row] = cursor.getInt(2);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+}
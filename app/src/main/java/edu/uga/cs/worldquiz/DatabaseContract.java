@@ -24,6 +24,7 @@ public class DatabaseContract {
     public static class QuizEntry implements BaseColumns {
         public static final String TABLE_NAME = "quizzes";
         public static final String COLUMN_NAME_TITLE = "title";
+        // Epoch milliseconds
         public static final String COLUMN_NAME_DATE = "date";
 
     }
@@ -35,7 +36,97 @@ public class DatabaseContract {
         public static final String TABLE_NAME = "results";
         public static final String COLUMN_NAME_QUIZ_ID = "quiz_id";
         public static final String COLUMN_NAME_SCORE = "score";
+        // Epoch milliseconds
         public static final String COLUMN_NAME_DATE = "date";
+        // Number of questions in the quiz; 6 for results from before version 4
+        public static final String COLUMN_NAME_QUESTION_COUNT = "question_count";
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Inner class defining the answers table schema.
+     * Holds one row per answered question of a timed quiz.
+     */
+    public static class AnswerEntry implements BaseColumns {
+        public static final String TABLE_NAME = "answers";
+        public static final String COLUMN_NAME_QUIZ_ID = "quiz_id";
+        public static final String COLUMN_NAME_QUESTION_INDEX = "question_index";
+        // One of the Question TYPE_ constants
+        public static final String COLUMN_NAME_QUESTION_TYPE = "question_type";
+        // Country name, matching countries.country
+        public static final String COLUMN_NAME_COUNTRY = "country";
+        // 1 if answered correctly, otherwise 0
+        public static final String COLUMN_NAME_CORRECT = "correct";
+        // Time from showing the question to the answering swipe
+        public static final String COLUMN_NAME_RESPONSE_MILLIS = "response_millis";
+    }
+
+    /**
+     * Inner class defining the per-country answer statistics table schema.
+     * Updated incrementally with every written quiz; weights the adaptive quiz mode.
+     */
+    public static class CountryStatsEntry {
+        public static final String TABLE_NAME = "country_stats";
+        // Country name, matching countries.country
+        public static final String COLUMN_NAME_COUNTRY = "country";
+        // Number of answered questions about the country
+        public static final String COLUMN_NAME_ASKED = "asked";
+        // How many of them were answered wrong
+        public static final String COLUMN_NAME_WRONG = "wrong";
+    }
+
+    /**
+     * Inner class defining the spaced-repetition review table schema.
+     * Holds one row per country; due_at is indexed so the next reviews are a range scan.
+     */
+    public static class ReviewEntry {
+        public static final String TABLE_NAME = "review_state";
+        // Country name, matching countries.country
+        public static final String COLUMN_NAME_COUNTRY = "country";
+        // When the country is due for review, in epoch milliseconds; NULL if never reviewed
+        public static final String COLUMN_NAME_DUE_AT = "due_at";
+        public static final String COLUMN_NAME_INTERVAL_MS = "interval_ms";
+        // Ease factor in thousandths
+        public static final String COLUMN_NAME_EASE = "ease";
+        // Correct answers in a row
+        public static final String COLUMN_NAME_REPETITIONS = "repetitions";
+    }
+
+    /**
+     * Inner class defining the imported dataset table schema.
+     * Holds one row per imported asset file with the hash of the content it was imported from.
+     */
+    public static class DatasetEntry {
+        public static final String TABLE_NAME = "dataset_meta";
+        // Asset file name, e.g. country_continent.csv
+        public static final String COLUMN_NAME_ASSET = "asset";
+        // CRC32 of the asset bytes
+        public static final String COLUMN_NAME_CONTENT_HASH = "content_hash";
+        public static final String COLUMN_NAME_IMPORTED_AT = "imported_at";
+    }
+
+    /**
+     * Inner class defining the running score statistics table schema.
+     * Holds a single row that is updated with every inserted result.
+     */
+    public static class ScoreStatsEntry implements BaseColumns {
+        public static final String TABLE_NAME = "score_stats";
+        public static final String COLUMN_NAME_COUNT = "count";
+        public static final String COLUMN_NAME_SUM = "sum";
+        public static final String COLUMN_NAME_SUM_SQUARES = "sum_squares";
+        public static final String COLUMN_NAME_CURRENT_STREAK = "current_streak";
+        public static final String COLUMN_NAME_BEST_STREAK = "best_streak";
+
+        // _id of the only row
+        public static final long ROW_ID = 1;
+    }
+
+    /**
+     * Inner class defining the per-score histogram table schema
+     */
+    public static class ScoreHistogramEntry {
+        public static final String TABLE_NAME = "score_histogram";
+        public static final String COLUMN_NAME_SCORE = "score";
+        public static final String COLUMN_NAME_COUNT = "count";
+    }
+}
@@ -0,0 +1,151 @@
+package edu.uga.cs.worldquiz;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs all database work off the main thread.
+ * Writes go through a single writer thread so they are applied in submission order,
+ * while reads share a small pool and may run concurrently.
+ * Results are returned as futures, or as LiveData for UI code.
+ */
+public class DbExecutor {
+    private static final String TAG = "DbExecutor";
+    private static final int READER_THREADS = 2;
+
+    // Singleton instance
+    private static DbExecutor instance;
+
+    private final ScheduledExecutorService writer;
+    private final ExecutorService readers;
+    private final Handler mainHandler;
+
+    /**
+     * Get singleton instance of the executor
+     * @return Instance of DbExecutor
+     */
+    public static synchronized DbExecutor getInstance() {
+        if (instance == null) {
+            instance = new DbExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern
+     */
+    private DbExecutor() {
+        // Scheduled so writes can be delayed; immediate writes still run in submission order
+        writer = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("db-writer"));
+        readers = Executors.newFixedThreadPool(READER_THREADS, new NamedThreadFactory("db-reader"));
+        mainHandler = new Handler(Looper.getMainLooper());
+    }
+
+    /**
+     * Runs a read on the reader pool.
+     * @param task The read to run.
+     * @return A future for the result.
+     */
+    public <T> Future<T> read(Callable<T> task) {
+        return readers.submit(task);
+    }
+
+    /**
+     * Runs a write on the writer thread, after every previously submitted write.
+     * @param task The write to run.
+     * @return A future for the result.
+     */
+    public <T> Future<T> write(Callable<T> task) {
+        return writer.submit(task);
+    }
+
+    /**
+     * Runs a write on the writer thread once a delay has passed. Writes submitted in the
+     * meantime may run before it.
+     * @param task The write to run.
+     * @param delayMillis How long to wait before running it, in milliseconds.
+     * @return A future for the result.
+     */
+    public <T> Future<T> writeDelayed(Callable<T> task, long delayMillis) {
+        return writer.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs a read on the reader pool and publishes its result on the main thread.
+     * @param task The read to run.
+     * @return LiveData that receives the result once, or null if the read failed.
+     */
+    public <T> LiveData<T> readLiveData(Callable<T> task) {
+        MutableLiveData<T> result = new MutableLiveData<>();
+        readers.execute(() -> result.postValue(callQuietly(task)));
+        return result;
+    }
+
+    /**
+     * Runs a write on the writer thread and publishes its result on the main thread.
+     * @param task The write to run.
+     * @return LiveData that receives the result once, or null if the write failed.
+     */
+    public <T> LiveData<T> writeLiveData(Callable<T> task) {
+        MutableLiveData<T> result = new MutableLiveData<>();
+        writer.execute(() -> result.postValue(callQuietly(task)));
+        return result;
+    }
+
+    /**
+     * Posts a callback to the main thread.
+     * @param runnable The callback.
+     */
+    public void runOnMainThread(Runnable runnable) {
+        mainHandler.post(runnable);
+    }
+
+    /**
+     * Checks whether the caller is on the main thread.
+     * @return true on the main thread, false otherwise.
+     */
+    public static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static <T> T callQuietly(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            Log.e(TAG, "Database task failed", e);
+            return null;
+        }
+    }
+
+    /**
+     * Names worker threads so they are easy to find in traces.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
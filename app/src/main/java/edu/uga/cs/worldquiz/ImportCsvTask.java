@@ -1,30 +1,46 @@
 package edu.uga.cs.worldquiz;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
-import android.os.AsyncTask;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
+import edu.uga.cs.worldquiz.core.CsvReader;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.HashMap;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 /**
- * AsyncTask to import CSV data into SQLite database without blocking the main thread
+ * Task to import CSV data into SQLite database on the {@link DbExecutor} writer thread
+ * without blocking the main thread
  */
-public class ImportCsvTask extends AsyncTask<Void, Void, Boolean> {
+public class ImportCsvTask {
     private static final String TAG = "ImportCsvTask";
 
+    // Asset holding the country,continent records
+    static final String COUNTRY_ASSET = "country_continent.csv";
+
     private Context context;
     private CountryDbHelper dbHelper;
     private OnImportCompleteListener listener;
 
+    // Country asset read by isUpToDate, reused by the import that follows it; null otherwise
+    private volatile Asset checkedAsset;
+
     /**
      * Interface for callbacks when import is complete
      */
@@ -53,18 +69,55 @@ public class ImportCsvTask extends AsyncTask<Void, Void, Boolean> {
     }
 
     /**
-     * Imports the CSV files in the background.
-     * @param voids The parameters of the task.
-     *
+     * Starts the import on the database writer thread. The listener, if any, is called on the main thread.
+     * @return A future that completes with true if the import was successful, false otherwise
+     */
+    public Future<Boolean> execute() {
+        final DbExecutor executor = DbExecutor.getInstance();
+        return executor.write(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                final boolean success = importAll();
+                executor.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        onImportFinished(success);
+                    }
+                });
+                return success;
+            }
+        });
+    }
+
+    /**
+     * Checks whether the database already holds the current country asset.
+     * Hashes the asset and makes a single metadata lookup. The asset is kept for a following
+     * {@link #execute()}, so it is not read and hashed twice. Must not be called on the main thread.
+     * @return true if the asset was imported before and has not changed since
+     * @throws IOException If the asset cannot be read
+     */
+    public boolean isUpToDate() throws IOException {
+        Asset asset = new Asset(readAsset(COUNTRY_ASSET));
+        boolean upToDate = dbHelper.getDatasetHash(COUNTRY_ASSET) == asset.hash;
+        checkedAsset = upToDate ? null : asset;
+        return upToDate;
+    }
+
+    /**
+     * Imports the CSV files. Runs on the database writer thread.
      * @return true if the import was successful, false otherwise
      */
-    @Override
-    protected Boolean doInBackground(Void... voids) {
+    private boolean importAll() {
         try {
             SQLiteDatabase db = dbHelper.getWritableDatabase();
 
             // Import country-continent data first
-            boolean countriesImported = importCountryContinentData(db);
+            boolean synced = importCountryContinentData(db);
+
+            // The cached snapshot may no longer match the countries table, or still come from the index
+            if (synced) {
+                dbHelper.invalidateCountrySnapshot();
+            }
 
             return true;
         } catch (Exception e) {
@@ -74,55 +127,166 @@ public class ImportCsvTask extends AsyncTask<Void, Void, Boolean> {
     }
 
     /**
-     * Import country and continent data from CSV
+     * Import country and continent data from CSV, unless the recorded hash shows it is already imported.
+     * The country diff and the new hash are committed in one transaction.
      * @param db SQLiteDatabase instance
-     * @return true if successful, false otherwise
+     * @return true if the countries table was synced, false if it was already up to date
+     * @throws IOException If the asset cannot be read
      */
-    private boolean importCountryContinentData(SQLiteDatabase db) {
-        try {
-            // Read country_continent.csv file from assets
-            InputStream is = context.getAssets().open("country_continent.csv");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-
-            String line;
-            db.beginTransaction();
+    private boolean importCountryContinentData(SQLiteDatabase db) throws IOException {
+        // Read country_continent.csv file from assets, unless isUpToDate already did
+        Asset asset = checkedAsset;
+        checkedAsset = null;
+        if (asset == null) {
+            asset = new Asset(readAsset(COUNTRY_ASSET));
+        }
+        byte[] data = asset.data;
+        long hash = asset.hash;
+        if (CountryDbHelper.queryDatasetHash(db, COUNTRY_ASSET) == hash) {
+            Log.d(TAG, COUNTRY_ASSET + " unchanged, nothing to import");
+            return false;
+        }
 
-            try {
+        db.beginTransaction();
+        try {
+            syncCountries(db, new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+            CountryDbHelper.recordDatasetHash(db, COUNTRY_ASSET, hash);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return true;
+    }
 
-                while ((line = reader.readLine()) != null) {
-                    String[] row = line.split(",");
-                    if (row.length >= 2) {
-                        ContentValues values = new ContentValues();
-                        values.put(CountryEntry.COLUMN_NAME_COUNTRY, row[0].trim());
-                        values.put(CountryEntry.COLUMN_NAME_CONTINENT, row[1].trim());
+    /**
+     * Brings the countries table in line with country,continent records.
+     * New countries are inserted, countries whose continent changed are updated in place,
+     * and countries missing from the input are deleted, along with duplicate rows.
+     * Unchanged rows are not touched and keep their ids. New countries join the review schedule
+     * as never reviewed. Everything happens in one transaction.
+     * @param db SQLiteDatabase instance
+     * @param in CSV input
+     * @return The number of rows inserted, updated or deleted
+     * @throws IOException If the input cannot be read
+     */
+    static int syncCountries(SQLiteDatabase db, Reader in) throws IOException {
+        // Wanted state in file order; a repeated country keeps its last continent
+        Map<String, String> wanted = new LinkedHashMap<>();
+        CsvReader csv = new CsvReader(in);
+        while (csv.nextRecord()) {
+            if (csv.isFieldEmpty(0) || csv.isFieldEmpty(1)) {
+                continue;
+            }
+            wanted.put(csv.getField(0), csv.getField(1));
+        }
 
-                        long newRowId = db.insert(CountryEntry.TABLE_NAME, null, values);
+        // minSdk 24 ships SQLite without UPSERT, so existing rows are matched by hand
+        SQLiteStatement insert = db.compileStatement(
+                "INSERT INTO " + CountryEntry.TABLE_NAME + " (" +
+                        CountryEntry.COLUMN_NAME_COUNTRY + ", " +
+                        CountryEntry.COLUMN_NAME_CONTINENT + ") VALUES (?, ?)");
+        SQLiteStatement update = db.compileStatement(
+                "UPDATE " + CountryEntry.TABLE_NAME + " SET " +
+                        CountryEntry.COLUMN_NAME_CONTINENT + " = ? WHERE " + CountryEntry._ID + " = ?");
+        SQLiteStatement delete = db.compileStatement(
+                "DELETE FROM " + CountryEntry.TABLE_NAME + " WHERE " + CountryEntry._ID + " = ?");
 
-                        if (newRowId == -1) {
-                            Log.e(TAG, "Error inserting country: " + row[0]);
-                        }
+        int inserted = 0;
+        int updated = 0;
+        int deleted = 0;
+        db.beginTransaction();
+        try {
+            Set<String> present = new HashSet<>();
+            Cursor cursor = db.query(CountryEntry.TABLE_NAME,
+                    new String[] { CountryEntry._ID, CountryEntry.COLUMN_NAME_COUNTRY, CountryEntry.COLUMN_NAME_CONTINENT },
+                    null, null, null, null, CountryEntry._ID);
+            try {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String country = cursor.getString(1);
+                    String continent = wanted.get(country);
+                    if (continent == null || !present.add(country)) {
+                        // Removed from the asset, or a second row for the same country
+                        delete.bindLong(1, id);
+                        delete.executeUpdateDelete();
+                        deleted++;
+                    } else if (!continent.equals(cursor.getString(2))) {
+                        update.bindString(1, continent);
+                        update.bindLong(2, id);
+                        update.executeUpdateDelete();
+                        updated++;
                     }
                 }
-                db.setTransactionSuccessful();
-                return true;
             } finally {
-                db.endTransaction();
-                reader.close();
-                is.close();
+                cursor.close();
             }
-        } catch (Exception e) {
-            Log.e(TAG, "Error importing country-continent data", e);
-            return false;
+
+            for (Map.Entry<String, String> entry : wanted.entrySet()) {
+                if (present.contains(entry.getKey())) {
+                    continue;
+                }
+                insert.bindString(1, entry.getKey());
+                insert.bindString(2, entry.getValue());
+                if (insert.executeInsert() == -1) {
+                    Log.e(TAG, "Error inserting country: " + entry.getKey());
+                } else {
+                    inserted++;
+                }
+            }
+            if (inserted > 0 || deleted > 0) {
+                ReviewStore.syncCountries(db);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+            update.close();
+            delete.close();
+        }
+
+        Log.d(TAG, "Countries: " + inserted + " inserted, " + updated + " updated, " + deleted + " deleted");
+        return inserted + updated + deleted;
+    }
+
+    /**
+     * Reads an asset file completely.
+     * @param name The asset file name.
+     * @return The file contents.
+     * @throws IOException If the asset cannot be read
+     */
+    private byte[] readAsset(String name) throws IOException {
+        InputStream is = context.getAssets().open(name);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            is.close();
         }
     }
 
     /**
-     * Called when the background tasks completes.
-     * @param success The result of the operation computed by {@link #doInBackground}.
+     * Hashes asset contents, to tell whether an asset changed since its last import.
+     * Only ever compared with the hash recorded by that import, not with the country index's hash.
+     * @param data The asset contents.
+     * @return The CRC32 of the contents.
+     */
+    static long contentHash(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Called on the main thread when the import completes.
+     * @param success The result of the operation computed by {@link #importAll}.
      *
      */
-    @Override
-    protected void onPostExecute(Boolean success) {
+    private void onImportFinished(boolean success) {
         if (success) {
             Log.d(TAG, "CSV import completed successfully");
         } else {
@@ -134,4 +298,17 @@ public class ImportCsvTask extends AsyncTask<Void, Void, Boolean> {
             listener.onImportComplete(success);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Contents of an asset with their hash.
+     */
+    private static final class Asset {
+        final byte[] data;
+        final long hash;
+
+        Asset(byte[] data) {
+            this.data = data;
+            this.hash = contentHash(data);
+        }
+    }
+}
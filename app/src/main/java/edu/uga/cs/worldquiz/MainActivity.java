@@ -1,11 +1,14 @@
 package edu.uga.cs.worldquiz;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Observer;
 
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.os.Bundle;
+import android.os.StrictMode;
 import android.util.Log;
 import android.view.View;
 import android.widget.TextView;
@@ -15,6 +18,9 @@ import android.widget.Button;
 import edu.uga.cs.worldquiz.CountryDbHelper;
 import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
 import edu.uga.cs.worldquiz.ImportCsvTask;
+import edu.uga.cs.worldquiz.core.Quiz;
+
+import java.util.concurrent.Callable;
 
 
 
@@ -36,6 +42,16 @@ public class MainActivity extends AppCompatActivity implements ImportCsvTask.OnI
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+
+        // Report any disk access left on the main thread in debuggable builds
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .build());
+        }
+
         setContentView(R.layout.activity_main);
 
         // Setting buttons to properly relocate users
@@ -48,6 +64,61 @@ public class MainActivity extends AppCompatActivity implements ImportCsvTask.OnI
             }
         });
 
+        // Timed mode records how long each answer takes
+        Button timedButton = findViewById(R.id.timed_button);
+        timedButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                Intent intent = new Intent(MainActivity.this, QuizScreen.class);
+                intent.putExtra(QuizScreen.EXTRA_TIMED, true);
+                startActivity(intent);
+            }
+        });
+
+        // Marathon mode asks about every country once
+        Button marathonButton = findViewById(R.id.marathon_button);
+        marathonButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                Intent intent = new Intent(MainActivity.this, QuizScreen.class);
+                intent.putExtra(QuizScreen.EXTRA_QUIZ_LENGTH, Quiz.ALL_COUNTRIES);
+                startActivity(intent);
+            }
+        });
+
+        // Adaptive mode asks more often about countries that were answered wrong before
+        Button adaptiveButton = findViewById(R.id.adaptive_button);
+        adaptiveButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                Intent intent = new Intent(MainActivity.this, QuizScreen.class);
+                intent.putExtra(QuizScreen.EXTRA_ADAPTIVE, true);
+                startActivity(intent);
+            }
+        });
+
+        // Study mode asks about the countries due for review on their spaced-repetition schedule
+        Button studyButton = findViewById(R.id.study_button);
+        studyButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                Intent intent = new Intent(MainActivity.this, QuizScreen.class);
+                intent.putExtra(QuizScreen.EXTRA_STUDY, true);
+                startActivity(intent);
+            }
+        });
+
+        // Typed mode has the player type answers, with suggestions as they type
+        Button typedButton = findViewById(R.id.typed_button);
+        typedButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View view) {
+                Intent intent = new Intent(MainActivity.this, QuizScreen.class);
+                intent.putExtra(QuizScreen.EXTRA_TYPED, true);
+                startActivity(intent);
+            }
+        });
+
         Button resultsButton = findViewById(R.id.results_button);
         resultsButton.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -63,21 +134,33 @@ public class MainActivity extends AppCompatActivity implements ImportCsvTask.OnI
     }
 
     /**
-     * Initialize the database, checking if it exists and creating it if necessary
+     * Initialize the database, importing the country data if the asset changed since the last import.
+     * The check runs on the database executor and the result is handled on the main thread.
      */
     private void initializeDatabase() {
         dbHelper = CountryDbHelper.getInstance(this);
+        final ImportCsvTask importTask = new ImportCsvTask(this, this);
 
-        // Check if database needs initialization
-        if (!dbHelper.isDatabaseExists() || !dbHelper.isDataLoaded()) {
-            Log.d(TAG, "Database doesn't exist or is empty, initializing...");
-            // Initialize database with CSV data
-            new ImportCsvTask(this, this).execute();
-        } else {
-            Log.d(TAG, "Database already initialized");
-            // Database already exists, proceed with app initialization
-            onDatabaseReady();
-        }
+        // Compare the asset's hash with the one recorded by the last import
+        DbExecutor.getInstance().readLiveData(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return !importTask.isUpToDate();
+            }
+        }).observe(this, new Observer<Boolean>() {
+            @Override
+            public void onChanged(Boolean needsImport) {
+                if (needsImport == null || needsImport) {
+                    Log.d(TAG, "Country data missing or changed, importing...");
+                    // Apply the changes in the CSV data to the database
+                    importTask.execute();
+                } else {
+                    Log.d(TAG, "Database already initialized");
+                    // Database already exists, proceed with app initialization
+                    onDatabaseReady();
+                }
+            }
+        });
     }
 
     /**
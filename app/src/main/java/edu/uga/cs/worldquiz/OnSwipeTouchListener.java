@@ -12,6 +12,9 @@ public class OnSwipeTouchListener implements View.OnTouchListener {
 
     private final GestureDetector gestureDetector;
 
+    // Event time of the last detected swipe, in SystemClock.uptimeMillis() time
+    private long swipeTime;
+
     /**
      * Gesture listener for swipes.
      * @param context The context used to create GestureDetector.
@@ -69,6 +72,7 @@ public class OnSwipeTouchListener implements View.OnTouchListener {
             if (Math.abs(diffX) > Math.abs(diffY)) {
                 if (Math.abs(diffX) > SWIPE_THRESHOLD &&
                         Math.abs(velocityX) > SWIPE_VELOCITY_THRESHOLD) {
+                    swipeTime = e2.getEventTime();
                     if (diffX < 0) {
                         onSwipeLeft(); // left swipe
                     } else {
@@ -81,6 +85,14 @@ public class OnSwipeTouchListener implements View.OnTouchListener {
         }
     }
 
+    /**
+     * Gets when the finger left the screen on the last swipe. Read it from the swipe callbacks.
+     * @return The event time in {@link android.os.SystemClock#uptimeMillis()} time, a monotonic clock.
+     */
+    public long getSwipeTime() {
+        return swipeTime;
+    }
+
     /**
      * Left swipe.
      */
@@ -0,0 +1,249 @@
+package edu.uga.cs.worldquiz;
+
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.RadioButton;
+import android.widget.RadioGroup;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import edu.uga.cs.worldquiz.core.NameCompleter;
+import edu.uga.cs.worldquiz.core.Question;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adapter for the question pager.
+ * Only a handful of page views are ever inflated; swiping binds the next question into a
+ * recycled page, so a quiz of any length costs the same number of views.
+ * In typed mode the pages show an answer field with suggestions from a {@link NameCompleter}.
+ */
+public class QuestionPageAdapter extends RecyclerView.Adapter<QuestionPageAdapter.PageViewHolder> {
+
+    /**
+     * Receives the swipes made on a page.
+     */
+    public interface OnPageSwipeListener {
+        /**
+         * Called when a page is swiped left, towards the next question.
+         * @param position The page that was swiped.
+         * @param selectedIndex The selected option, or -1 if none is selected.
+         * @param typedAnswer The typed answer in typed mode, otherwise null.
+         * @param swipeTime When the swipe ended, in {@link android.os.SystemClock#uptimeMillis()} time.
+         */
+        void onSwipeLeft(int position, int selectedIndex, String typedAnswer, long swipeTime);
+
+        /**
+         * Called when a page is swiped right, towards the previous question.
+         * @param position The page that was swiped.
+         */
+        void onSwipeRight(int position);
+    }
+
+    private final OnPageSwipeListener listener;
+    private List<Question> questions = Collections.emptyList();
+
+    // Suggests typed answers, or null when answers are picked from the options
+    private NameCompleter completer;
+
+    /**
+     * Creates an adapter without questions.
+     * @param listener Receives the swipes made on the pages.
+     */
+    public QuestionPageAdapter(OnPageSwipeListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Switches the pages to typed answers.
+     * @param completer Suggests names as the player types, or null to pick from the options.
+     */
+    public void setCompleter(NameCompleter completer) {
+        if (this.completer == completer) {
+            return;
+        }
+        this.completer = completer;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Replaces the questions shown by the pager.
+     * @param questions The questions of the current quiz.
+     */
+    public void setQuestions(List<Question> questions) {
+        if (this.questions == questions) {
+            return;
+        }
+        this.questions = questions;
+        notifyDataSetChanged();
+    }
+
+    @Override
+    public PageViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.quiz_page, parent, false);
+        return new PageViewHolder(view, listener);
+    }
+
+    @Override
+    public void onBindViewHolder(PageViewHolder holder, int position) {
+        holder.bind(questions.get(position), position, questions.size(), completer);
+    }
+
+    @Override
+    public int getItemCount() {
+        return questions.size();
+    }
+
+    /**
+     * Holds the views of a recycled question page.
+     */
+    static class PageViewHolder extends RecyclerView.ViewHolder {
+        final TextView questionCounter;
+        final TextView questionText;
+        final RadioGroup optionGroup;
+        final RadioButton[] optionButtons;
+        final EditText answerInput;
+        final TextView[] suggestionViews;
+
+        // Completer of the bound question, null when not in typed mode
+        private NameCompleter completer;
+        private final String[] suggestions;
+
+        PageViewHolder(View itemView, final OnPageSwipeListener listener) {
+            super(itemView);
+            questionCounter = itemView.findViewById(R.id.question_counter);
+            questionText = itemView.findViewById(R.id.question_text);
+            optionGroup = itemView.findViewById(R.id.option_group);
+            optionButtons = new RadioButton[] {
+                    itemView.findViewById(R.id.option_1),
+                    itemView.findViewById(R.id.option_2),
+                    itemView.findViewById(R.id.option_3)
+            };
+            answerInput = itemView.findViewById(R.id.answer_input);
+            suggestionViews = new TextView[] {
+                    itemView.findViewById(R.id.suggestion_1),
+                    itemView.findViewById(R.id.suggestion_2),
+                    itemView.findViewById(R.id.suggestion_3)
+            };
+            suggestions = new String[suggestionViews.length];
+
+            // Suggestions come from memory on every keystroke, no database query
+            answerInput.addTextChangedListener(new TextWatcher() {
+                @Override
+                public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                }
+
+                @Override
+                public void onTextChanged(CharSequence s, int start, int before, int count) {
+                }
+
+                @Override
+                public void afterTextChanged(Editable s) {
+                    showSuggestions(s.toString());
+                }
+            });
+            for (final TextView suggestionView : suggestionViews) {
+                suggestionView.setOnClickListener(new View.OnClickListener() {
+                    @Override
+                    public void onClick(View view) {
+                        answerInput.setText(suggestionView.getText());
+                        answerInput.setSelection(answerInput.length());
+                    }
+                });
+            }
+
+            // add swipe detection once per page view, not once per question
+            itemView.setOnTouchListener(new OnSwipeTouchListener(itemView.getContext()) {
+                @Override
+                public void onSwipeLeft() {
+                    int position = getBindingAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        String typedAnswer = completer != null ? answerInput.getText().toString() : null;
+                        listener.onSwipeLeft(position, getSelectedIndex(), typedAnswer, getSwipeTime());
+                    }
+                }
+
+                @Override
+                public void onSwipeRight() {
+                    int position = getBindingAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        listener.onSwipeRight(position);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Shows a question in this page.
+         * @param question The question.
+         * @param position The question index.
+         * @param total The number of questions in the quiz.
+         * @param completer Suggests typed answers, or null to pick from the options.
+         */
+        void bind(Question question, int position, int total, NameCompleter completer) {
+            this.completer = completer;
+            // Display current question number out of total
+            questionCounter.setText("Question " + (position + 1) + "/" + total);
+            questionText.setText(question.getQuestionText());
+
+            // A recycled page still shows the answer picked for its previous question
+            optionGroup.clearCheck();
+            List<String> options = question.getOptions();
+            for (int i = 0; i < optionButtons.length; i++) {
+                if (i < options.size()) {
+                    optionButtons[i].setText(options.get(i));
+                    optionButtons[i].setVisibility(View.VISIBLE);
+                } else {
+                    optionButtons[i].setVisibility(View.GONE);
+                }
+                optionButtons[i].setEnabled(completer == null);
+            }
+
+            // Typed mode still lists the options where the question asks to choose among them
+            boolean typing = completer != null;
+            optionGroup.setVisibility(!typing || question.getType() == Question.TYPE_CLOSEST
+                    ? View.VISIBLE : View.GONE);
+            answerInput.setVisibility(typing ? View.VISIBLE : View.GONE);
+            // Also clears the suggestions left from the previous question
+            answerInput.setText("");
+        }
+
+        /**
+         * Shows the names that start with the typed text.
+         * @param typed The text in the answer field.
+         */
+        private void showSuggestions(String typed) {
+            int count = completer != null ? completer.complete(typed, suggestions) : 0;
+            for (int i = 0; i < suggestionViews.length; i++) {
+                // A suggestion that is already typed out in full is not worth showing
+                if (i < count && !suggestions[i].equalsIgnoreCase(typed.trim())) {
+                    suggestionViews[i].setText(suggestions[i]);
+                    suggestionViews[i].setVisibility(View.VISIBLE);
+                } else {
+                    suggestionViews[i].setVisibility(View.GONE);
+                }
+            }
+        }
+
+        /**
+         * Gets the option the player selected.
+         * @return The index of the selected option, or -1 if none is selected.
+         */
+        int getSelectedIndex() {
+            int selectedId = optionGroup.getCheckedRadioButtonId();
+            for (int i = 0; i < optionButtons.length; i++) {
+                if (optionButtons[i].getId() == selectedId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
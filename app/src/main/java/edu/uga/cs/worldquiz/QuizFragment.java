@@ -4,38 +4,25 @@ import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.Button;
-import android.widget.RadioButton;
-import android.widget.RadioGroup;
-import android.widget.TextView;
 
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.viewpager2.widget.ViewPager2;
+
+import edu.uga.cs.worldquiz.core.Question;
 
-import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Fragment that hosts the question pager.
+ * The pager recycles a few page views and binds each question into one as the player
+ * swipes, instead of creating a fragment and inflating a layout for every question.
+ */
 public class QuizFragment extends Fragment {
     private QuizViewModel viewModel;
-    private int questionIndex;
-
-    private static final String ARG_QUESTION_INDEX = "question_index";
-
-    public static QuizFragment newInstance(int questionIndex) {
-        QuizFragment fragment = new QuizFragment();
-        Bundle args = new Bundle();
-        args.putInt(ARG_QUESTION_INDEX, questionIndex);
-        fragment.setArguments(args);
-        return fragment;
-    }
-
-    @Override
-    public void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        if (getArguments() != null) {
-            questionIndex = getArguments().getInt(ARG_QUESTION_INDEX, 0);
-        }
-    }
+    private ViewPager2 pager;
+    private QuestionPageAdapter adapter;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container,
@@ -49,92 +36,98 @@ public class QuizFragment extends Fragment {
 
         viewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
 
-        // Check if we've reached the end of the quiz
-        if (viewModel.isQuizComplete()) {
-            showResults();
-            return;
-        }
-
-        Question question = viewModel.getQuestions().get(questionIndex);
-
-        // Set up the question text
-        TextView questionText = view.findViewById(R.id.question_text);
-        questionText.setText(question.getQuestionText());
-
-
-        // set up radio buttons
-        RadioGroup optionGroup = view.findViewById(R.id.option_group);
-        List<String> options = question.getOptions();
-        RadioButton[] buttons = {
-                view.findViewById(R.id.option_1),
-                view.findViewById(R.id.option_2),
-                view.findViewById(R.id.option_3)
-        };
-
-        for (int i = 0; i < options.size(); i++) {
-            buttons[i].setText(options.get(i));
-        }
-
-        // add swipe detection
-        view.setOnTouchListener(new OnSwipeTouchListener(requireContext()) {
+        adapter = new QuestionPageAdapter(new QuestionPageAdapter.OnPageSwipeListener() {
             @Override
-            public void onSwipeLeft() {
-                // Go forward only if an option is selected
-                RadioGroup optionGroup = view.findViewById(R.id.option_group);
-                int selectedId = optionGroup.getCheckedRadioButtonId();
-                if (selectedId == -1) return;
-
-                int selectedIndex = -1;
-                for (int i = 0; i < buttons.length; i++) { // finds selected answer
-                    if (buttons[i].getId() == selectedId) {
-                        selectedIndex = i;
-                        break;
-                    }
+            public void onSwipeLeft(int position, int selectedIndex, String typedAnswer, long swipeTime) {
+                // Go forward only if an option is selected or an answer typed
+                if (position != currentIndex()) return;
+                boolean correct;
+                if (typedAnswer != null) {
+                    if (typedAnswer.trim().isEmpty()) return;
+                    correct = viewModel.isTypedAnswerCorrect(position, typedAnswer);
+                } else {
+                    if (selectedIndex == -1) return;
+                    Question question = viewModel.getQuestions().get(position);
+                    correct = selectedIndex == question.getCorrectAnswerIndex();
                 }
-
-                if (selectedIndex == question.getCorrectAnswerIndex()) { // updates score if answer is correct
+                if (correct) { // updates score if answer is correct
                     viewModel.updateScore();
                 }
+                viewModel.recordAnswer(position, correct, swipeTime);
 
                 viewModel.nextQuestion();
 
                 if (!viewModel.isQuizComplete()) { // checks if quiz is complete
-                    getParentFragmentManager().beginTransaction() // move to next question
-                            .replace(R.id.fragment_container, newInstance(questionIndex + 1))
-                            .addToBackStack(null)
-                            .commit();
+                    pager.setCurrentItem(position + 1); // move to next question
                 } else {
                     showResults();
                 }
             }
 
             @Override
-            public void onSwipeRight() {
-                if (questionIndex > 0) {
+            public void onSwipeRight(int position) {
+                if (position > 0 && position == currentIndex()) {
                     // goes back one question
                     viewModel.previousQuestion();
-                    getParentFragmentManager().beginTransaction()
-                            .replace(R.id.fragment_container, newInstance(questionIndex - 1))
-                            .addToBackStack(null)
-                            .commit();
+                    pager.setCurrentItem(position - 1);
                 } // if
             } // onSwipeRight
         });
 
-        // Display current question number out of total
-        TextView questionCounter = view.findViewById(R.id.question_counter);
-        questionCounter.setText("Question " + (questionIndex + 1) + "/" +
-                viewModel.getQuestions().size());
+        pager = view.findViewById(R.id.question_pager);
+        // Pages only change through the swipe listener, which checks that an answer was picked
+        pager.setUserInputEnabled(false);
+        pager.setAdapter(adapter);
+
+        // In timed mode a question's clock starts once its page has settled on screen
+        pager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageScrollStateChanged(int state) {
+                if (state == ViewPager2.SCROLL_STATE_IDLE) {
+                    viewModel.startAnswerTimer(pager.getCurrentItem());
+                }
+            }
+        });
+
+        // Questions are generated in the background, show them once they are available
+        viewModel.getQuestionsLiveData().observe(getViewLifecycleOwner(), new Observer<List<Question>>() {
+            @Override
+            public void onChanged(List<Question> questions) {
+                if (questions == null) {
+                    return;
+                }
+                // Check if we've reached the end of the quiz
+                if (viewModel.isQuizComplete()) {
+                    showResults();
+                    return;
+                }
+                if (viewModel.isTyped()) {
+                    adapter.setCompleter(viewModel.getAnswerMatcher().getNames());
+                }
+                adapter.setQuestions(questions);
+                pager.setCurrentItem(currentIndex(), false);
+                viewModel.startAnswerTimer(currentIndex());
+            }
+        });
+    }
+
+    /**
+     * Gets the index of the question the player is on.
+     * @return The current question index.
+     */
+    private int currentIndex() {
+        Integer index = viewModel.getCurrentQuestionIndex().getValue();
+        return index != null ? index : 0;
     }
 
     /**
-     *  Save's users results to the database and then redirects to ResultsFragment.
+     *  Queues the user's results for saving and then redirects to ResultsFragment.
      */
     private void showResults() {
-        // saves quiz results to the db
-        CountryDbHelper dbHelper = CountryDbHelper.getInstance(requireContext());
-        int score = viewModel.getScore().getValue() != null ? viewModel.getScore().getValue() : 0;
-        dbHelper.insertQuizResult(score);
+        // the write-behind queue commits the result on the writer thread
+        final int score = viewModel.getScore().getValue() != null ? viewModel.getScore().getValue() : 0;
+        ResultWriteQueue.getInstance(requireContext())
+                .enqueue(score, viewModel.getQuestions().size(), viewModel.getAnswers());
 
         // Navigate to results fragment
         getParentFragmentManager().beginTransaction()
@@ -0,0 +1,57 @@
+package edu.uga.cs.worldquiz;
+
+/**
+ * One row of the quiz result history.
+ */
+public class QuizResultRow {
+    private final long id;
+    private final int score;
+    private final long date;
+    private final int questionCount;
+
+    /**
+     * Creates a result row.
+     * @param id The result row id.
+     * @param score The score achieved.
+     * @param date The date the quiz was taken, in epoch milliseconds.
+     * @param questionCount The number of questions in the quiz.
+     */
+    public QuizResultRow(long id, int score, long date, int questionCount) {
+        this.id = id;
+        this.score = score;
+        this.date = date;
+        this.questionCount = questionCount;
+    }
+
+    /**
+     * Gets the result row id.
+     * @return The row id.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the score achieved.
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the date the quiz was taken.
+     * @return The date in epoch milliseconds.
+     */
+    public long getDate() {
+        return date;
+    }
+
+    /**
+     * Gets the number of questions in the quiz.
+     * @return The number of questions.
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+}
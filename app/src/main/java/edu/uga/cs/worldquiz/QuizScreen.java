@@ -9,6 +9,34 @@ import android.os.Bundle;
  * The quiz screen.
  */
 public class QuizScreen extends AppCompatActivity {
+    /**
+     * Intent extra holding the number of questions, or {@link edu.uga.cs.worldquiz.core.Quiz#ALL_COUNTRIES}.
+     * Defaults to {@link edu.uga.cs.worldquiz.core.Quiz#DEFAULT_LENGTH}.
+     */
+    public static final String EXTRA_QUIZ_LENGTH = "quiz_length";
+
+    /**
+     * Boolean intent extra that turns on timed mode, which records how long each answer takes.
+     */
+    public static final String EXTRA_TIMED = "timed";
+
+    /**
+     * Boolean intent extra that turns on adaptive mode, which asks more often about the
+     * countries the player tends to get wrong.
+     */
+    public static final String EXTRA_ADAPTIVE = "adaptive";
+
+    /**
+     * Boolean intent extra that turns on study mode, which asks about the countries due for
+     * review on their spaced-repetition schedule.
+     */
+    public static final String EXTRA_STUDY = "study";
+
+    /**
+     * Boolean intent extra that turns on typed mode, where answers are typed with name
+     * suggestions instead of picked from the options.
+     */
+    public static final String EXTRA_TYPED = "typed";
 
     private QuizViewModel viewModel;
 
@@ -29,8 +57,18 @@ public class QuizScreen extends AppCompatActivity {
         // Start with the first question
         if (savedInstanceState == null) {
             getSupportFragmentManager().beginTransaction()
-                    .replace(R.id.fragment_container, QuizFragment.newInstance(0))
+                    .replace(R.id.fragment_container, new QuizFragment())
                     .commit();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Called when the activity is no longer visible.
+     * Writes any queued quiz results now, since the process may be killed while in the background.
+     */
+    @Override
+    protected void onStop() {
+        super.onStop();
+        ResultWriteQueue.getInstance(this).flush();
+    }
+}
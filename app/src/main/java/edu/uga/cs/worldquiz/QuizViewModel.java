@@ -1,16 +1,32 @@
 package edu.uga.cs.worldquiz;
 
 import android.app.Application;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.SavedStateHandle;
+import androidx.savedstate.SavedStateRegistry;
+
+import edu.uga.cs.worldquiz.core.AnswerMatcher;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.HopDistanceMatrix;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+import edu.uga.cs.worldquiz.core.Quiz;
+import edu.uga.cs.worldquiz.core.QuizState;
 
 import java.util.List;
-import java.util.Arrays;
-import java.util.ArrayList;
-import java.util.Map;
 import java.util.Random;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ViewModel class for the Quiz functionality.
@@ -48,16 +64,99 @@ public class QuizViewModel extends AndroidViewModel {
     }
 
     /**
-     * List of quiz questions.
-     * Contains the Question objects generated for the current quiz session.
+     * LiveData for the quiz questions.
+     * Contains the Question objects generated for the current quiz session,
+     * or null while they are still being generated in the background.
+     */
+    private MutableLiveData<List<Question>> questions = new MutableLiveData<>();
+
+    /**
+     * Returns the LiveData for the quiz questions.
+     * @return LiveData containing the questions, or null while they are being generated.
+     */
+    public LiveData<List<Question>> getQuestionsLiveData() {
+        return questions;
+    }
+
+    /**
+     * Counts generated quizzes so a result that arrives after a newer quiz was requested is dropped.
+     * Only accessed on the main thread.
+     */
+    private int quizGeneration;
+
+    /**
+     * Quizzes generated ahead of time so a restart does not have to wait for generation.
+     */
+    private final BlockingQueue<PreparedQuiz> preparedQuizzes = new ArrayBlockingQueue<>(PREFETCH_CAPACITY);
+
+    /**
+     * Whether a prefetch is currently running.
+     */
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+
+    /**
+     * LiveData for how long the most recent restart took, in nanoseconds.
+     */
+    private final MutableLiveData<Long> restartLatencyNanos = new MutableLiveData<>();
+
+    /**
+     * Number of quizzes kept ready in the background.
+     */
+    private static final int PREFETCH_CAPACITY = 1;
+
+    /**
+     * Marks a quiz load that is not a restart, so no restart latency is recorded.
+     */
+    private static final long NO_RESTART = -1;
+
+    private static final String TAG = "QuizViewModel";
+
+    /**
+     * Saved state key of the quiz in progress. Holds a Bundle with the entries below.
+     */
+    private static final String KEY_QUIZ_STATE = "quiz_state";
+
+    // Packed quiz and progress, see QuizState
+    private static final String STATE_QUIZ = "quiz";
+    // Outcome of every question and response times of a timed quiz, see AnswerTimings
+    private static final String STATE_OUTCOMES = "outcomes";
+    private static final String STATE_RESPONSE_MILLIS = "response_millis";
+
+    /**
+     * Number of questions per quiz, or {@link Quiz#ALL_COUNTRIES}.
+     */
+    private final int quizLength;
+
+    /**
+     * Whether answers are timed.
      */
-    private List<Question> questions;
+    private final boolean timed;
 
     /**
-     * Map of country-continent pairs used to generate questions.
-     * Keys are country names and values are the corresponding continent names.
+     * Whether countries are drawn by the player's error rate instead of uniformly.
      */
-    private Map<String, String> countryContinentPairs;
+    private final boolean adaptive;
+
+    /**
+     * Whether countries are taken from the review schedule.
+     */
+    private final boolean study;
+
+    /**
+     * Whether answers are typed instead of picked from the options.
+     */
+    private final boolean typed;
+
+    /**
+     * Answers to the current quiz, with response times in timed mode.
+     */
+    private AnswerTimings answers;
+
+    /**
+     * Matcher for typed answers to the current quiz, fetched in the background with it,
+     * or null outside typed mode. Only accessed on the main thread.
+     */
+    private AnswerMatcher answerMatcher;
 
     /**
      * Database helper instance.
@@ -67,75 +166,274 @@ public class QuizViewModel extends AndroidViewModel {
 
     /**
      * Constructor for the QuizViewModel.
-     * Initializes the database helper, retrieves random country-continent pairs, and creates the quiz questions.
+     * Initializes the database helper and starts generating the quiz questions in the background,
+     * or restoring the quiz in progress if the process was killed during one.
      * @param application The application instance.
+     * @param savedStateHandle Saved state, which starts out with the extras of the quiz screen's intent.
      */
-    public QuizViewModel(Application application) {
+    public QuizViewModel(Application application, SavedStateHandle savedStateHandle) {
         super(application);
 
         // Initialize the database helper with application context
         dbHelper = CountryDbHelper.getInstance(application);
 
-        // Get random country-continent pairs
-        countryContinentPairs = dbHelper.getRandomCountryContinentPairs(6);
+        Integer length = savedStateHandle.get(QuizScreen.EXTRA_QUIZ_LENGTH);
+        quizLength = length != null ? length : Quiz.DEFAULT_LENGTH;
+        Boolean timedExtra = savedStateHandle.get(QuizScreen.EXTRA_TIMED);
+        timed = timedExtra != null && timedExtra;
+        Boolean adaptiveExtra = savedStateHandle.get(QuizScreen.EXTRA_ADAPTIVE);
+        adaptive = adaptiveExtra != null && adaptiveExtra;
+        Boolean studyExtra = savedStateHandle.get(QuizScreen.EXTRA_STUDY);
+        study = studyExtra != null && studyExtra;
+        Boolean typedExtra = savedStateHandle.get(QuizScreen.EXTRA_TYPED);
+        typed = typedExtra != null && typedExtra;
 
-        // Initialize the questions list
-        questions = new ArrayList<>();
+        // After process death the quiz in progress comes back from saved state instead of being redrawn
+        Bundle saved = savedStateHandle.get(KEY_QUIZ_STATE);
+        savedStateHandle.setSavedStateProvider(KEY_QUIZ_STATE, new SavedStateRegistry.SavedStateProvider() {
+            @NonNull
+            @Override
+            public Bundle saveState() {
+                return saveQuizState();
+            }
+        });
 
-        // Create country-continent questions
-        createCountryQuestions();
+        if (saved != null && saved.getIntArray(STATE_QUIZ) != null) {
+            restoreQuiz(saved);
+        } else {
+            loadQuestions(NO_RESTART);
+        }
     }
 
     /**
-     * Creates the country-continent questions based on the retrieved country-continent pairs.
-     * For each country, generates a question asking which continent it belongs to,
-     * with one correct answer and two random incorrect continent options.
+     * Packs the current quiz, the progress through it and the answers so far. Main thread only.
+     * @return The saved state; empty if there is no quiz to save.
      */
-    private void createCountryQuestions() {
-        // Create questions based on the country-continent pairs
-        String[] continents = {"Africa", "Antarctica", "Asia", "Oceania", "Europe", "North America", "South America"};
-        Random random = new Random();
+    private Bundle saveQuizState() {
+        Bundle state = new Bundle();
+        List<Question> current = questions.getValue();
+        if (!(current instanceof Quiz)) {
+            return state; // still generating, a new quiz is drawn after a restart
+        }
 
-        // For each country-continent pair
-        Iterator<Map.Entry<String, String>> iterator = countryContinentPairs.entrySet().iterator();
-        while (iterator.hasNext() && questions.size() < 6) {
-            Map.Entry<String, String> entry = iterator.next();
-            String country = entry.getKey();
-            String correctContinent = entry.getValue();
+        int[] packed = QuizState.pack((Quiz) current, score.getValue(), currentQuestionIndex.getValue());
+        if (packed == null) {
+            Log.w(TAG, "Quiz cannot be saved without neighbor data");
+            return state;
+        }
+        state.putIntArray(STATE_QUIZ, packed);
+        if (answers != null) {
+            state.putByteArray(STATE_OUTCOMES, answers.copyOutcomes());
+            state.putIntArray(STATE_RESPONSE_MILLIS, answers.copyResponseMillis());
+        }
+        return state;
+    }
 
-            // Create answer options (including the correct continent)
-            List<String> options = new ArrayList<>();
-            options.add(correctContinent);
+    /**
+     * Rebuilds the saved quiz on the database executor and publishes it on the main thread.
+     * Only bundled country data is read, never the database. A quiz that cannot be restored
+     * is replaced by a new one.
+     * @param saved The state returned by {@link #saveQuizState()} before the process died.
+     */
+    private void restoreQuiz(final Bundle saved) {
+        final long start = System.nanoTime();
+        final int generation = ++quizGeneration;
+        final DbExecutor executor = DbExecutor.getInstance();
 
-            // Add 2 random wrong continents
-            while (options.size() < 3) {
-                String randomContinent = continents[random.nextInt(continents.length)];
-                if (!randomContinent.equals(correctContinent) && !options.contains(randomContinent)) {
-                    options.add(randomContinent);
+        executor.read(new Callable<Void>() {
+            @Override
+            public Void call() {
+                QuizState restored = null;
+                try {
+                    restored = QuizState.unpack(saved.getIntArray(STATE_QUIZ), createGenerator());
+                } catch (IllegalArgumentException e) {
+                    Log.w(TAG, "Discarding saved quiz", e);
                 }
+                final QuizState state = restored;
+                final PreparedQuiz created = state == null ? generateQuiz() : null;
+                // Like the quiz itself, the matcher comes from bundled data, never the database
+                final AnswerMatcher matcher = state != null && typed ? dbHelper.getRestoredAnswerMatcher() : null;
+                executor.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != quizGeneration) {
+                            if (created != null) {
+                                releaseStudyCountries(created.questions);
+                            }
+                            return;
+                        }
+                        if (state == null) {
+                            publishQuiz(created, NO_RESTART);
+                            return;
+                        }
+                        publishRestoredQuiz(state, saved, matcher);
+                        Log.d(TAG, "Restored quiz of " + state.getQuiz().size() + " questions in " +
+                                (System.nanoTime() - start) / 1000 + " us");
+                    }
+                });
+                return null;
             }
+        });
+    }
 
-            // Shuffle the options
-            java.util.Collections.shuffle(options);
+    /**
+     * Makes a restored quiz the current one, with its score, position and answers. Main thread only.
+     * @param state The unpacked quiz.
+     * @param saved The saved state, holding the answers so far.
+     * @param matcher The matcher for typed answers, or null outside typed mode.
+     */
+    private void publishRestoredQuiz(QuizState state, Bundle saved, AnswerMatcher matcher) {
+        Quiz quiz = state.getQuiz();
+        answerMatcher = matcher;
+        byte[] outcomes = saved.getByteArray(STATE_OUTCOMES);
+        int[] responseMillis = timed ? saved.getIntArray(STATE_RESPONSE_MILLIS) : null;
+        if (outcomes != null && outcomes.length == quiz.size()
+                && (!timed || (responseMillis != null && responseMillis.length == quiz.size()))) {
+            answers = AnswerTimings.restore(outcomes, responseMillis, quiz);
+        } else {
+            answers = new AnswerTimings(quiz.size(), timed);
+        }
 
-            // Find the index of the correct answer
-            int correctAnswerIndex = options.indexOf(correctContinent);
+        score.setValue(state.getScore());
+        currentQuestionIndex.setValue(state.getCurrentIndex());
+        questions.setValue(quiz);
+
+        prefetchNextQuiz();
+    }
 
-            // Format options with numbering
-            for (int i = 1; i < options.size() + 1; i++) {
-                String newString = i + ". " + options.get(i-1);
-                options.set(i-1, newString);
+    /**
+     * Clears the current questions and generates a new quiz on the database executor.
+     * The questions LiveData is updated on the main thread once they are ready.
+     * @param restartStartNanos When the restart was requested, or {@link #NO_RESTART} for the first quiz.
+     */
+    private void loadQuestions(final long restartStartNanos) {
+        questions.setValue(null);
+        final int generation = ++quizGeneration;
+        final DbExecutor executor = DbExecutor.getInstance();
+
+        executor.read(new Callable<Void>() {
+            @Override
+            public Void call() {
+                final PreparedQuiz created = generateQuiz();
+                executor.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == quizGeneration) {
+                            publishQuiz(created, restartStartNanos);
+                        } else {
+                            releaseStudyCountries(created.questions);
+                        }
+                    }
+                });
+                return null;
             }
+        });
+    }
 
-            // Create and add the question
-            Question question = new Question(
-                    "In which continent is " + country + " located?",
-                    options,
-                    correctAnswerIndex
-            );
+    /**
+     * Makes a quiz the current one and starts preparing the next. Main thread only.
+     * @param created The quiz and its answer matcher.
+     * @param restartStartNanos When the restart was requested, or {@link #NO_RESTART} for the first quiz.
+     */
+    private void publishQuiz(PreparedQuiz created, long restartStartNanos) {
+        answerMatcher = created.matcher;
+        answers = new AnswerTimings(created.questions.size(), timed);
+        questions.setValue(created.questions);
 
-            questions.add(question);
+        if (restartStartNanos != NO_RESTART) {
+            long latency = System.nanoTime() - restartStartNanos;
+            restartLatencyNanos.setValue(latency);
+            Log.d(TAG, "Restart took " + latency / 1000 + " us");
         }
+
+        // The user is now playing this quiz, so generate the next one while they do
+        prefetchNextQuiz();
+    }
+
+    /**
+     * Generates a quiz on the database executor and parks it in the ready-queue,
+     * unless the queue is full or a prefetch is already running.
+     * Adaptive and study quizzes are not prefetched: their countries depend on the answers to
+     * the quiz being played, which are only written once it ends.
+     */
+    private void prefetchNextQuiz() {
+        if (adaptive || study) {
+            return;
+        }
+        if (preparedQuizzes.remainingCapacity() == 0 || !prefetching.compareAndSet(false, true)) {
+            return;
+        }
+
+        DbExecutor.getInstance().read(new Callable<Void>() {
+            @Override
+            public Void call() {
+                try {
+                    preparedQuizzes.offer(generateQuiz());
+                } finally {
+                    prefetching.set(false);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Hands the countries of a study quiz that is dropped unfinished back to the study queue,
+     * so they are not lost to study mode until the process dies. The queue is updated on the
+     * writer thread, ahead of the flush the next study quiz waits for before drawing. Main thread only.
+     * @param discarded The dropped quiz, or null.
+     */
+    private void releaseStudyCountries(List<Question> discarded) {
+        if (!study || !(discarded instanceof Quiz)) {
+            return;
+        }
+        Quiz quiz = (Quiz) discarded;
+        final String[] names = new String[quiz.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = quiz.getCountryName(i);
+        }
+        DbExecutor.getInstance().write(new Callable<Void>() {
+            @Override
+            public Void call() {
+                dbHelper.releaseStudyCountries(names);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates a new quiz. Runs on a database executor thread.
+     * @return The quiz, whose questions are generated when first read on the main thread,
+     *         with its answer matcher in typed mode.
+     */
+    private PreparedQuiz generateQuiz() {
+        // Draw the countries now, the questions are generated as the player reaches them
+        CountrySampler sampler;
+        if (adaptive || study) {
+            // The previous quiz's answers must be committed and folded in before drawing by them
+            ResultWriteQueue.getInstance(getApplication()).awaitFlush();
+        }
+        if (study) {
+            sampler = dbHelper.getStudySampler(quizLength == Quiz.ALL_COUNTRIES ? Quiz.DEFAULT_LENGTH : quizLength);
+        } else if (adaptive) {
+            sampler = dbHelper.getAdaptiveSampler();
+        } else {
+            sampler = dbHelper.getCountrySampler();
+        }
+        // Builds the name completer here, so the main thread never waits for it
+        AnswerMatcher matcher = typed ? dbHelper.getAnswerMatcher() : null;
+        return new PreparedQuiz(new Quiz(createGenerator(), sampler, quizLength), matcher);
+    }
+
+    /**
+     * Creates a question generator for one quiz. Runs on a database executor thread.
+     * @return The generator.
+     */
+    private QuestionGenerator createGenerator() {
+        // Without neighbor data only continent questions are asked
+        NeighborGraph neighborGraph = dbHelper.getNeighborGraph();
+        HopDistanceMatrix hopDistances = neighborGraph != null ? dbHelper.getHopDistanceMatrix() : null;
+        return new QuestionGenerator(neighborGraph, hopDistances, new Random());
     }
 
     /**
@@ -143,7 +441,8 @@ public class QuizViewModel extends AndroidViewModel {
      * @return List of Question objects for the current quiz.
      */
     public List<Question> getQuestions() {
-        return questions;
+        List<Question> current = questions.getValue();
+        return current != null ? current : Collections.<Question>emptyList();
     }
 
     /**
@@ -162,12 +461,69 @@ public class QuizViewModel extends AndroidViewModel {
         score.setValue(score.getValue() + 1);
     }
 
+    /**
+     * Starts the answer timer of a question once it is on screen. Does nothing outside timed mode.
+     * @param index The question index.
+     */
+    public void startAnswerTimer(int index) {
+        if (answers != null) {
+            answers.start(index, SystemClock.uptimeMillis());
+        }
+    }
+
+    /**
+     * Records an answer, and its response time in timed mode.
+     * @param index The question index.
+     * @param correct Whether the answer was correct.
+     * @param swipeTime When the answering swipe ended, in {@link SystemClock#uptimeMillis()} time.
+     */
+    public void recordAnswer(int index, boolean correct, long swipeTime) {
+        if (answers != null) {
+            answers.record(index, getQuestions().get(index), correct, swipeTime);
+        }
+    }
+
+    /**
+     * Checks whether answers are typed in this quiz.
+     * @return true in typed mode.
+     */
+    public boolean isTyped() {
+        return typed;
+    }
+
+    /**
+     * Returns the matcher that completes and checks typed answers to the current quiz.
+     * @return The answer matcher, or null outside typed mode or before the first quiz is ready.
+     */
+    public AnswerMatcher getAnswerMatcher() {
+        return answerMatcher;
+    }
+
+    /**
+     * Checks a typed answer to a question.
+     * @param index The question index.
+     * @param answer The text the player typed.
+     * @return true if the answer is correct.
+     */
+    public boolean isTypedAnswerCorrect(int index, String answer) {
+        return answerMatcher.isCorrect(getQuestions().get(index), answer);
+    }
+
+    /**
+     * Returns the answers to the current quiz.
+     * @return The answers, with response times in timed mode, or null before the first quiz is ready.
+     */
+    public AnswerTimings getAnswers() {
+        return answers;
+    }
+
     /**
      * Checks if the quiz is complete (all questions have been answered).
      * @return True if the quiz is complete, false otherwise.
      */
     public boolean isQuizComplete() {
-        return currentQuestionIndex.getValue() >= questions.size();
+        List<Question> current = questions.getValue();
+        return current != null && currentQuestionIndex.getValue() >= current.size();
     }
 
     /**
@@ -175,13 +531,30 @@ public class QuizViewModel extends AndroidViewModel {
      * This method can be called to restart the quiz or start a fresh quiz.
      */
     public void startNewQuiz() {
+        long start = System.nanoTime();
+        if (!isQuizComplete()) {
+            releaseStudyCountries(questions.getValue()); // abandoned, so none of it will be written
+        }
         score.setValue(0); // reset score
         currentQuestionIndex.setValue(0);
 
-        countryContinentPairs = dbHelper.getRandomCountryContinentPairs(6); // get new questions/pairs
+        // Hand over the prefetched quiz if one is ready, otherwise generate one now
+        PreparedQuiz prepared = preparedQuizzes.poll();
+        if (prepared != null) {
+            ++quizGeneration; // drops any generation still running for an older quiz
+            publishQuiz(prepared, start);
+        } else {
+            loadQuestions(start); // get new questions/pairs in the background
+        }
+    }
 
-        questions.clear();
-        createCountryQuestions();
+    /**
+     * Returns the LiveData for the restart latency, measured from {@link #startNewQuiz()}
+     * until the new questions are published.
+     * @return LiveData containing the latest restart latency in nanoseconds.
+     */
+    public LiveData<Long> getRestartLatencyNanos() {
+        return restartLatencyNanos;
     }
 
     /**
@@ -195,4 +568,28 @@ public class QuizViewModel extends AndroidViewModel {
             currentQuestionIndex.setValue(index - 1);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Releases the countries of an unfinished study quiz when the quiz screen is left for good.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (!isQuizComplete()) {
+            releaseStudyCountries(questions.getValue());
+        }
+    }
+
+    /**
+     * A quiz generated in the background, with what the main thread needs to play it.
+     */
+    private static final class PreparedQuiz {
+        final List<Question> questions;
+        final AnswerMatcher matcher; // null outside typed mode
+
+        PreparedQuiz(List<Question> questions, AnswerMatcher matcher) {
+            this.questions = questions;
+            this.matcher = matcher;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package edu.uga.cs.worldquiz;
+
+/**
+ * Response time statistics of timed answers for one country or continent.
+ */
+public class ResponseTimeStats {
+    private final String label;
+    private final int answerCount;
+    private final int correctCount;
+    private final long averageMillis;
+
+    /**
+     * Creates the statistics of one group.
+     * @param label The country or continent name.
+     * @param answerCount The number of timed answers.
+     * @param correctCount How many of them were correct.
+     * @param averageMillis The mean response time in milliseconds.
+     */
+    public ResponseTimeStats(String label, int answerCount, int correctCount, long averageMillis) {
+        this.label = label;
+        this.answerCount = answerCount;
+        this.correctCount = correctCount;
+        this.averageMillis = averageMillis;
+    }
+
+    /**
+     * Gets the country or continent name.
+     * @return The name.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the number of timed answers.
+     * @return The answer count.
+     */
+    public int getAnswerCount() {
+        return answerCount;
+    }
+
+    /**
+     * Gets the number of correct timed answers.
+     * @return The correct answer count.
+     */
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    /**
+     * Gets the mean response time.
+     * @return The mean in milliseconds.
+     */
+    public long getAverageMillis() {
+        return averageMillis;
+    }
+}
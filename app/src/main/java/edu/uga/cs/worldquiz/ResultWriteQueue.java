@@ -0,0 +1,336 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Write-behind queue for finished quizzes.
+ * Finishing a quiz only appends its result and answers to an in-memory
+ * queue. The db-writer thread drains the queue shortly afterwards and commits everything that
+ * has piled up as one group, in a single transaction, so several quizzes share one commit.
+ *
+ * <p>Durability:
+ * <ul>
+ *     <li>A queued result is only in memory until its group commits, which happens at most
+ *     {@link #GROUP_COMMIT_DELAY_MS} after it was queued. {@link QuizScreen#onStop()} starts a
+ *     flush, so leaving the quiz screen writes pending results without waiting for the delay.
+ *     If the process is killed before the commit, the pending results are lost.</li>
+ *     <li>A group is all-or-nothing: a kill or crash at any point of the write leaves either
+ *     every quiz of the group with its result, answers, score and country statistics and
+ *     review schedule, or none of them.</li>
+ *     <li>The database runs in WAL mode, so a committed group survives a process kill. Whether it
+ *     also survives a power cut depends on the device's WAL sync mode; at worst the most recent
+ *     groups are rolled back as a whole.</li>
+ *     <li>A group that fails to write is put back at the front of the queue and retried
+ *     after a delay that doubles with every failure, up to {@link #MAX_RETRY_DELAY_MS}, or
+ *     sooner by a flush. A failure after the commit never writes the group again.</li>
+ *     <li>Once a result has failed {@link #MAX_ATTEMPTS} times, its group is written one result
+ *     per transaction instead, and a result that still fails on its own after that many attempts
+ *     is logged and dropped, so one bad result cannot hold back every later quiz.</li>
+ * </ul>
+ */
+public class ResultWriteQueue {
+    private static final String TAG = "ResultWriteQueue";
+
+    /**
+     * How long a queued result waits for others to share its commit.
+     */
+    static final long GROUP_COMMIT_DELAY_MS = 500;
+
+    /**
+     * Longest wait before retrying a group that failed to write; the wait doubles up to this.
+     */
+    static final long MAX_RETRY_DELAY_MS = 60_000;
+
+    /**
+     * Failed writes after which a group is written one result at a time and a failing result dropped.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    // Singleton instance
+    private static ResultWriteQueue instance;
+
+    private final CountryDbHelper dbHelper;
+    private final DbExecutor executor;
+
+    // Results waiting to be written, guarded by this
+    private List<PendingResult> pending = new ArrayList<>();
+
+    // Whether a delayed drain has been scheduled and not yet started, guarded by this
+    private boolean drainScheduled;
+
+    // Wait before the next retry after a failed write, guarded by this
+    private long retryDelayMs = GROUP_COMMIT_DELAY_MS;
+
+    private final Callable<Integer> drainTask = new Callable<Integer>() {
+        @Override
+        public Integer call() {
+            return drain();
+        }
+    };
+
+    /**
+     * Get singleton instance of the queue
+     * @param context Any context; only the application context is kept.
+     * @return Instance of ResultWriteQueue
+     */
+    public static synchronized ResultWriteQueue getInstance(Context context) {
+        if (instance == null) {
+            instance = new ResultWriteQueue(CountryDbHelper.getInstance(context), DbExecutor.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern
+     */
+    private ResultWriteQueue(CountryDbHelper dbHelper, DbExecutor executor) {
+        this.dbHelper = dbHelper;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues a finished quiz for writing. Returns immediately; safe to call on the main thread.
+     * @param score The final score achieved in the quiz.
+     * @param questionCount The number of questions in the quiz.
+     * @param answers The answers of the quiz, or null. Must not be changed afterwards.
+     */
+    public void enqueue(int score, int questionCount, AnswerTimings answers) {
+        PendingResult result = new PendingResult(score, questionCount, answers, System.currentTimeMillis());
+        synchronized (this) {
+            pending.add(result);
+            if (drainScheduled) {
+                return; // joins the group of the drain that is already waiting
+            }
+            drainScheduled = true;
+        }
+        executor.writeDelayed(drainTask, GROUP_COMMIT_DELAY_MS);
+    }
+
+    /**
+     * Writes everything queued so far without waiting for the group commit delay.
+     * @return A future that completes with the number of results written once they are committed.
+     */
+    public Future<Integer> flush() {
+        return executor.write(drainTask);
+    }
+
+    /**
+     * Flushes the queue and waits for the commit. Must not be called on the main thread.
+     */
+    public void awaitFlush() {
+        try {
+            flush().get();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Flushing results failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of results waiting to be written.
+     * @return The number of queued results.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Takes everything queued and commits it as one group, or result by result once the group
+     * has failed {@link #MAX_ATTEMPTS} times. Runs on the writer thread.
+     * @return The number of results written.
+     */
+    private int drain() {
+        List<PendingResult> group;
+        synchronized (this) {
+            drainScheduled = false;
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            group = pending;
+            pending = new ArrayList<>();
+        }
+
+        // Under the helper's lock, so loading the adaptive weights or the review queue sees both
+        // the commit and the in-memory update or neither, and never counts a group twice
+        List<PendingResult> failed;
+        int committed;
+        synchronized (dbHelper) {
+            Map<String, Long> rescheduled = new HashMap<>();
+            if (getAttempts(group) < MAX_ATTEMPTS) {
+                try {
+                    rescheduled = writeGroup(dbHelper.getWritableDatabase(), group);
+                    failed = new ArrayList<>();
+                } catch (RuntimeException e) {
+                    // Rolled back, so nothing of the group was written
+                    Log.e(TAG, "Writing " + group.size() + " results failed, keeping them queued", e);
+                    failed = group;
+                }
+            } else {
+                // Failed as a whole often enough; find out which results cannot be written
+                try {
+                    failed = writeEach(dbHelper.getWritableDatabase(), group, rescheduled);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "Opening the database for " + group.size() + " results failed", e);
+                    failed = group;
+                }
+            }
+
+            // Only committed answers move the adaptive weights
+            List<AnswerTimings> written = new ArrayList<>(group.size());
+            for (PendingResult result : group) {
+                if (result.answers != null && !failed.contains(result)) {
+                    written.add(result.answers);
+                }
+            }
+            committed = group.size() - failed.size();
+            if (committed > 0) {
+                try {
+                    dbHelper.applyAnswerOutcomes(written);
+                    dbHelper.applyReviews(rescheduled);
+                } catch (RuntimeException e) {
+                    // The results are committed and must not be written again; reload what depends on them instead
+                    Log.e(TAG, "Updating answer state after " + committed + " results failed", e);
+                    dbHelper.invalidateAnswerState();
+                }
+            }
+        }
+
+        if (failed.isEmpty()) {
+            synchronized (this) {
+                retryDelayMs = GROUP_COMMIT_DELAY_MS;
+            }
+        } else {
+            requeue(failed);
+        }
+        Log.d(TAG, "Committed " + committed + " results");
+        return committed;
+    }
+
+    /**
+     * Gets how often the results of a group have failed to write.
+     * @param group The results of the group.
+     * @return The most failed attempts of any result in the group.
+     */
+    private static int getAttempts(List<PendingResult> group) {
+        int attempts = 0;
+        for (PendingResult result : group) {
+            attempts = Math.max(attempts, result.attempts);
+        }
+        return attempts;
+    }
+
+    /**
+     * Puts results that failed to write back at the front of the queue and schedules a retry,
+     * unless a drain is already scheduled. A result that fails again on its own after
+     * {@link #MAX_ATTEMPTS} failed attempts is dropped instead.
+     * @param failed The results that failed, nothing of them committed.
+     */
+    private void requeue(List<PendingResult> failed) {
+        List<PendingResult> group = new ArrayList<>(failed.size());
+        for (PendingResult result : failed) {
+            result.attempts++;
+            if (result.attempts > MAX_ATTEMPTS) {
+                Log.e(TAG, "Dropping a result of score " + result.score + " that failed to write " +
+                        result.attempts + " times");
+            } else {
+                group.add(result);
+            }
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+
+        long delay;
+        synchronized (this) {
+            group.addAll(pending);
+            pending = group;
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+            delay = retryDelayMs;
+            retryDelayMs = Math.min(retryDelayMs * 2, MAX_RETRY_DELAY_MS);
+        }
+        executor.writeDelayed(drainTask, delay);
+    }
+
+    /**
+     * Writes a group of results in one transaction, rescheduling the reviews of every answered country.
+     * @param db The database.
+     * @param group The results to write.
+     * @return The new due time of each answered country, valid once the transaction has committed.
+     */
+    static Map<String, Long> writeGroup(SQLiteDatabase db, List<PendingResult> group) {
+        Map<String, Long> rescheduled = new HashMap<>();
+        db.beginTransaction();
+        try {
+            for (PendingResult result : group) {
+                // joins this transaction instead of committing on its own
+                CountryDbHelper.insertQuizResult(db, result.score, result.questionCount, result.answers,
+                        result.date);
+                if (result.answers != null) {
+                    ReviewStore.recordOutcomes(db, result.answers, result.date, rescheduled);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return rescheduled;
+    }
+
+    /**
+     * Writes each result of a group in a transaction of its own, so results that cannot be
+     * written do not hold back the others.
+     * @param db The database.
+     * @param group The results to write.
+     * @param rescheduled Receives the new due time of each country answered in a committed result.
+     * @return The results that failed to write, nothing of which was committed.
+     */
+    static List<PendingResult> writeEach(SQLiteDatabase db, List<PendingResult> group,
+                                         Map<String, Long> rescheduled) {
+        List<PendingResult> failed = new ArrayList<>();
+        for (PendingResult result : group) {
+            try {
+                // later results see the schedule the earlier ones committed
+                rescheduled.putAll(writeGroup(db, Collections.singletonList(result)));
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Writing a result of score " + result.score + " failed", e);
+                failed.add(result);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * A finished quiz waiting to be written.
+     */
+    static final class PendingResult {
+        final int score;
+        final int questionCount;
+        final AnswerTimings answers;
+        final long date;
+
+        // Failed writes so far; only touched on the writer thread
+        int attempts;
+
+        PendingResult(int score, int questionCount, AnswerTimings answers, long date) {
+            this.score = score;
+            this.questionCount = questionCount;
+            this.answers = answers;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package edu.uga.cs.worldquiz;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Locale;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * RecyclerView adapter for the quiz result history.
+ * Rows are loaded one page at a time on the database executor as the user scrolls
+ * towards the end of what has been loaded so far.
+ */
+public class ResultsAdapter extends RecyclerView.Adapter<ResultsAdapter.ResultViewHolder> {
+    static final int PAGE_SIZE = 50;
+
+    // Start loading the next page when this close to the end of the loaded rows
+    private static final int PREFETCH_DISTANCE = 10;
+
+    private final CountryDbHelper dbHelper;
+    private final ResultWriteQueue writeQueue;
+    private final List<QuizResultRow> rows = new ArrayList<>();
+    private final Runnable onFirstPageLoaded;
+    private final DateFormat dateFormat =
+            new SimpleDateFormat(CountryDbHelper.DISPLAY_DATE_FORMAT, Locale.getDefault());
+
+    private boolean loading;
+    private boolean exhausted;
+
+    /**
+     * Creates the adapter and starts loading the first page.
+     * @param dbHelper Database helper to read results from.
+     * @param writeQueue Queue of results not written yet, flushed before the first page is read.
+     * @param onFirstPageLoaded Called on the main thread once the first page has been loaded.
+     */
+    public ResultsAdapter(CountryDbHelper dbHelper, ResultWriteQueue writeQueue, Runnable onFirstPageLoaded) {
+        this.dbHelper = dbHelper;
+        this.writeQueue = writeQueue;
+        this.onFirstPageLoaded = onFirstPageLoaded;
+        loadNextPage();
+    }
+
+    /**
+     * Loads the page following the last loaded row, unless a load is already running
+     * or every row has been loaded.
+     */
+    private void loadNextPage() {
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+
+        final QuizResultRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        final boolean firstPage = last == null;
+        final DbExecutor executor = DbExecutor.getInstance();
+
+        executor.read(new Callable<Void>() {
+            @Override
+            public Void call() {
+                if (firstPage) {
+                    // the quiz that was just finished may still be waiting in the write-behind queue
+                    writeQueue.awaitFlush();
+                }
+                final List<QuizResultRow> page = dbHelper.getQuizResultsPage(last, PAGE_SIZE);
+                executor.runOnMainThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageLoaded(page, firstPage);
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    private void onPageLoaded(List<QuizResultRow> page, boolean firstPage) {
+        loading = false;
+        exhausted = page.size() < PAGE_SIZE;
+
+        int start = rows.size();
+        rows.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+
+        if (firstPage && onFirstPageLoaded != null) {
+            onFirstPageLoaded.run();
+        }
+    }
+
+    @Override
+    public ResultViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.results_row, parent, false);
+        return new ResultViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(ResultViewHolder holder, int position) {
+        QuizResultRow row = rows.get(position);
+        holder.text.setText("Date: " + dateFormat.format(new Date(row.getDate())) +
+                " | Score: " + row.getScore() + "/" + row.getQuestionCount());
+
+        if (position >= rows.size() - PREFETCH_DISTANCE) {
+            loadNextPage();
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return rows.size();
+    }
+
+    /**
+     * Holds the recycled row view.
+     */
+    static class ResultViewHolder extends RecyclerView.ViewHolder {
+        final TextView text;
+
+        ResultViewHolder(View itemView) {
+            super(itemView);
+            text = itemView.findViewById(R.id.result_row_text);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package edu.uga.cs.worldquiz;
 
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -10,8 +9,14 @@ import android.widget.TextView;
 import android.content.Intent;
 
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
 
+import edu.uga.cs.worldquiz.core.Question;
+
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Fragment that shows quiz results.
  */
@@ -48,10 +53,21 @@ public class ResultsFragment extends Fragment {
 
         viewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
 
-        // Display the final score
-        TextView resultText = view.findViewById(R.id.result_text);
-        resultText.setText("You scored " + viewModel.getScore().getValue() +
-                " out of " + viewModel.getQuestions().size() + "!");
+        // Display the final score; after process death the quiz is restored in the background,
+        // so the score is shown once it has been published rather than read right away
+        final TextView resultText = view.findViewById(R.id.result_text);
+        viewModel.getQuestionsLiveData().observe(getViewLifecycleOwner(), new Observer<List<Question>>() {
+            @Override
+            public void onChanged(List<Question> questions) {
+                showScore(resultText);
+            }
+        });
+        viewModel.getScore().observe(getViewLifecycleOwner(), new Observer<Integer>() {
+            @Override
+            public void onChanged(Integer score) {
+                showScore(resultText);
+            }
+        });
 
         // Restart button
         Button restartButton = view.findViewById(R.id.restart_button);
@@ -92,4 +108,24 @@ public class ResultsFragment extends Fragment {
         });
 
     }
+
+    /**
+     * Shows the score of the finished quiz. Does nothing while the quiz is still being restored,
+     * or once a new quiz has replaced it.
+     * @param resultText The view showing the result.
+     */
+    private void showScore(TextView resultText) {
+        if (!viewModel.isQuizComplete()) {
+            return;
+        }
+        resultText.setText("You scored " + viewModel.getScore().getValue() +
+                " out of " + viewModel.getQuestions().size() + "!");
+
+        // Timed quizzes also show the mean time per answer
+        AnswerTimings timings = viewModel.getAnswers();
+        if (timings != null && timings.isTimed()) {
+            resultText.append(String.format(Locale.getDefault(), "\nAverage answer time: %.1f s",
+                    timings.getAverageMillis() / 1000.0));
+        }
+    }
 }
\ No newline at end of file
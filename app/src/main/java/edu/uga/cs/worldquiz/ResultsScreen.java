@@ -1,9 +1,10 @@
 package edu.uga.cs.worldquiz;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import android.content.Intent;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -26,40 +27,19 @@ public class ResultsScreen extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.results_screen);
 
-        // This activity doesn't do anything yet - it just exists
+        final TextView emptyView = findViewById(R.id.result_history);
+        final RecyclerView historyList = findViewById(R.id.result_history_list);
+        historyList.setLayoutManager(new LinearLayoutManager(this));
 
-        TextView resultHistoryView = findViewById(R.id.result_history);
-
-        new AsyncTask<Void, Void, String>() { // fetches quiz results from the database
-
-            /**
-             * Background thread.
-             * @param voids The parameters of the task.
-             *
-             * @return A string with past quiz results.
-             */
-            @Override
-            protected String doInBackground(Void... voids) { // stores all the quiz results in a string
-                CountryDbHelper dbHelper = CountryDbHelper.getInstance(ResultsScreen.this);
-                StringBuilder resultBuilder = new StringBuilder();
-
-                for (String result : dbHelper.getAllQuizResults()) {
-                    resultBuilder.append(result).append("\n");
-                }
-
-                return resultBuilder.toString();
-            }
-
-            /**
-             * Displays quiz results.
-             * @param resultText The result of the operation computed by {@link #doInBackground}.
-             *
-             */
+        // pages of past results are loaded in the background as the list scrolls
+        final ResultsAdapter adapter = new ResultsAdapter(CountryDbHelper.getInstance(this),
+                ResultWriteQueue.getInstance(this), new Runnable() {
             @Override
-            protected void onPostExecute(String resultText) {
-                resultHistoryView.setText(resultText.isEmpty() ? "No results yet." : resultText);
+            public void run() {
+                emptyView.setVisibility(historyList.getAdapter().getItemCount() == 0 ? View.VISIBLE : View.GONE);
             }
-        }.execute();
+        });
+        historyList.setAdapter(adapter);
 
 
         // home button
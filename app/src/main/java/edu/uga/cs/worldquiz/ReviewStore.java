@@ -0,0 +1,172 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import edu.uga.cs.worldquiz.DatabaseContract.CountryEntry;
+import edu.uga.cs.worldquiz.DatabaseContract.ReviewEntry;
+import edu.uga.cs.worldquiz.core.CountrySnapshot;
+import edu.uga.cs.worldquiz.core.ReviewQueue;
+import edu.uga.cs.worldquiz.core.ReviewState;
+
+import java.util.Map;
+
+/**
+ * Maintains the review_state table, the spaced-repetition schedule of every country.
+ * The next reviews are read as a range scan over the due_at index, a window at a time, so
+ * taking a study quiz never sorts or scans the whole table however many countries there are.
+ */
+public final class ReviewStore {
+    private static final String SQL_CREATE_REVIEWS =
+            "CREATE TABLE " + ReviewEntry.TABLE_NAME + " (" +
+                    ReviewEntry.COLUMN_NAME_COUNTRY + " TEXT PRIMARY KEY," +
+                    ReviewEntry.COLUMN_NAME_DUE_AT + " INTEGER," +
+                    ReviewEntry.COLUMN_NAME_INTERVAL_MS + " INTEGER NOT NULL DEFAULT 0," +
+                    ReviewEntry.COLUMN_NAME_EASE + " INTEGER NOT NULL DEFAULT " + ReviewState.START_EASE + "," +
+                    ReviewEntry.COLUMN_NAME_REPETITIONS + " INTEGER NOT NULL DEFAULT 0)";
+
+    // Index that both the scheduled reviews (due_at > NULL) and the new countries (due_at IS NULL) range over
+    static final String REVIEW_DUE_INDEX = "review_due_idx";
+    private static final String SQL_CREATE_DUE_INDEX =
+            "CREATE INDEX " + REVIEW_DUE_INDEX + " ON " + ReviewEntry.TABLE_NAME +
+                    " (" + ReviewEntry.COLUMN_NAME_DUE_AT + ")";
+
+    // Scheduled reviews in due order, served by the index without a sort step
+    static final String SQL_NEXT_REVIEWS =
+            "SELECT " + ReviewEntry.COLUMN_NAME_COUNTRY + ", " + ReviewEntry.COLUMN_NAME_DUE_AT +
+                    " FROM " + ReviewEntry.TABLE_NAME +
+                    " WHERE " + ReviewEntry.COLUMN_NAME_DUE_AT + " IS NOT NULL" +
+                    " ORDER BY " + ReviewEntry.COLUMN_NAME_DUE_AT + " LIMIT ?";
+
+    static final String SQL_NEW_COUNTRIES =
+            "SELECT " + ReviewEntry.COLUMN_NAME_COUNTRY + " FROM " + ReviewEntry.TABLE_NAME +
+                    " WHERE " + ReviewEntry.COLUMN_NAME_DUE_AT + " IS NULL LIMIT ?";
+
+    // Private constructor to prevent instantiation
+    private ReviewStore() {}
+
+    /**
+     * Creates the empty review table and its due-time index.
+     * @param db The database.
+     */
+    static void createTables(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_REVIEWS);
+        db.execSQL(SQL_CREATE_DUE_INDEX);
+    }
+
+    /**
+     * Gives every country a review row, as never reviewed, and drops rows of countries that are gone.
+     * Runs when the countries table changes, in the same transaction.
+     * @param db The database.
+     */
+    static void syncCountries(SQLiteDatabase db) {
+        db.execSQL("INSERT OR IGNORE INTO " + ReviewEntry.TABLE_NAME + " (" + ReviewEntry.COLUMN_NAME_COUNTRY +
+                ") SELECT " + CountryEntry.COLUMN_NAME_COUNTRY + " FROM " + CountryEntry.TABLE_NAME);
+        db.execSQL("DELETE FROM " + ReviewEntry.TABLE_NAME + " WHERE " + ReviewEntry.COLUMN_NAME_COUNTRY +
+                " NOT IN (SELECT " + CountryEntry.COLUMN_NAME_COUNTRY + " FROM " + CountryEntry.TABLE_NAME + ")");
+    }
+
+    /**
+     * Reschedules every country answered in a quiz. Each answer counts as a review, in every mode.
+     * Must run in the same transaction as the result insert.
+     * @param db The database.
+     * @param answers The answers of the quiz.
+     * @param now When the quiz was finished, in epoch milliseconds.
+     * @param rescheduled Receives the new due time of each answered country.
+     */
+    static void recordOutcomes(SQLiteDatabase db, AnswerTimings answers, long now,
+                               Map<String, Long> rescheduled) {
+        for (int i = 0; i < answers.size(); i++) {
+            if (!answers.isAnswered(i)) {
+                continue;
+            }
+            String country = answers.getCountry(i);
+            ReviewState next = read(db, country).review(answers.isCorrect(i), now);
+
+            ContentValues values = new ContentValues();
+            values.put(ReviewEntry.COLUMN_NAME_DUE_AT, next.getDueAt());
+            values.put(ReviewEntry.COLUMN_NAME_INTERVAL_MS, next.getIntervalMillis());
+            values.put(ReviewEntry.COLUMN_NAME_EASE, next.getEase());
+            values.put(ReviewEntry.COLUMN_NAME_REPETITIONS, next.getRepetitions());
+            if (db.update(ReviewEntry.TABLE_NAME, values,
+                    ReviewEntry.COLUMN_NAME_COUNTRY + " = ?", new String[] { country }) == 0) {
+                // Answered before the countries were imported, so there is no row yet
+                values.put(ReviewEntry.COLUMN_NAME_COUNTRY, country);
+                db.insert(ReviewEntry.TABLE_NAME, null, values);
+            }
+            rescheduled.put(country, next.getDueAt());
+        }
+    }
+
+    /**
+     * Reads the review state of one country.
+     * @param db The database.
+     * @param country The country name.
+     * @return The state, as never reviewed if the country has no row or no due time.
+     */
+    static ReviewState read(SQLiteDatabase db, String country) {
+        Cursor cursor = db.query(ReviewEntry.TABLE_NAME,
+                new String[] {
+                        ReviewEntry.COLUMN_NAME_DUE_AT,
+                        ReviewEntry.COLUMN_NAME_INTERVAL_MS,
+                        ReviewEntry.COLUMN_NAME_EASE,
+                        ReviewEntry.COLUMN_NAME_REPETITIONS
+                },
+                ReviewEntry.COLUMN_NAME_COUNTRY + " = ?", new String[] { country }, null, null, null);
+        try {
+            if (!cursor.moveToFirst() || cursor.isNull(0)) {
+                return ReviewState.newCountry(0);
+            }
+            return new ReviewState(cursor.getLong(0), cursor.getLong(1), cursor.getInt(2), cursor.getInt(3));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Fills a review queue with the earliest scheduled reviews and a batch of new countries.
+     * @param db The database.
+     * @param snapshot The countries, whose rows the queue refers to.
+     * @param window Most reviews and most new countries to read.
+     * @return The filled queue.
+     */
+    static ReviewQueue fill(SQLiteDatabase db, CountrySnapshot snapshot, int window) {
+        ReviewQueue queue = new ReviewQueue(snapshot.size());
+        String[] limit = { Integer.toString(window) };
+
+        long lastDue = Long.MAX_VALUE;
+        int read = 0;
+        Cursor cursor = db.rawQuery(SQL_NEXT_REVIEWS, limit);
+        try {
+            while (cursor.moveToNext()) {
+                read++;
+                lastDue = cursor.getLong(1);
+                int row = snapshot.indexOf(cursor.getString(0));
+                if (row >= 0) {
+                    queue.addReview(row, lastDue);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        long horizon = read < window ? Long.MAX_VALUE : lastDue;
+
+        int readNew = 0;
+        cursor = db.rawQuery(SQL_NEW_COUNTRIES, limit);
+        try {
+            while (cursor.moveToNext()) {
+                readNew++;
+                int row = snapshot.indexOf(cursor.getString(0));
+                if (row >= 0) {
+                    queue.addNew(row);
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        queue.setLimits(horizon, readNew < window);
+        return queue;
+    }
+}
@@ -0,0 +1,134 @@
+package edu.uga.cs.worldquiz;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of the running statistics over all stored quiz results.
+ */
+public class ScoreStats {
+    private final long count;
+    private final long sum;
+    private final long sumSquares;
+    private final int currentStreak;
+    private final int bestStreak;
+    private final long[] histogram;
+
+    /**
+     * Creates a statistics snapshot.
+     * @param count Number of results.
+     * @param sum Sum of all scores.
+     * @param sumSquares Sum of all squared scores.
+     * @param currentStreak Number of perfect quizzes in a row, counting back from the latest.
+     * @param bestStreak Longest run of perfect quizzes.
+     * @param histogram Number of results per score, indexed by score.
+     */
+    public ScoreStats(long count, long sum, long sumSquares, int currentStreak, int bestStreak, long[] histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.sumSquares = sumSquares;
+        this.currentStreak = currentStreak;
+        this.bestStreak = bestStreak;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Gets the number of results.
+     * @return The number of results.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all scores.
+     * @return The sum.
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the sum of all squared scores.
+     * @return The sum of squares.
+     */
+    public long getSumSquares() {
+        return sumSquares;
+    }
+
+    /**
+     * Gets the average score.
+     * @return The average, or 0 if there are no results.
+     */
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Gets the population standard deviation of the scores.
+     * @return The standard deviation, or 0 if there are no results.
+     */
+    public double getStandardDeviation() {
+        if (count == 0) {
+            return 0;
+        }
+        double mean = getAverage();
+        return Math.sqrt(Math.max(0, (double) sumSquares / count - mean * mean));
+    }
+
+    /**
+     * Gets the number of perfect quizzes in a row, counting back from the latest.
+     * @return The current streak.
+     */
+    public int getCurrentStreak() {
+        return currentStreak;
+    }
+
+    /**
+     * Gets the longest run of perfect quizzes.
+     * @return The best streak.
+     */
+    public int getBestStreak() {
+        return bestStreak;
+    }
+
+    /**
+     * Gets how many results had a given score.
+     * @param score The score.
+     * @return The number of results with that score.
+     */
+    public long getScoreCount(int score) {
+        return score >= 0 && score < histogram.length ? histogram[score] : 0;
+    }
+
+    /**
+     * Gets the highest score with an entry in the histogram.
+     * @return The highest score, or -1 if there are no results.
+     */
+    public int getMaxScore() {
+        return histogram.length - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ScoreStats)) {
+            return false;
+        }
+        ScoreStats other = (ScoreStats) o;
+        return count == other.count && sum == other.sum && sumSquares == other.sumSquares
+                && currentStreak == other.currentStreak && bestStreak == other.bestStreak
+                && Arrays.equals(histogram, other.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(new long[] { count, sum, sumSquares, currentStreak, bestStreak })
+                * 31 + Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreStats{count=" + count + ", sum=" + sum + ", sumSquares=" + sumSquares +
+                ", currentStreak=" + currentStreak + ", bestStreak=" + bestStreak +
+                ", histogram=" + Arrays.toString(histogram) + "}";
+    }
+}
@@ -0,0 +1,252 @@
+package edu.uga.cs.worldquiz;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import edu.uga.cs.worldquiz.DatabaseContract.ResultEntry;
+import edu.uga.cs.worldquiz.DatabaseContract.ScoreHistogramEntry;
+import edu.uga.cs.worldquiz.DatabaseContract.ScoreStatsEntry;
+
+/**
+ * Maintains the score_stats and score_histogram aggregate tables.
+ * Aggregates are updated incrementally with every inserted result, so reading them costs
+ * the same no matter how much history there is. They can also be rebuilt from the raw
+ * results rows to check or repair them.
+ * A quiz counts towards the streak when every question was answered correctly.
+ */
+public final class ScoreStatsStore {
+    private static final String SQL_CREATE_STATS =
+            "CREATE TABLE " + ScoreStatsEntry.TABLE_NAME + " (" +
+                    ScoreStatsEntry._ID + " INTEGER PRIMARY KEY," +
+                    ScoreStatsEntry.COLUMN_NAME_COUNT + " INTEGER NOT NULL DEFAULT 0," +
+                    ScoreStatsEntry.COLUMN_NAME_SUM + " INTEGER NOT NULL DEFAULT 0," +
+                    ScoreStatsEntry.COLUMN_NAME_SUM_SQUARES + " INTEGER NOT NULL DEFAULT 0," +
+                    ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK + " INTEGER NOT NULL DEFAULT 0," +
+                    ScoreStatsEntry.COLUMN_NAME_BEST_STREAK + " INTEGER NOT NULL DEFAULT 0)";
+
+    private static final String SQL_CREATE_HISTOGRAM =
+            "CREATE TABLE " + ScoreHistogramEntry.TABLE_NAME + " (" +
+                    ScoreHistogramEntry.COLUMN_NAME_SCORE + " INTEGER PRIMARY KEY," +
+                    ScoreHistogramEntry.COLUMN_NAME_COUNT + " INTEGER NOT NULL)";
+
+    private static final String SQL_RECORD_STATS =
+            "UPDATE " + ScoreStatsEntry.TABLE_NAME + " SET " +
+                    ScoreStatsEntry.COLUMN_NAME_COUNT + " = " + ScoreStatsEntry.COLUMN_NAME_COUNT + " + 1, " +
+                    ScoreStatsEntry.COLUMN_NAME_SUM + " = " + ScoreStatsEntry.COLUMN_NAME_SUM + " + ?1, " +
+                    ScoreStatsEntry.COLUMN_NAME_SUM_SQUARES + " = " + ScoreStatsEntry.COLUMN_NAME_SUM_SQUARES + " + ?1 * ?1, " +
+                    ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK + " = CASE WHEN ?2 THEN " +
+                    ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK + " + 1 ELSE 0 END, " +
+                    ScoreStatsEntry.COLUMN_NAME_BEST_STREAK + " = MAX(" + ScoreStatsEntry.COLUMN_NAME_BEST_STREAK +
+                    ", CASE WHEN ?2 THEN " + ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK + " + 1 ELSE 0 END) " +
+                    "WHERE " + ScoreStatsEntry._ID + " = " + ScoreStatsEntry.ROW_ID;
+
+    private static final String SQL_RECORD_HISTOGRAM =
+            "UPDATE " + ScoreHistogramEntry.TABLE_NAME + " SET " +
+                    ScoreHistogramEntry.COLUMN_NAME_COUNT + " = " + ScoreHistogramEntry.COLUMN_NAME_COUNT + " + 1 " +
+                    "WHERE " + ScoreHistogramEntry.COLUMN_NAME_SCORE + " = ?";
+
+    // Private constructor to prevent instantiation
+    private ScoreStatsStore() {}
+
+    /**
+     * Creates the aggregate tables with empty statistics.
+     * @param db The database.
+     */
+    static void createTables(SQLiteDatabase db) {
+        db.execSQL(SQL_CREATE_STATS);
+        db.execSQL(SQL_CREATE_HISTOGRAM);
+        db.execSQL("INSERT INTO " + ScoreStatsEntry.TABLE_NAME + " (" + ScoreStatsEntry._ID +
+                ") VALUES (" + ScoreStatsEntry.ROW_ID + ")");
+    }
+
+    /**
+     * Adds one result to the aggregates. Must run in the same transaction as the result insert.
+     * @param db The database.
+     * @param score The score of the new result.
+     * @param questionCount The number of questions in the quiz.
+     */
+    static void recordResult(SQLiteDatabase db, int score, int questionCount) {
+        SQLiteStatement stats = db.compileStatement(SQL_RECORD_STATS);
+        try {
+            stats.bindLong(1, score);
+            stats.bindLong(2, isPerfect(score, questionCount) ? 1 : 0);
+            stats.executeUpdateDelete();
+        } finally {
+            stats.close();
+        }
+
+        SQLiteStatement histogram = db.compileStatement(SQL_RECORD_HISTOGRAM);
+        try {
+            histogram.bindLong(1, score);
+            if (histogram.executeUpdateDelete() == 0) {
+                ContentValues values = new ContentValues();
+                values.put(ScoreHistogramEntry.COLUMN_NAME_SCORE, score);
+                values.put(ScoreHistogramEntry.COLUMN_NAME_COUNT, 1);
+                db.insert(ScoreHistogramEntry.TABLE_NAME, null, values);
+            }
+        } finally {
+            histogram.close();
+        }
+    }
+
+    /**
+     * Reads the stored aggregates. Costs one single-row read plus one row per distinct score.
+     * @param db The database.
+     * @return The statistics.
+     */
+    static ScoreStats read(SQLiteDatabase db) {
+        long count = 0;
+        long sum = 0;
+        long sumSquares = 0;
+        int currentStreak = 0;
+        int bestStreak = 0;
+
+        Cursor cursor = db.query(ScoreStatsEntry.TABLE_NAME,
+                new String[] {
+                        ScoreStatsEntry.COLUMN_NAME_COUNT,
+                        ScoreStatsEntry.COLUMN_NAME_SUM,
+                        ScoreStatsEntry.COLUMN_NAME_SUM_SQUARES,
+                        ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK,
+                        ScoreStatsEntry.COLUMN_NAME_BEST_STREAK
+                },
+                ScoreStatsEntry._ID + " = " + ScoreStatsEntry.ROW_ID, null, null, null, null);
+        try {
+            if (cursor.moveToFirst()) {
+                count = cursor.getLong(0);
+                sum = cursor.getLong(1);
+                sumSquares = cursor.getLong(2);
+                currentStreak = cursor.getInt(3);
+                bestStreak = cursor.getInt(4);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return new ScoreStats(count, sum, sumSquares, currentStreak, bestStreak,
+                readHistogram(db, "SELECT " + ScoreHistogramEntry.COLUMN_NAME_SCORE + ", " +
+                        ScoreHistogramEntry.COLUMN_NAME_COUNT + " FROM " + ScoreHistogramEntry.TABLE_NAME +
+                        " WHERE " + ScoreHistogramEntry.COLUMN_NAME_COUNT + " > 0"));
+    }
+
+    /**
+     * Recomputes the statistics from the raw results rows, without touching the stored aggregates.
+     * This scans the whole results table and is meant for consistency checks only.
+     * @param db The database.
+     * @return The statistics implied by the results table.
+     */
+    static ScoreStats compute(SQLiteDatabase db) {
+        long count = 0;
+        long sum = 0;
+        long sumSquares = 0;
+        int currentStreak = 0;
+        int bestStreak = 0;
+
+        Cursor cursor = db.rawQuery("SELECT " + ResultEntry.COLUMN_NAME_SCORE + ", " +
+                ResultEntry.COLUMN_NAME_QUESTION_COUNT + " FROM " + ResultEntry.TABLE_NAME +
+                " ORDER BY " + ResultEntry.COLUMN_NAME_DATE + ", " + ResultEntry._ID, null);
+        try {
+            while (cursor.moveToNext()) {
+                long score = cursor.getLong(0);
+                count++;
+                sum += score;
+                sumSquares += score * score;
+                currentStreak = isPerfect(score, cursor.getLong(1)) ? currentStreak + 1 : 0;
+                bestStreak = Math.max(bestStreak, currentStreak);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return new ScoreStats(count, sum, sumSquares, currentStreak, bestStreak,
+                readHistogram(db, "SELECT " + ResultEntry.COLUMN_NAME_SCORE + ", COUNT(*) FROM " +
+                        ResultEntry.TABLE_NAME + " GROUP BY " + ResultEntry.COLUMN_NAME_SCORE));
+    }
+
+    /**
+     * Replaces the stored aggregates with the ones implied by the results table.
+     * @param db The database.
+     * @return The rebuilt statistics.
+     */
+    static ScoreStats rebuild(SQLiteDatabase db) {
+        ScoreStats stats = compute(db);
+
+        db.beginTransaction();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(ScoreStatsEntry._ID, ScoreStatsEntry.ROW_ID);
+            values.put(ScoreStatsEntry.COLUMN_NAME_COUNT, stats.getCount());
+            values.put(ScoreStatsEntry.COLUMN_NAME_SUM, stats.getSum());
+            values.put(ScoreStatsEntry.COLUMN_NAME_SUM_SQUARES, stats.getSumSquares());
+            values.put(ScoreStatsEntry.COLUMN_NAME_CURRENT_STREAK, stats.getCurrentStreak());
+            values.put(ScoreStatsEntry.COLUMN_NAME_BEST_STREAK, stats.getBestStreak());
+            db.insertWithOnConflict(ScoreStatsEntry.TABLE_NAME, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+
+            db.delete(ScoreHistogramEntry.TABLE_NAME, null, null);
+            for (int score = 0; score <= stats.getMaxScore(); score++) {
+                if (stats.getScoreCount(score) > 0) {
+                    ContentValues row = new ContentValues();
+                    row.put(ScoreHistogramEntry.COLUMN_NAME_SCORE, score);
+                    row.put(ScoreHistogramEntry.COLUMN_NAME_COUNT, stats.getScoreCount(score));
+                    db.insert(ScoreHistogramEntry.TABLE_NAME, null, row);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return stats;
+    }
+
+    /**
+     * Checks the stored aggregates against the results table and rebuilds them if they differ.
+     * @param db The database.
+     * @return true if the stored aggregates were consistent, false if they had to be rebuilt.
+     */
+    static boolean verify(SQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            boolean consistent = read(db).equals(compute(db));
+            if (!consistent) {
+                rebuild(db);
+            }
+            db.setTransactionSuccessful();
+            return consistent;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Checks whether a result had every question right. An empty quiz is never perfect.
+     */
+    private static boolean isPerfect(long score, long questionCount) {
+        return questionCount > 0 && score >= questionCount;
+    }
+
+    /**
+     * Reads (score, count) rows into an array indexed by score. Negative scores are ignored.
+     */
+    private static long[] readHistogram(SQLiteDatabase db, String sql) {
+        long[] histogram = new long[0];
+        Cursor cursor = db.rawQuery(sql, null);
+        try {
+            while (cursor.moveToNext()) {
+                int score = cursor.getInt(0);
+                if (score < 0) {
+                    continue;
+                }
+                if (score >= histogram.length) {
+                    long[] grown = new long[score + 1];
+                    System.arraycopy(histogram, 0, grown, 0, histogram.length);
+                    histogram = grown;
+                }
+                histogram[score] = cursor.getLong(1);
+            }
+        } finally {
+            cursor.close();
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,102 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.BkTree;
+import edu.uga.cs.worldquiz.core.NameNormalizer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Checking a mistyped answer: the closest name within two edits from the BK-tree, against
+ * measuring the edit distance to every name.
+ */
+@State(Scope.Thread)
+public class BkTreeBenchmark {
+    // Edits forgiven in a long answer, as AnswerMatcher allows
+    private static final int MAX_TYPOS = 2;
+
+    // Mistyped answers cycled through; a power of two for cheap wrapping
+    private static final int TYPO_POOL = 1024;
+
+    @Param({"200", "50000"})
+    public int names;
+
+    private String[] keys;
+    private BkTree tree;
+    private final String[] typos = new String[TYPO_POOL];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] input = Datasets.placeNames(names);
+        keys = new String[input.length];
+        for (int i = 0; i < input.length; i++) {
+            keys[i] = NameNormalizer.normalize(input[i]);
+        }
+        tree = build();
+
+        // Names with one letter replaced, as a slip of the thumb would
+        Random random = new Random(Datasets.SEED);
+        for (int i = 0; i < TYPO_POOL; i++) {
+            char[] typo = keys[random.nextInt(keys.length)].toCharArray();
+            typo[random.nextInt(typo.length)] = (char) ('a' + random.nextInt(26));
+            typos[i] = new String(typo);
+        }
+    }
+
+    @Benchmark
+    public int nearest() {
+        next = (next + 1) & (TYPO_POOL - 1);
+        return tree.nearest(typos[next], MAX_TYPOS);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        next = (next + 1) & (TYPO_POOL - 1);
+        String typo = typos[next];
+        int best = -1;
+        int bestDistance = MAX_TYPOS + 1;
+        for (int i = 0; i < keys.length; i++) {
+            int distance = levenshtein(typo, keys[i]);
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public BkTree build() {
+        BkTree built = new BkTree(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            built.add(keys[i], i);
+        }
+        return built;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
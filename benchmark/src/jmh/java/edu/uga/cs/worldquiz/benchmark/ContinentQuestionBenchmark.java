@@ -0,0 +1,78 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds one continent question with the precomputed ContinentOptions tables, against the
+ * rejection sampling and string concatenation it replaced. In the gc profiler output,
+ * gc.alloc.rate.norm of precomputedTables should only cover the Question and its option codes.
+ */
+@State(Scope.Thread)
+public class ContinentQuestionBenchmark {
+    // Country names cycled through, so the prompt is not the same every time
+    private static final int COUNTRY_POOL = 256;
+
+    private final String[] countries = new String[COUNTRY_POOL];
+    private final int[] continentCodes = new int[COUNTRY_POOL];
+    private CountrySampler sampler;
+    private QuestionGenerator generator;
+    private Random random;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < COUNTRY_POOL; i++) {
+            countries[i] = Datasets.countryName(i);
+            continentCodes[i] = Datasets.continentCode(i * 7);
+        }
+        sampler = Datasets.sampler(COUNTRY_POOL);
+        generator = new QuestionGenerator(null, null, new Random(Datasets.SEED));
+        random = new Random(Datasets.SEED);
+    }
+
+    @Benchmark
+    public Question precomputedTables() {
+        next = (next + 1) & (COUNTRY_POOL - 1);
+        return generator.createContinentQuestion(sampler, next, continentCodes[next]);
+    }
+
+    @Benchmark
+    public void rejectionSampling(Blackhole blackhole) {
+        next = (next + 1) & (COUNTRY_POOL - 1);
+        String correctContinent = Continents.nameOf(continentCodes[next]);
+
+        // The continent question code as it was before the tables were introduced
+        List<String> options = new ArrayList<>();
+        options.add(correctContinent);
+        while (options.size() < 3) {
+            String randomContinent = Continents.NAMES[random.nextInt(Continents.COUNT)];
+            if (!randomContinent.equals(correctContinent) && !options.contains(randomContinent)) {
+                options.add(randomContinent);
+            }
+        }
+        Collections.shuffle(options, random);
+        int correctAnswerIndex = options.indexOf(correctContinent);
+        for (int i = 1; i < options.size() + 1; i++) {
+            options.set(i - 1, i + ". " + options.get(i - 1));
+        }
+
+        blackhole.consume("In which continent is " + countries[next] + " located?");
+        blackhole.consume(options);
+        blackhole.consume(correctAnswerIndex);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.CsvReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The country CSV import: streaming the CSV through {@link CsvReader}, against the
+ * BufferedReader and String.split parse it replaced, and the same plus
+ * batched inserts into a fresh in-memory SQLite table. The insert loop is the app's original
+ * bulk import, one prepared INSERT rebound per row and a commit every
+ * {@link #ROWS_PER_TRANSACTION} rows; ImportCsvTask.syncCountries now diffs against existing rows instead.
+ */
+@State(Scope.Thread)
+public class CsvImportBenchmark {
+    // Chunk size of the original bulk import
+    private static final int ROWS_PER_TRANSACTION = 500;
+
+    @Param({"200", "20000", "200000"})
+    public int rows;
+
+    private String csv;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void createCsv() {
+        csv = Datasets.countryContinentCsv(rows);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE countries (_id INTEGER PRIMARY KEY, country TEXT, continent TEXT)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeDatabase() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void parseSplit(Blackhole blackhole) throws IOException {
+        // The original import's parse, kept as the baseline
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] row = line.split(",");
+            if (row.length >= 2) {
+                blackhole.consume(row[0].trim());
+                blackhole.consume(row[1].trim());
+            }
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        while (reader.nextRecord()) {
+            if (reader.isFieldEmpty(0) || reader.isFieldEmpty(1)) {
+                continue;
+            }
+            blackhole.consume(reader.getField(0));
+            blackhole.consume(reader.getField(1));
+        }
+    }
+
+    @Benchmark
+    public int parseAndInsert() throws IOException, SQLException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        int imported = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO countries (country, continent) VALUES (?, ?)")) {
+            int inChunk = 0;
+            while (reader.nextRecord()) {
+                if (reader.isFieldEmpty(0) || reader.isFieldEmpty(1)) {
+                    continue;
+                }
+                insert.setString(1, reader.getField(0));
+                insert.setString(2, reader.getField(1));
+                imported += insert.executeUpdate();
+
+                if (++inChunk == ROWS_PER_TRANSACTION) {
+                    connection.commit();
+                    inChunk = 0;
+                }
+            }
+            connection.commit();
+        }
+        return imported;
+    }
+}
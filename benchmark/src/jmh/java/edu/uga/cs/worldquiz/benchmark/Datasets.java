@@ -0,0 +1,131 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+
+import java.util.Random;
+
+/**
+ * Synthetic country data of arbitrary size, shaped like the bundled CSV assets.
+ * Everything is generated from a fixed seed so runs are comparable between commits.
+ */
+final class Datasets {
+    static final long SEED = 42;
+
+    // Countries are laid out in a grid of this width, each bordering the countries next to it
+    private static final int GRID_WIDTH = 16;
+
+    // Private constructor to prevent instantiation
+    private Datasets() {}
+
+    /**
+     * Gets the name of a synthetic country.
+     * @param id The country id.
+     * @return The country name.
+     */
+    static String countryName(int id) {
+        return "Country " + id;
+    }
+
+    /**
+     * Builds pronounceable place names, so prefixes spread the way real names do
+     * instead of all sharing the "Country " of {@link #countryName(int)}.
+     * @param count Number of names.
+     * @return The names; a few may repeat.
+     */
+    static String[] placeNames(int count) {
+        String[] syllables = {
+                "al", "ba", "cor", "da", "el", "fi", "gua", "ha", "in", "ja", "ka", "li", "mo", "ne",
+                "or", "pa", "qui", "ru", "sa", "ta", "u", "va", "we", "xi", "ya", "zo"
+        };
+        Random random = new Random(SEED);
+        String[] names = new String[count];
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            name.setLength(0);
+            int length = 2 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                name.append(syllables[random.nextInt(syllables.length)]);
+            }
+            name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            names[i] = name.toString();
+        }
+        return names;
+    }
+
+    /**
+     * Gets the continent code of a synthetic country.
+     * @param id The country id.
+     * @return The continent code.
+     */
+    static int continentCode(int id) {
+        return (id / GRID_WIDTH) % Continents.COUNT;
+    }
+
+    /**
+     * Builds the contents of a country_continent.csv file.
+     * @param count Number of countries.
+     * @return The CSV text.
+     */
+    static String countryContinentCsv(int count) {
+        StringBuilder csv = new StringBuilder(count * 24);
+        for (int i = 0; i < count; i++) {
+            csv.append(countryName(i)).append(',').append(Continents.nameOf(continentCode(i))).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Builds a sampler over synthetic countries.
+     * @param count Number of countries.
+     * @return The sampler.
+     */
+    static CountrySampler sampler(int count) {
+        int[] ids = new int[count];
+        String[] names = new String[count];
+        byte[] continentCodes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            names[i] = countryName(i);
+            continentCodes[i] = (byte) continentCode(i);
+        }
+        return new CountrySampler(ids, names, continentCodes, new Random(SEED));
+    }
+
+    /**
+     * Builds a border graph where every country borders its grid neighbors, with the grid
+     * split into land masses of a few hundred countries so some pairs are unreachable.
+     * @param count Number of countries.
+     * @return The neighbor graph.
+     */
+    static NeighborGraph neighborGraph(int count) {
+        String[] names = new String[count];
+        int[] offsets = new int[count + 1];
+        int[] targets = new int[count * 4];
+        int edgeCount = 0;
+
+        int landMass = GRID_WIDTH * 16;
+        for (int i = 0; i < count; i++) {
+            names[i] = countryName(i);
+            offsets[i] = edgeCount;
+            int column = i % GRID_WIDTH;
+            int[] candidates = {
+                    column > 0 ? i - 1 : -1,
+                    column < GRID_WIDTH - 1 ? i + 1 : -1,
+                    i - GRID_WIDTH,
+                    i + GRID_WIDTH
+            };
+            for (int candidate : candidates) {
+                if (candidate >= 0 && candidate < count && candidate / landMass == i / landMass) {
+                    targets[edgeCount++] = candidate;
+                }
+            }
+        }
+        offsets[count] = edgeCount;
+
+        int[] trimmed = new int[edgeCount];
+        System.arraycopy(targets, 0, trimmed, 0, edgeCount);
+        return new NeighborGraph(names, offsets, trimmed);
+    }
+}
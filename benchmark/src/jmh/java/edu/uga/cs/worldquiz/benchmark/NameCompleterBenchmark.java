@@ -0,0 +1,72 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.NameCompleter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * One keystroke of a typed answer: prefix suggestions from the NameCompleter arena, against
+ * scanning every name with startsWith as a LIKE 'prefix%' query without an index would.
+ * Must stay far below 1 ms per keystroke at 50k names.
+ */
+@State(Scope.Thread)
+public class NameCompleterBenchmark {
+    // Suggestions shown under the answer field
+    private static final int SUGGESTIONS = 3;
+
+    // Typed prefixes cycled through; a power of two for cheap wrapping
+    private static final int PREFIX_POOL = 1024;
+
+    @Param({"200", "50000"})
+    public int names;
+
+    private String[] input;
+    private NameCompleter completer;
+    private final String[] prefixes = new String[PREFIX_POOL];
+    private final String[] out = new String[SUGGESTIONS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = Datasets.placeNames(names);
+        completer = new NameCompleter(input);
+
+        // Every keystroke of typing some of the names, one to five letters in
+        Random random = new Random(Datasets.SEED);
+        for (int i = 0; i < PREFIX_POOL; i++) {
+            String name = input[random.nextInt(input.length)];
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(5, name.length())));
+        }
+    }
+
+    @Benchmark
+    public int complete() {
+        next = (next + 1) & (PREFIX_POOL - 1);
+        return completer.complete(prefixes[next], out);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        next = (next + 1) & (PREFIX_POOL - 1);
+        String prefix = NameCompleter.fold(prefixes[next]);
+        int count = 0;
+        for (int i = 0; i < input.length && count < SUGGESTIONS; i++) {
+            if (NameCompleter.fold(input[i]).startsWith(prefix)) {
+                out[count++] = input[i];
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public NameCompleter build() {
+        return new NameCompleter(input);
+    }
+}
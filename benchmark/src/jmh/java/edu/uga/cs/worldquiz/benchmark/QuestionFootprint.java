@@ -0,0 +1,75 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.HopDistanceMatrix;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the retained heap of buffered questions in the compact encoding against the
+ * same questions with their text rendered up front, the way Question used to store them.
+ * Run with ./gradlew :benchmark:questionFootprint.
+ */
+public final class QuestionFootprint {
+    private static final int QUESTIONS = 10_000;
+    private static final int COUNTRIES = 200;
+
+    // Private constructor to prevent instantiation
+    private QuestionFootprint() {}
+
+    public static void main(String[] args) {
+        NeighborGraph graph = Datasets.neighborGraph(COUNTRIES);
+        CountrySampler sampler = Datasets.sampler(COUNTRIES);
+        QuestionGenerator generator = new QuestionGenerator(graph, HopDistanceMatrix.build(graph),
+                new Random(Datasets.SEED));
+
+        List<Question> compact = new ArrayList<>(QUESTIONS);
+        int[] rows = new int[1];
+        while (compact.size() < QUESTIONS) {
+            sampler.sample(1, rows);
+            Question question = generator.createQuestion(sampler, rows[0]);
+            if (question != null) {
+                compact.add(question);
+            }
+        }
+
+        List<RenderedQuestion> rendered = new ArrayList<>(QUESTIONS);
+        for (Question question : compact) {
+            rendered.add(new RenderedQuestion(question.getQuestionText(),
+                    new ArrayList<>(question.getOptions()), question.getCorrectAnswerIndex()));
+        }
+
+        // The compact graph also reaches the shared name tables, which are counted once
+        long compactBytes = GraphLayout.parseInstance(compact).totalSize();
+        long sharedBytes = GraphLayout.parseInstance(graph, sampler).totalSize();
+        long renderedBytes = GraphLayout.parseInstance(rendered).totalSize();
+
+        System.out.println(QUESTIONS + " buffered questions:");
+        System.out.printf("  compact:  %,d bytes (%d per question, including %,d bytes of shared name tables)%n",
+                compactBytes, (compactBytes - sharedBytes) / QUESTIONS, sharedBytes);
+        System.out.printf("  rendered: %,d bytes (%d per question)%n",
+                renderedBytes, renderedBytes / QUESTIONS);
+    }
+
+    /**
+     * A question with its text and numbered options stored as strings.
+     */
+    private static final class RenderedQuestion {
+        final String questionText;
+        final List<String> options;
+        final int correctAnswerIndex;
+
+        RenderedQuestion(String questionText, List<String> options, int correctAnswerIndex) {
+            this.questionText = questionText;
+            this.options = options;
+            this.correctAnswerIndex = correctAnswerIndex;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.CountrySampler;
+import edu.uga.cs.worldquiz.core.HopDistanceMatrix;
+import edu.uga.cs.worldquiz.core.NeighborGraph;
+import edu.uga.cs.worldquiz.core.Question;
+import edu.uga.cs.worldquiz.core.QuestionGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * QuestionGenerator.createQuestion for one quiz worth of countries, with and without neighbor data.
+ * Countries are sampled up front so only question generation is measured. Sizes stop at
+ * 10000 countries because the hop distance table grows with the square of the count.
+ */
+@State(Scope.Thread)
+public class QuestionGenerationBenchmark {
+    // Countries per quiz
+    private static final int QUIZ_LENGTH = 6;
+
+    // Number of pre-sampled quizzes cycled through, so the same countries are not asked every time
+    private static final int QUIZ_POOL = 1024;
+
+    @Param({"200", "2000", "10000"})
+    public int countries;
+
+    private QuestionGenerator continentGenerator;
+    private QuestionGenerator landGenerator;
+    private CountrySampler sampler;
+    private int[] quizzes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NeighborGraph graph = Datasets.neighborGraph(countries);
+        HopDistanceMatrix hops = HopDistanceMatrix.build(graph);
+        continentGenerator = new QuestionGenerator(null, null, new Random(Datasets.SEED));
+        landGenerator = new QuestionGenerator(graph, hops, new Random(Datasets.SEED));
+
+        sampler = Datasets.sampler(countries);
+        quizzes = new int[QUIZ_POOL * QUIZ_LENGTH];
+        int[] rows = new int[QUIZ_LENGTH];
+        for (int i = 0; i < QUIZ_POOL; i++) {
+            sampler.sample(QUIZ_LENGTH, rows);
+            System.arraycopy(rows, 0, quizzes, i * QUIZ_LENGTH, QUIZ_LENGTH);
+        }
+    }
+
+    private List<Question> createQuiz(QuestionGenerator generator) {
+        next = (next + 1) & (QUIZ_POOL - 1);
+        List<Question> questions = new ArrayList<>(QUIZ_LENGTH);
+        for (int i = 0; i < QUIZ_LENGTH; i++) {
+            questions.add(generator.createQuestion(sampler, quizzes[next * QUIZ_LENGTH + i]));
+        }
+        return questions;
+    }
+
+    @Benchmark
+    public List<Question> continentQuestions() {
+        return createQuiz(continentGenerator);
+    }
+
+    @Benchmark
+    public List<Question> mixedQuestions() {
+        return createQuiz(landGenerator);
+    }
+}
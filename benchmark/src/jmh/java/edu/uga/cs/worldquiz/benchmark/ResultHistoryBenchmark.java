@@ -0,0 +1,117 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Result history reads with the keyset query of CountryDbHelper.queryQuizResultsPage,
+ * against the full ORDER BY scan the results screen ran before it was paged.
+ */
+@State(Scope.Thread)
+public class ResultHistoryBenchmark {
+    // Same page size as ResultsAdapter.PAGE_SIZE
+    private static final int PAGE_SIZE = 50;
+
+    private static final long START_MILLIS = 1_735_689_600_000L; // 2025-01-01
+
+    @Param({"1000", "10000", "100000"})
+    public int results;
+
+    private Connection connection;
+    private PreparedStatement firstPage;
+    private PreparedStatement nextPage;
+    private PreparedStatement allResults;
+
+    // Key of a row in the middle of the history, where a deep page starts
+    private long middleId;
+    private long middleDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE results (_id INTEGER PRIMARY KEY, quiz_id INTEGER, " +
+                    "score INTEGER, date INTEGER, question_count INTEGER NOT NULL DEFAULT 6)");
+            statement.execute("CREATE INDEX results_date_idx ON results (date)");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO results (quiz_id, score, date) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < results; i++) {
+                insert.setInt(1, i + 1);
+                insert.setInt(2, i % 7);
+                // A few results per minute, so dates repeat like real history
+                insert.setLong(3, START_MILLIS + (i / 3) * 60_000L);
+                insert.executeUpdate();
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        middleId = results / 2;
+        middleDate = START_MILLIS + ((middleId - 1) / 3) * 60_000L;
+
+        String select = "SELECT _id, score, date, question_count FROM results";
+        String order = " ORDER BY date DESC, _id DESC";
+        firstPage = connection.prepareStatement(select + order + " LIMIT ?");
+        nextPage = connection.prepareStatement(select +
+                " WHERE date <= ? AND (date < ? OR _id < ?)" + order + " LIMIT ?");
+        allResults = connection.prepareStatement(select + order);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        firstPage.close();
+        nextPage.close();
+        allResults.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public long firstPage(Blackhole blackhole) throws SQLException {
+        firstPage.setInt(1, PAGE_SIZE);
+        return read(firstPage, blackhole);
+    }
+
+    @Benchmark
+    public long deepPage(Blackhole blackhole) throws SQLException {
+        nextPage.setLong(1, middleDate);
+        nextPage.setLong(2, middleDate);
+        nextPage.setLong(3, middleId);
+        nextPage.setInt(4, PAGE_SIZE);
+        return read(nextPage, blackhole);
+    }
+
+    @Benchmark
+    public long allResults(Blackhole blackhole) throws SQLException {
+        return read(allResults, blackhole);
+    }
+
+    private static long read(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        long rows = 0;
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                blackhole.consume(result.getLong(1));
+                blackhole.consume(result.getInt(2));
+                blackhole.consume(result.getLong(3));
+                blackhole.consume(result.getInt(4));
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,87 @@
+package edu.uga.cs.worldquiz.benchmark;
+
+import edu.uga.cs.worldquiz.core.Continents;
+import edu.uga.cs.worldquiz.core.CountrySampler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Random country selection with the in-memory CountrySampler, against the ORDER BY RANDOM()
+ * query it replaced.
+ */
+@State(Scope.Thread)
+public class SamplingBenchmark {
+    // Countries per quiz
+    private static final int QUIZ_LENGTH = 6;
+
+    @Param({"200", "20000", "200000"})
+    public int countries;
+
+    private CountrySampler sampler;
+    private final int[] rows = new int[QUIZ_LENGTH];
+    private Connection connection;
+    private PreparedStatement orderByRandom;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        sampler = Datasets.sampler(countries);
+
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE countries (_id INTEGER PRIMARY KEY, country TEXT, continent TEXT)");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO countries (country, continent) VALUES (?, ?)")) {
+            for (int i = 0; i < countries; i++) {
+                insert.setString(1, Datasets.countryName(i));
+                insert.setString(2, Continents.nameOf(Datasets.continentCode(i)));
+                insert.executeUpdate();
+            }
+        }
+        connection.commit();
+        orderByRandom = connection.prepareStatement(
+                "SELECT country, continent FROM countries ORDER BY RANDOM() LIMIT " + QUIZ_LENGTH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        orderByRandom.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public int sampleRows() {
+        return sampler.sample(QUIZ_LENGTH, rows);
+    }
+
+    @Benchmark
+    public Map<String, String> sampleCountryContinentPairs() {
+        return sampler.sampleCountryContinentPairs(QUIZ_LENGTH);
+    }
+
+    @Benchmark
+    public void orderByRandom(Blackhole blackhole) throws SQLException {
+        try (ResultSet result = orderByRandom.executeQuery()) {
+            while (result.next()) {
+                blackhole.consume(result.getString(1));
+                blackhole.consume(result.getString(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package edu.uga.cs.worldquiz.build;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.BufferedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the country CSV assets into the binary index read by CountryIndex at runtime.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int    magic ("WQIX")
+ * int    version
+ * int    countryCount
+ * int    edgeCount
+ * int    stringBytes
+ * int[]  nameOffsets      countryCount + 1 entries into the UTF-8 name blob
+ * byte[] names            stringBytes of UTF-8
+ * byte[] continentCodes   countryCount entries, padded to a multiple of 4
+ * int[]  neighborOffsets  countryCount + 1 entries into neighborTargets
+ * int[]  neighborTargets  edgeCount country ids
+ * </pre>
+ */
+public final class CountryIndexCompiler {
+    public static final int MAGIC = 0x57514958;
+    public static final int VERSION = 1;
+
+    // Must stay in the same order as Continents.NAMES in the app
+    private static final String[] CONTINENTS = {
+            "Africa", "Antarctica", "Asia", "Oceania", "Europe", "North America", "South America"
+    };
+
+    // Private constructor to prevent instantiation
+    private CountryIndexCompiler() {}
+
+    /**
+     * Compiles the index.
+     * @param continentCsv country_continent.csv
+     * @param neighborsCsv country_neighbors.csv
+     * @param output The binary file to write.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void compile(File continentCsv, File neighborsCsv, File output) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<Integer> continents = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(continentCsv.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] row = line.split(",");
+                if (row.length < 2) {
+                    continue;
+                }
+                String name = row[0].trim();
+                if (ids.containsKey(name)) {
+                    continue;
+                }
+                ids.put(name, names.size());
+                names.add(name);
+                continents.add(continentCode(row[1].trim()));
+            }
+        }
+
+        int count = names.size();
+        List<List<Integer>> adjacency = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            adjacency.add(new ArrayList<>());
+        }
+
+        int edgeCount = 0;
+        try (BufferedReader reader = Files.newBufferedReader(neighborsCsv.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] row = line.split(",");
+                Integer source = ids.get(row[0].trim());
+                if (source == null) {
+                    continue;
+                }
+                for (int i = 1; i < row.length; i++) {
+                    Integer target = ids.get(row[i].trim());
+                    if (target == null || target.equals(source)) {
+                        continue;
+                    }
+                    // Borders are shared, even where the CSV only lists one direction
+                    if (!adjacency.get(source).contains(target)) {
+                        adjacency.get(source).add(target);
+                        edgeCount++;
+                    }
+                    if (!adjacency.get(target).contains(source)) {
+                        adjacency.get(target).add(source);
+                        edgeCount++;
+                    }
+                }
+            }
+        }
+
+        byte[][] encoded = new byte[count][];
+        int stringBytes = 0;
+        for (int i = 0; i < count; i++) {
+            encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[i].length;
+        }
+
+        output.getParentFile().mkdirs();
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(edgeCount);
+            out.writeInt(stringBytes);
+
+            int offset = 0;
+            for (int i = 0; i < count; i++) {
+                out.writeInt(offset);
+                offset += encoded[i].length;
+            }
+            out.writeInt(offset);
+            for (byte[] name : encoded) {
+                out.write(name);
+            }
+
+            for (int code : continents) {
+                out.writeByte(code);
+            }
+            // Keep the int sections 4-byte aligned
+            int padding = (4 - ((stringBytes + count) & 3)) & 3;
+            for (int i = 0; i < padding; i++) {
+                out.writeByte(0);
+            }
+
+            offset = 0;
+            for (List<Integer> neighbors : adjacency) {
+                out.writeInt(offset);
+                offset += neighbors.size();
+            }
+            out.writeInt(offset);
+            for (List<Integer> neighbors : adjacency) {
+                for (int target : neighbors) {
+                    out.writeInt(target);
+                }
+            }
+        }
+    }
+
+    private static int continentCode(String name) {
+        for (int i = 0; i < CONTINENTS.length; i++) {
+            if (CONTINENTS[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,95 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Random;
+
+/**
+ * Walker's alias table, built with Vose's method, for drawing indices in proportion to weights.
+ * Building takes O(n); every draw afterwards takes O(1): one uniform column pick and one
+ * biased coin flip between the column and its alias. Immutable once built.
+ */
+public final class AliasTable {
+    // Probability of keeping column i rather than taking its alias
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Builds the table.
+     * @param weights Non-negative weights, one per index. If they are all zero, every index is equally likely.
+     * @throws IllegalArgumentException If there are no weights or one is negative or not finite.
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("No weights");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight);
+            }
+            total += weight;
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+
+        // Scale so the average column holds exactly 1, then split columns into under- and overfull
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? weights[i] * n / total : 1;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Top up each underfull column from an overfull one, which becomes its alias
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int i = large[--largeCount];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+        while (smallCount > 0) {
+            int i = small[--smallCount];
+            probability[i] = 1;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * Draws an index with probability proportional to its weight.
+     * @param random Source of randomness.
+     * @return The drawn index.
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Gets the number of indices.
+     * @return The number of weights the table was built from.
+     */
+    public int size() {
+        return probability.length;
+    }
+}
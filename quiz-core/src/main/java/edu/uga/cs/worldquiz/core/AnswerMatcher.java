@@ -0,0 +1,87 @@
+package edu.uga.cs.worldquiz.core;
+
+/**
+ * Checks typed answers against questions.
+ * A typed answer is correct if it names the correct option, ignoring case, accents and
+ * punctuation. Text that names nothing exactly is taken as the closest name within a few
+ * typos, looked up in a BK-tree over the folded names, so "Phillipines" counts as the
+ * Philippines. Border questions accept any country that borders the one asked about, since
+ * the player does not see which neighbor the question picked. Immutable.
+ */
+public final class AnswerMatcher {
+    private final NameCompleter names;
+    private final NeighborGraph neighborGraph;
+
+    // Folded names by edit distance; values are positions in the completer
+    private final BkTree typos;
+
+    /**
+     * Creates a matcher.
+     * @param names The names typed answers are completed from.
+     * @param neighborGraph Land border graph whose ids border questions use, or null.
+     */
+    public AnswerMatcher(NameCompleter names, NeighborGraph neighborGraph) {
+        this.names = names;
+        this.neighborGraph = neighborGraph;
+        typos = new BkTree(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            typos.add(names.key(i), i);
+        }
+    }
+
+    /**
+     * Checks a typed answer.
+     * @param question The question.
+     * @param typed The text the player typed.
+     * @return true if the answer is correct.
+     */
+    public boolean isCorrect(Question question, String typed) {
+        String name = resolve(typed);
+        if (question.getType() == Question.TYPE_BORDER && neighborGraph != null) {
+            int id = name != null ? neighborGraph.idOf(name) : -1;
+            if (id >= 0) {
+                return neighborGraph.areNeighbors(question.getCountryId(), id);
+            }
+        }
+        String correct = question.getOptionLabel(question.getCorrectAnswerIndex());
+        return NameCompleter.fold(name != null ? name : typed).equals(NameCompleter.fold(correct));
+    }
+
+    /**
+     * Finds the name typed text stands for, allowing for typos.
+     * @param typed The text the player typed.
+     * @return The name exactly matching the text, else the one closest to it within
+     *         {@link #maxTypos(int)} edits, or null if there is none or two are equally close.
+     */
+    public String resolve(String typed) {
+        String name = names.find(typed);
+        if (name != null) {
+            return name;
+        }
+        String key = NameCompleter.fold(typed);
+        int index = typos.nearest(key, maxTypos(key.length()));
+        return index >= 0 ? names.name(index) : null;
+    }
+
+    /**
+     * Gets the number of typos forgiven in an answer. Answers under four letters get none,
+     * since one edit is a third of the word; two edits cover a doubled or swapped letter in a
+     * long name.
+     * @param length Length of the folded answer.
+     * @return The most edits allowed.
+     */
+    static int maxTypos(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Gets the names typed answers are completed from.
+     * @return The completer.
+     */
+    public NameCompleter getNames() {
+        return names;
+    }
+}
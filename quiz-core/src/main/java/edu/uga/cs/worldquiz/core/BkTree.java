@@ -0,0 +1,152 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Arrays;
+
+/**
+ * Burkhard-Keller tree over strings under Levenshtein distance, for finding the closest key
+ * within a few edits without measuring the distance to every key.
+ * Each child hangs off its parent by its distance to the parent; by the triangle inequality,
+ * a search for keys within r of a query at distance d from a node only needs the children
+ * whose edge lies in [d - r, d + r]. Nodes live in parallel arrays, children as sibling lists.
+ * Built once, then only read; searches are safe from any thread.
+ */
+public final class BkTree {
+    private String[] keys;
+    private int[] values;
+    private int[] edges;
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int size;
+
+    /**
+     * Creates an empty tree.
+     * @param capacity Number of keys to make room for; the tree grows beyond it as needed.
+     */
+    public BkTree(int capacity) {
+        int length = Math.max(capacity, 1);
+        keys = new String[length];
+        values = new int[length];
+        edges = new int[length];
+        firstChild = new int[length];
+        nextSibling = new int[length];
+    }
+
+    /**
+     * Adds a key. A key equal to one already in the tree is ignored.
+     * @param key The key, already normalized.
+     * @param value Returned by searches that find the key, e.g. its index in a name table.
+     */
+    public void add(String key, int value) {
+        if (size == keys.length) {
+            int length = size * 2;
+            keys = Arrays.copyOf(keys, length);
+            values = Arrays.copyOf(values, length);
+            edges = Arrays.copyOf(edges, length);
+            firstChild = Arrays.copyOf(firstChild, length);
+            nextSibling = Arrays.copyOf(nextSibling, length);
+        }
+        int added = size;
+        keys[added] = key;
+        values[added] = value;
+        firstChild[added] = -1;
+        nextSibling[added] = -1;
+        if (size++ == 0) {
+            return;
+        }
+
+        // Walk down the edges labeled with the distance to each node until one is missing
+        int node = 0;
+        while (true) {
+            int distance = distance(key, keys[node]);
+            if (distance == 0) {
+                size--;
+                return;
+            }
+            int child = firstChild[node];
+            while (child >= 0 && edges[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child < 0) {
+                edges[added] = distance;
+                nextSibling[added] = firstChild[node];
+                firstChild[node] = added;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Finds the key closest to a query.
+     * @param query The query, already normalized.
+     * @param maxDistance Most edits allowed.
+     * @return The value of the closest key, or -1 if no key is within maxDistance or two keys are equally close.
+     */
+    public int nearest(String query, int maxDistance) {
+        if (size == 0) {
+            return -1;
+        }
+        int best = -1;
+        int bestDistance = maxDistance + 1;
+        boolean tie = false;
+
+        int[] stack = new int[size];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int distance = distance(query, keys[node]);
+            if (distance < bestDistance) {
+                best = values[node];
+                bestDistance = distance;
+                tie = false;
+            } else if (distance == bestDistance) {
+                tie = true;
+            }
+
+            // Keep searching within the best distance so far, which also finds ties with it
+            int radius = Math.min(maxDistance, bestDistance);
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                if (edges[child] >= distance - radius && edges[child] <= distance + radius) {
+                    stack[top++] = child;
+                }
+            }
+        }
+        return tie ? -1 : best;
+    }
+
+    /**
+     * Gets the number of distinct keys.
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the Levenshtein distance: the fewest insertions, deletions and substitutions
+     * that turn one string into the other.
+     * @param a One string.
+     * @param b The other string.
+     * @return The edit distance.
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,123 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Precomputed tables for continent answer options, so a continent question can be built
+ * without allocating anything but the question itself.
+ * For every continent code there is a complement table holding all the other codes, distinct
+ * wrong answers are drawn from it without retries, and the numbered option labels
+ * ("1. Asia") and the option lists made from them are built once and shared.
+ */
+public final class ContinentOptions {
+    /**
+     * Number of options in a continent question.
+     */
+    public static final int OPTION_COUNT = 3;
+
+    // Codes of every continent except the one at the index
+    private static final int[][] COMPLEMENTS = new int[Continents.COUNT][Continents.COUNT - 1];
+
+    // Numbered labels indexed by [position][code]
+    private static final String[][] LABELS = new String[OPTION_COUNT][Continents.COUNT];
+
+    // Unmodifiable option lists for every ordered triple of distinct codes, see listIndex()
+    private static final List<String>[] OPTION_LISTS;
+
+    static {
+        for (int code = 0; code < Continents.COUNT; code++) {
+            int n = 0;
+            for (int other = 0; other < Continents.COUNT; other++) {
+                if (other != code) {
+                    COMPLEMENTS[code][n++] = other;
+                }
+            }
+        }
+
+        for (int position = 0; position < OPTION_COUNT; position++) {
+            for (int code = 0; code < Continents.COUNT; code++) {
+                LABELS[position][code] = ((position + 1) + ". " + Continents.nameOf(code)).intern();
+            }
+        }
+
+        OPTION_LISTS = createOptionLists();
+    }
+
+    // Private constructor to prevent instantiation
+    private ContinentOptions() {}
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<String>[] createOptionLists() {
+        List<String>[] lists = new List[Continents.COUNT * Continents.COUNT * Continents.COUNT];
+        for (int a = 0; a < Continents.COUNT; a++) {
+            for (int b = 0; b < Continents.COUNT; b++) {
+                for (int c = 0; c < Continents.COUNT; c++) {
+                    if (a != b && a != c && b != c) {
+                        lists[listIndex(a, b, c)] = Collections.unmodifiableList(Arrays.asList(
+                                LABELS[0][a], LABELS[1][b], LABELS[2][c]));
+                    }
+                }
+            }
+        }
+        return lists;
+    }
+
+    private static int listIndex(int a, int b, int c) {
+        return (a * Continents.COUNT + b) * Continents.COUNT + c;
+    }
+
+    /**
+     * Draws distinct continents other than the correct one, in random order.
+     * Each draw picks among the positions of the complement table that are still free,
+     * so no draw is ever rejected and retried.
+     * @param correctCode Code of the correct continent.
+     * @param k Number of wrong continents wanted, at most {@link Continents#COUNT} - 1.
+     * @param random Source of randomness.
+     * @param out Receives the codes of the wrong continents; must hold at least k entries.
+     */
+    public static void drawDistractors(int correctCode, int k, Random random, int[] out) {
+        int[] complement = COMPLEMENTS[correctCode];
+
+        // Pick k distinct positions, kept sorted so each draw can skip over the ones already taken
+        for (int drawn = 0; drawn < k; drawn++) {
+            int position = random.nextInt(complement.length - drawn);
+            int slot = 0;
+            while (slot < drawn && out[slot] <= position) {
+                position++;
+                slot++;
+            }
+            System.arraycopy(out, slot, out, slot + 1, drawn - slot);
+            out[slot] = position;
+        }
+
+        // Map positions to codes and undo the sorting
+        for (int i = k - 1; i >= 0; i--) {
+            int j = random.nextInt(i + 1);
+            int code = complement[out[j]];
+            out[j] = out[i];
+            out[i] = code;
+        }
+    }
+
+    /**
+     * Gets the shared option list for three distinct continents.
+     * @param codes Continent codes in option order; must hold {@link #OPTION_COUNT} distinct codes.
+     * @return Unmodifiable list of numbered labels.
+     */
+    public static List<String> getOptions(int[] codes) {
+        return OPTION_LISTS[listIndex(codes[0], codes[1], codes[2])];
+    }
+
+    /**
+     * Gets the numbered label of a continent option.
+     * @param position 0-based option position.
+     * @param code The continent code.
+     * @return The label, such as "1. Asia".
+     */
+    public static String getLabel(int position, int code) {
+        return LABELS[position][code];
+    }
+}
@@ -0,0 +1,44 @@
+package edu.uga.cs.worldquiz.core;
+
+/**
+ * Maps continent names to small integer codes so they can be stored in primitive arrays.
+ */
+public final class Continents {
+    /**
+     * Continent names indexed by their code.
+     */
+    public static final String[] NAMES = {
+            "Africa", "Antarctica", "Asia", "Oceania", "Europe", "North America", "South America"
+    };
+
+    /**
+     * Number of known continents.
+     */
+    public static final int COUNT = NAMES.length;
+
+    // Private constructor to prevent instantiation
+    private Continents() {}
+
+    /**
+     * Gets the code of a continent name.
+     * @param name The continent name.
+     * @return The continent code, or -1 if the name is unknown.
+     */
+    public static int codeOf(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the name of a continent code.
+     * @param code The continent code.
+     * @return The continent name.
+     */
+    public static String nameOf(int code) {
+        return NAMES[code];
+    }
+}
@@ -0,0 +1,170 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view over the binary country index generated at build time from the CSV assets
+ * (see CountryIndexCompiler in buildSrc). The index is memory-mapped and read in place,
+ * so nothing has to be parsed or imported before a quiz can be generated.
+ * Country ids are the 0-based row positions in country_continent.csv.
+ */
+public class CountryIndex {
+    public static final String ASSET_NAME = "country_index.bin";
+
+    private static final int MAGIC = 0x57514958;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+
+    private final ByteBuffer buffer;
+    private final int countryCount;
+    private final int namesStart;
+    private final int continentsStart;
+    private final IntBuffer nameOffsets;
+    private final IntBuffer neighborOffsets;
+    private final IntBuffer neighborTargets;
+
+    // Names are decoded from UTF-8 on first access only
+    private final String[] nameCache;
+
+    /**
+     * Wraps an index that is already in memory.
+     * @param buffer The index bytes, positioned at the start of the index.
+     */
+    public CountryIndex(ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+
+        if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " country index");
+        }
+
+        countryCount = this.buffer.getInt(8);
+        int edgeCount = this.buffer.getInt(12);
+        int stringBytes = this.buffer.getInt(16);
+
+        int nameOffsetsStart = HEADER_BYTES;
+        namesStart = nameOffsetsStart + 4 * (countryCount + 1);
+        continentsStart = namesStart + stringBytes;
+        int neighborOffsetsStart = (continentsStart + countryCount + 3) & ~3;
+        int neighborTargetsStart = neighborOffsetsStart + 4 * (countryCount + 1);
+
+        nameOffsets = intView(nameOffsetsStart, countryCount + 1);
+        neighborOffsets = intView(neighborOffsetsStart, countryCount + 1);
+        neighborTargets = intView(neighborTargetsStart, edgeCount);
+        nameCache = new String[countryCount];
+    }
+
+    /**
+     * Memory-maps an index stored in a file. The mapping stays valid after the channel is closed.
+     * @param channel Channel of the file holding the index.
+     * @param offset Position of the index in the file.
+     * @param length Length of the index in bytes.
+     * @return The country index.
+     * @throws IOException If the file cannot be mapped.
+     */
+    public static CountryIndex map(FileChannel channel, long offset, long length) throws IOException {
+        return new CountryIndex(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+    }
+
+    private IntBuffer intView(int start, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(start);
+        view.limit(start + 4 * length);
+        return view.slice().asIntBuffer();
+    }
+
+    /**
+     * Gets the number of countries.
+     * @return The number of countries.
+     */
+    public int getCountryCount() {
+        return countryCount;
+    }
+
+    /**
+     * Gets the name of a country.
+     * @param id The country id.
+     * @return The country name.
+     */
+    public String getName(int id) {
+        String name = nameCache[id];
+        if (name == null) {
+            int start = nameOffsets.get(id);
+            int length = nameOffsets.get(id + 1) - start;
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(namesStart + start);
+            view.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            nameCache[id] = name;
+        }
+        return name;
+    }
+
+    /**
+     * Gets the continent code of a country.
+     * @param id The country id.
+     * @return The continent code, see {@link Continents}, or -1 if unknown.
+     */
+    public int getContinentCode(int id) {
+        return buffer.get(continentsStart + id);
+    }
+
+    /**
+     * Gets the number of countries bordering a country.
+     * @param id The country id.
+     * @return The number of neighbors.
+     */
+    public int getNeighborCount(int id) {
+        return neighborOffsets.get(id + 1) - neighborOffsets.get(id);
+    }
+
+    /**
+     * Gets one neighbor of a country.
+     * @param id The country id.
+     * @param i Position in the neighbor list, from 0 to {@link #getNeighborCount(int)} - 1.
+     * @return The id of the neighboring country.
+     */
+    public int getNeighbor(int id, int i) {
+        return neighborTargets.get(neighborOffsets.get(id) + i);
+    }
+
+    /**
+     * Computes a CRC32 checksum of the whole index, used to key data derived from it.
+     * @return The checksum.
+     */
+    public long getContentHash() {
+        CRC32 crc = new CRC32();
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        byte[] chunk = new byte[8192];
+        while (view.hasRemaining()) {
+            int length = Math.min(chunk.length, view.remaining());
+            view.get(chunk, 0, length);
+            crc.update(chunk, 0, length);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Copies the neighbor adjacency into a {@link NeighborGraph} that uses the same country ids.
+     * @return The neighbor graph.
+     */
+    public NeighborGraph toNeighborGraph() {
+        String[] names = new String[countryCount];
+        int[] offsets = new int[countryCount + 1];
+        int[] targets = new int[neighborTargets.capacity()];
+
+        for (int i = 0; i < countryCount; i++) {
+            names[i] = getName(i);
+        }
+        neighborOffsets.duplicate().get(offsets);
+        neighborTargets.duplicate().get(targets);
+
+        return new NeighborGraph(names, offsets, targets);
+    }
+}
@@ -0,0 +1,13 @@
+package edu.uga.cs.worldquiz.core;
+
+/**
+ * Looks up country names by id, so questions can store ids and render names only when shown.
+ */
+public interface CountryNames {
+    /**
+     * Gets the name of a country.
+     * @param id The country id, in the id space of this lookup.
+     * @return The country name.
+     */
+    String getCountryName(int id);
+}
@@ -0,0 +1,117 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * In-memory sampler over the countries.
+ * Country ids, names and continent codes are loaded once into parallel arrays,
+ * and k distinct countries are drawn with a partial Fisher-Yates shuffle in O(k)
+ * instead of sorting the whole table with ORDER BY RANDOM().
+ */
+public class CountrySampler implements CountryNames {
+    private final int[] ids;
+    private final String[] names;
+    private final byte[] continentCodes;
+
+    // Permutation of row indices, partially reshuffled on every draw
+    private final int[] order;
+    private final Random random;
+
+    /**
+     * Creates a sampler over already loaded country data.
+     * @param ids Country row ids.
+     * @param names Country names.
+     * @param continentCodes Continent codes, see {@link Continents}.
+     * @param random Source of randomness.
+     */
+    public CountrySampler(int[] ids, String[] names, byte[] continentCodes, Random random) {
+        this.ids = ids;
+        this.names = names;
+        this.continentCodes = continentCodes;
+        this.random = random;
+
+        order = new int[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Draws distinct random rows.
+     * @param k Number of rows wanted.
+     * @param out Receives the drawn row indices; must hold at least k entries.
+     * @return The number of rows drawn, which is less than k if the table is smaller.
+     */
+    public synchronized int sample(int k, int[] out) {
+        int n = order.length;
+        int drawn = Math.min(k, n);
+
+        // Partial Fisher-Yates: only the first k slots are shuffled
+        for (int i = 0; i < drawn; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+            out[i] = order[i];
+        }
+        return drawn;
+    }
+
+    /**
+     * Draws distinct random countries and maps each to the name of its continent.
+     * @param k Number of countries wanted.
+     * @return Country names mapped to their continents, with fewer than k entries if there are fewer countries.
+     */
+    public Map<String, String> sampleCountryContinentPairs(int k) {
+        int[] rows = new int[k];
+        int drawn = sample(k, rows);
+
+        Map<String, String> pairs = new HashMap<>();
+        for (int i = 0; i < drawn; i++) {
+            pairs.put(names[rows[i]], Continents.nameOf(continentCodes[rows[i]]));
+        }
+        return pairs;
+    }
+
+    /**
+     * Gets the number of countries.
+     * @return The number of countries.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the database id of a row.
+     * @param row The row index.
+     * @return The country id.
+     */
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Gets the country name of a row.
+     * @param row The row index.
+     * @return The country name.
+     */
+    public String getName(int row) {
+        return names[row];
+    }
+
+    /**
+     * Gets the continent code of a row.
+     * @param row The row index.
+     * @return The continent code, or -1 if the continent is unknown.
+     */
+    public int getContinentCode(int row) {
+        return continentCodes[row];
+    }
+
+    @Override
+    public String getCountryName(int row) {
+        return names[row];
+    }
+}
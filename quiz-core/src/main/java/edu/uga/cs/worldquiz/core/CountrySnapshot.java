@@ -0,0 +1,150 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Immutable copy of the country data: row ids, names and continent codes in parallel arrays.
+ * Nothing changes after construction, so a snapshot can be shared and read from any thread
+ * without locking once it has been safely published, e.g. through a volatile field.
+ */
+public final class CountrySnapshot implements CountryNames {
+    private final int[] ids;
+    private final String[] names;
+    private final byte[] continentCodes;
+
+    // Row of each country name, built once and only read afterwards
+    private final Map<String, Integer> rowsByName;
+
+    /**
+     * Creates a snapshot over loaded country data.
+     * The arrays are taken over, not copied, and must not be changed by the caller afterwards.
+     * @param ids Country row ids.
+     * @param names Country names.
+     * @param continentCodes Continent codes, see {@link Continents}.
+     */
+    public CountrySnapshot(int[] ids, String[] names, byte[] continentCodes) {
+        if (names.length != ids.length || continentCodes.length != ids.length) {
+            throw new IllegalArgumentException("Arrays differ in length: " + ids.length + ", " +
+                    names.length + ", " + continentCodes.length);
+        }
+        this.ids = ids;
+        this.names = names;
+        this.continentCodes = continentCodes;
+
+        rowsByName = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            rowsByName.put(names[i], i);
+        }
+    }
+
+    /**
+     * Builds a snapshot from the prebuilt binary index without touching the database.
+     * Row ids are the index ids plus one, matching the row ids of a first import into an empty table.
+     * @param index The country index.
+     * @return A snapshot of every country in the index.
+     */
+    public static CountrySnapshot fromIndex(CountryIndex index) {
+        int count = index.getCountryCount();
+        int[] ids = new int[count];
+        String[] names = new String[count];
+        byte[] continentCodes = new byte[count];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+            names[i] = index.getName(i);
+            continentCodes[i] = (byte) index.getContinentCode(i);
+        }
+
+        return new CountrySnapshot(ids, names, continentCodes);
+    }
+
+    /**
+     * Creates a sampler over this snapshot. The sampler shares the snapshot's arrays and only
+     * allocates its own shuffle order.
+     * @param random Source of randomness.
+     * @return A new sampler.
+     */
+    public CountrySampler newSampler(Random random) {
+        return new CountrySampler(ids, names, continentCodes, random);
+    }
+
+    /**
+     * Creates a sampler that draws countries in proportion to weights.
+     * @param weights Alias table with one weight per row of this snapshot.
+     * @param random Source of randomness.
+     * @return A new weighted sampler.
+     */
+    public CountrySampler newWeightedSampler(AliasTable weights, Random random) {
+        return new WeightedCountrySampler(ids, names, continentCodes, weights, random);
+    }
+
+    /**
+     * Creates a sampler over some of the countries only, e.g. the ones due for review.
+     * @param rows Rows of this snapshot to include.
+     * @param random Source of randomness.
+     * @return A new sampler whose rows follow the order of the given rows.
+     */
+    public CountrySampler newSubsetSampler(int[] rows, Random random) {
+        int[] subsetIds = new int[rows.length];
+        String[] subsetNames = new String[rows.length];
+        byte[] subsetContinentCodes = new byte[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            subsetIds[i] = ids[rows[i]];
+            subsetNames[i] = names[rows[i]];
+            subsetContinentCodes[i] = continentCodes[rows[i]];
+        }
+        return new CountrySampler(subsetIds, subsetNames, subsetContinentCodes, random);
+    }
+
+    /**
+     * Gets the number of countries.
+     * @return The number of countries.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Gets the database id of a row.
+     * @param row The row index.
+     * @return The country id.
+     */
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Gets the country name of a row.
+     * @param row The row index.
+     * @return The country name.
+     */
+    public String getName(int row) {
+        return names[row];
+    }
+
+    /**
+     * Gets the continent code of a row.
+     * @param row The row index.
+     * @return The continent code, or -1 if the continent is unknown.
+     */
+    public int getContinentCode(int row) {
+        return continentCodes[row];
+    }
+
+    /**
+     * Finds the row of a country.
+     * @param name The country name, exactly as stored.
+     * @return The row index, or -1 if there is no such country.
+     */
+    public int indexOf(String name) {
+        Integer row = rowsByName.get(name);
+        return row != null ? row : -1;
+    }
+
+    @Override
+    public String getCountryName(int row) {
+        return names[row];
+    }
+}
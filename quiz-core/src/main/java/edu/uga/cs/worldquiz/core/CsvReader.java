@@ -0,0 +1,183 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming CSV reader that tokenizes records in place.
+ * Input is read through a fixed char buffer and each record's fields are copied into a
+ * reusable char array, so reading a record allocates nothing; a String is only created
+ * when a caller asks for one with {@link #getField(int)}.
+ * Supports quoted fields with doubled quotes, CRLF line endings and empty trailing fields.
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Unescaped characters of the current record, and where each field starts and ends in it
+    private char[] record = new char[256];
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int fieldCount;
+
+    /**
+     * Creates a reader over a character stream.
+     * @param in The CSV input.
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Advances to the next record.
+     * @return true if a record was read, false at end of input.
+     * @throws IOException If the input cannot be read.
+     */
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        int length = 0;
+        int fieldStart = 0;
+        boolean quoted = false;
+        boolean sawAny = false;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!sawAny) {
+                    return false;
+                }
+                endField(fieldStart, length);
+                return true;
+            }
+
+            char c = buffer[position++];
+            sawAny = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    if (position == limit && !fill()) {
+                        quoted = false;
+                        continue;
+                    }
+                    if (buffer[position] == '"') {
+                        // Doubled quote inside a quoted field
+                        position++;
+                        length = append(length, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    length = append(length, c);
+                }
+            } else if (c == ',') {
+                endField(fieldStart, length);
+                fieldStart = length;
+            } else if (c == '\n') {
+                endField(fieldStart, length);
+                return true;
+            } else if (c == '\r') {
+                if ((position < limit || fill()) && buffer[position] == '\n') {
+                    position++;
+                }
+                endField(fieldStart, length);
+                return true;
+            } else if (c == '"' && length == fieldStart) {
+                quoted = true;
+            } else {
+                length = append(length, c);
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private int append(int length, char c) {
+        if (length == record.length) {
+            char[] grown = new char[record.length * 2];
+            System.arraycopy(record, 0, grown, 0, length);
+            record = grown;
+        }
+        record[length] = c;
+        return length + 1;
+    }
+
+    private void endField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            int[] grownStarts = new int[fieldCount * 2];
+            int[] grownEnds = new int[fieldCount * 2];
+            System.arraycopy(fieldStarts, 0, grownStarts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, grownEnds, 0, fieldCount);
+            fieldStarts = grownStarts;
+            fieldEnds = grownEnds;
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    /**
+     * Gets the number of fields in the current record, including empty ones.
+     * @return The number of fields.
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Checks whether a field of the current record is empty after trimming.
+     * @param field The field index.
+     * @return true if the field is missing or blank.
+     */
+    public boolean isFieldEmpty(int field) {
+        if (field >= fieldCount) {
+            return true;
+        }
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            if (record[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a field of the current record with surrounding whitespace removed.
+     * @param field The field index.
+     * @return The field value, or an empty string if the record has no such field.
+     */
+    public String getField(int field) {
+        if (field >= fieldCount) {
+            return "";
+        }
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        while (start < end && record[start] <= ' ') {
+            start++;
+        }
+        while (end > start && record[end - 1] <= ' ') {
+            end--;
+        }
+        return new String(record, start, end - start);
+    }
+
+    /**
+     * Closes the underlying reader.
+     * @throws IOException If the reader cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
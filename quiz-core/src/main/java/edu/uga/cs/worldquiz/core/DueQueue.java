@@ -0,0 +1,135 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of rows keyed by due time, for taking the next reviews in due order.
+ * Due times and rows sit in parallel primitive arrays, so a queue over tens of thousands of
+ * items costs twelve bytes each and no boxing. Offering and polling take O(log n).
+ * Ties are broken by row so the order does not depend on insertion order.
+ * Not thread-safe.
+ */
+public final class DueQueue {
+    private long[] dueTimes;
+    private int[] rows;
+    private int size;
+
+    /**
+     * Creates an empty queue.
+     * @param capacity Number of items to make room for; the queue grows beyond it as needed.
+     */
+    public DueQueue(int capacity) {
+        dueTimes = new long[Math.max(capacity, 1)];
+        rows = new int[dueTimes.length];
+    }
+
+    /**
+     * Adds a row.
+     * @param dueAt When the row is due, in epoch milliseconds.
+     * @param row The row.
+     */
+    public void offer(long dueAt, int row) {
+        if (size == dueTimes.length) {
+            dueTimes = Arrays.copyOf(dueTimes, size * 2);
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        // Sift up: move parents down until the new item fits
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(dueAt, row, dueTimes[parent], rows[parent])) {
+                break;
+            }
+            dueTimes[i] = dueTimes[parent];
+            rows[i] = rows[parent];
+            i = parent;
+        }
+        dueTimes[i] = dueAt;
+        rows[i] = row;
+    }
+
+    /**
+     * Gets the due time of the first row.
+     * @return The earliest due time in the queue.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public long peekDue() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return dueTimes[0];
+    }
+
+    /**
+     * Gets the first row without removing it.
+     * @return The row that is due first.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public int peekRow() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return rows[0];
+    }
+
+    /**
+     * Removes the first row.
+     * @return The row that was due first.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int first = rows[0];
+        size--;
+        if (size > 0) {
+            siftDown(dueTimes[size], rows[size]);
+        }
+        return first;
+    }
+
+    /**
+     * Gets the number of rows in the queue.
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the queue is empty.
+     * @return true if there are no rows.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Places an item at the root and moves it down to where it belongs.
+     */
+    private void siftDown(long dueAt, int row) {
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && before(dueTimes[right], rows[right], dueTimes[child], rows[child])) {
+                child = right;
+            }
+            if (!before(dueTimes[child], rows[child], dueAt, row)) {
+                break;
+            }
+            dueTimes[i] = dueTimes[child];
+            rows[i] = rows[child];
+            i = child;
+        }
+        dueTimes[i] = dueAt;
+        rows[i] = row;
+    }
+
+    private static boolean before(long dueAt, int row, long otherDueAt, int otherRow) {
+        return dueAt < otherDueAt || (dueAt == otherDueAt && row < otherRow);
+    }
+}
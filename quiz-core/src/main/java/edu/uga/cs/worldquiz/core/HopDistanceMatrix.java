@@ -0,0 +1,120 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * All-pairs table of how many land borders must be crossed between two countries.
+ * Distances are stored row-major in a single byte array, so a lookup is one array read.
+ */
+public class HopDistanceMatrix {
+    /**
+     * Distance reported for countries that cannot be reached by land.
+     */
+    public static final int UNREACHABLE = -1;
+
+    private final int size;
+    private final byte[] hops;
+
+    private HopDistanceMatrix(int size, byte[] hops) {
+        this.size = size;
+        this.hops = hops;
+    }
+
+    /**
+     * Builds the matrix by running a BFS from every country, spread over the available cores.
+     * @param graph The neighbor graph.
+     * @return The distance matrix, using the graph's country ids.
+     */
+    public static HopDistanceMatrix build(NeighborGraph graph) {
+        int n = graph.size();
+        byte[] hops = new byte[n * n];
+        int threads = Math.max(1, Math.min(n, Runtime.getRuntime().availableProcessors()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                final int first = t;
+                final int step = threads;
+                tasks.add(executor.submit(() -> {
+                    int[] distances = new int[n];
+                    int[] queue = new int[n];
+                    for (int source = first; source < n; source += step) {
+                        graph.hopDistances(source, distances, queue);
+                        int row = source * n;
+                        for (int target = 0; target < n; target++) {
+                            // Hop counts never get near 127 on real maps, -1 marks unreachable
+                            hops[row + target] = (byte) Math.min(distances[target], Byte.MAX_VALUE);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building hop distances", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error building hop distances", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        return new HopDistanceMatrix(n, hops);
+    }
+
+    /**
+     * Reads a matrix previously saved with {@link #write(OutputStream)}.
+     * @param in The input stream.
+     * @return The distance matrix.
+     * @throws IOException If the stream cannot be read or is truncated.
+     */
+    public static HopDistanceMatrix read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int size = data.readInt();
+        byte[] hops = new byte[size * size];
+        data.readFully(hops);
+        return new HopDistanceMatrix(size, hops);
+    }
+
+    /**
+     * Saves the matrix.
+     * @param out The output stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(size);
+        data.write(hops);
+        data.flush();
+    }
+
+    /**
+     * Gets the number of countries.
+     * @return The number of countries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of borders crossed between two countries.
+     * @param from The starting country id.
+     * @param to The destination country id.
+     * @return The hop count, or {@link #UNREACHABLE}.
+     */
+    public int getHops(int from, int to) {
+        return hops[from * size + to];
+    }
+}
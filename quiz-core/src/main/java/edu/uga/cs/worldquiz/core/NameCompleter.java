@@ -0,0 +1,178 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Prefix completion over a fixed set of names, for typed answers.
+ * The folded names (see {@link NameNormalizer}) are sorted once and packed end to end into one
+ * char array, with an offset table marking where each name starts. A lookup binary searches the arena for
+ * the first name at or after the prefix and reads forward while names still start with it, so
+ * it costs O(log n) comparisons plus the suggestions returned, and allocates only the folded prefix.
+ * Immutable once built, so it can be shared between threads.
+ */
+public final class NameCompleter {
+    // Folded names in sorted order, packed end to end
+    private final char[] arena;
+
+    // Start of each folded name in the arena, plus the end of the last one
+    private final int[] offsets;
+
+    // Names as given, in the same order as the folded ones
+    private final String[] names;
+
+    /**
+     * Builds the completer. Names that fold to the same text are only kept once.
+     * @param input The names to complete, e.g. every country and continent.
+     */
+    public NameCompleter(String[] input) {
+        final String[] folded = new String[input.length];
+        Integer[] order = new Integer[input.length];
+        for (int i = 0; i < input.length; i++) {
+            folded[i] = fold(input[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return folded[a].compareTo(folded[b]);
+            }
+        });
+
+        int count = 0;
+        int length = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || !folded[order[i]].equals(folded[order[i - 1]])) {
+                count++;
+                length += folded[order[i]].length();
+            }
+        }
+
+        arena = new char[length];
+        offsets = new int[count + 1];
+        names = new String[count];
+        int name = 0;
+        int end = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && folded[order[i]].equals(folded[order[i - 1]])) {
+                continue;
+            }
+            String key = folded[order[i]];
+            key.getChars(0, key.length(), arena, end);
+            offsets[name] = end;
+            names[name] = input[order[i]];
+            end += key.length();
+            offsets[++name] = end;
+        }
+    }
+
+    /**
+     * Folds a name or typed text for comparison, ignoring case, accents and punctuation.
+     * @param text The text.
+     * @return The folded text.
+     */
+    public static String fold(String text) {
+        return NameNormalizer.normalize(text);
+    }
+
+    /**
+     * Finds the names starting with typed text, in alphabetical order.
+     * @param prefix The typed text; case, accents and punctuation are ignored.
+     * @param out Receives the suggestions; its length is the most returned.
+     * @return The number of suggestions. An empty prefix gets none.
+     */
+    public int complete(String prefix, String[] out) {
+        String key = fold(prefix);
+        if (key.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = lowerBound(key); i < names.length && count < out.length && startsWith(i, key); i++) {
+            out[count++] = names[i];
+        }
+        return count;
+    }
+
+    /**
+     * Finds the name typed text stands for.
+     * @param text The typed text; case, accents and punctuation are ignored.
+     * @return The name as given when building, or null if no name matches exactly.
+     */
+    public String find(String text) {
+        String key = fold(text);
+        int i = lowerBound(key);
+        if (i < names.length && startsWith(i, key) && offsets[i + 1] - offsets[i] == key.length()) {
+            return names[i];
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of distinct names.
+     * @return The number of names.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets a name by its position in alphabetical order of the folded names.
+     */
+    String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets a folded name by its position in alphabetical order.
+     */
+    String key(int index) {
+        return new String(arena, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    /**
+     * Finds the first name that is not less than a key.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares a name in the arena with a key, like {@link String#compareTo(String)}.
+     */
+    private int compare(int name, String key) {
+        int start = offsets[name];
+        int length = offsets[name + 1] - start;
+        int shared = Math.min(length, key.length());
+        for (int i = 0; i < shared; i++) {
+            char c = arena[start + i];
+            char k = key.charAt(i);
+            if (c != k) {
+                return c - k;
+            }
+        }
+        return length - key.length();
+    }
+
+    private boolean startsWith(int name, String key) {
+        int start = offsets[name];
+        if (offsets[name + 1] - start < key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (arena[start + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
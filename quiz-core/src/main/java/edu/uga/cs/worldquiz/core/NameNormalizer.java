@@ -0,0 +1,48 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.text.Normalizer;
+
+/**
+ * Reduces names and typed answers to a canonical form for comparison: lower case, no accents,
+ * apostrophes and periods dropped, and every other run of spaces and punctuation turned into a
+ * single space. "C&ocirc;te d'Ivoire" and "cote divoire" both become "cote divoire", and
+ * "Guinea-Bissau" matches "guinea bissau".
+ */
+public final class NameNormalizer {
+    // Private constructor to prevent instantiation
+    private NameNormalizer() {}
+
+    /**
+     * Normalizes a name or typed text.
+     * @param text The text.
+     * @return The normalized text, without leading or trailing spaces.
+     */
+    public static String normalize(String text) {
+        // Decomposing splits accented letters into the letter and its combining marks
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(Character.toLowerCase(c));
+            } else if (Character.getType(c) == Character.NON_SPACING_MARK || isElided(c)) {
+                continue;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Checks for characters that are dropped without leaving a space, as in "d'Ivoire" or "St. Lucia".
+     */
+    private static boolean isElided(char c) {
+        return c == '\'' || c == '\u2019' || c == '`' || c == '.';
+    }
+}
@@ -0,0 +1,216 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Land border graph between countries.
+ * Country names are interned to int ids and adjacency is stored in compressed sparse row
+ * form: the neighbors of country {@code id} are {@code targets[offsets[id]]} up to
+ * {@code targets[offsets[id + 1] - 1]}.
+ */
+public class NeighborGraph implements CountryNames {
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+
+    /**
+     * Creates a graph from already built CSR arrays.
+     * @param names Country names indexed by id.
+     * @param offsets names.length + 1 offsets into targets.
+     * @param targets Neighbor ids.
+     */
+    public NeighborGraph(String[] names, int[] offsets, int[] targets) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+
+        ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+    }
+
+    /**
+     * Reads a graph from country_neighbors.csv records of the form country,neighbor,neighbor,...
+     * Every country named anywhere in the file gets an id. A border is shared, so each listed
+     * pair is added in both directions, even if only one of the two countries lists the other.
+     * @param in CSV input
+     * @return The neighbor graph.
+     * @throws IOException If the input cannot be read.
+     */
+    public static NeighborGraph read(Reader in) throws IOException {
+        CsvReader csv = new CsvReader(in);
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+
+        // Edges as (source, target) pairs, grouped into CSR form below
+        int[] edges = new int[1024];
+        int edgeCount = 0;
+
+        while (csv.nextRecord()) {
+            if (csv.isFieldEmpty(0)) {
+                continue;
+            }
+            int source = intern(csv.getField(0), ids, names);
+            for (int i = 1; i < csv.getFieldCount(); i++) {
+                if (csv.isFieldEmpty(i)) {
+                    continue;
+                }
+                int target = intern(csv.getField(i), ids, names);
+                if (target == source) {
+                    continue;
+                }
+                if (2 * edgeCount + 4 > edges.length) {
+                    edges = Arrays.copyOf(edges, edges.length * 2);
+                }
+                edges[2 * edgeCount] = source;
+                edges[2 * edgeCount + 1] = target;
+                edges[2 * edgeCount + 2] = target;
+                edges[2 * edgeCount + 3] = source;
+                edgeCount += 2;
+            }
+        }
+
+        int count = names.size();
+        int[] offsets = new int[count + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edges[2 * e] + 1]++;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] targets = new int[edgeCount];
+        int[] next = Arrays.copyOf(offsets, count);
+        for (int e = 0; e < edgeCount; e++) {
+            targets[next[edges[2 * e]]++] = edges[2 * e + 1];
+        }
+
+        // Pairs listed by both countries now appear twice; sort each row and compact out the repeats
+        int kept = 0;
+        int start = 0;
+        for (int id = 0; id < count; id++) {
+            int end = offsets[id + 1];
+            Arrays.sort(targets, start, end);
+            offsets[id] = kept;
+            for (int i = start; i < end; i++) {
+                if (i == start || targets[i] != targets[i - 1]) {
+                    targets[kept++] = targets[i];
+                }
+            }
+            start = end;
+        }
+        offsets[count] = kept;
+
+        return new NeighborGraph(names.toArray(new String[0]), offsets, Arrays.copyOf(targets, kept));
+    }
+
+    private static int intern(String name, Map<String, Integer> ids, List<String> names) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the number of countries in the graph.
+     * @return The number of countries.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the id of a country.
+     * @param name The country name.
+     * @return The country id, or -1 if the country is not in the graph.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the name of a country.
+     * @param id The country id.
+     * @return The country name.
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gets the number of countries bordering a country.
+     * @param id The country id.
+     * @return The number of neighbors.
+     */
+    public int getDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets one neighbor of a country.
+     * @param id The country id.
+     * @param i Position in the neighbor list, from 0 to {@link #getDegree(int)} - 1.
+     * @return The id of the neighboring country.
+     */
+    public int getNeighbor(int id, int i) {
+        return targets[offsets[id] + i];
+    }
+
+    /**
+     * Checks whether two countries share a border. Runs in O(degree).
+     * @param a A country id.
+     * @param b Another country id.
+     * @return true if the countries are neighbors; borders are symmetric, so the order does not matter.
+     */
+    public boolean areNeighbors(int a, int b) {
+        for (int i = offsets[a]; i < offsets[a + 1]; i++) {
+            if (targets[i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the number of borders crossed from a country to every other country.
+     * @param source The starting country id.
+     * @param distances Receives the hop count per country, or -1 if unreachable; length at least {@link #size()}.
+     * @param queue Scratch space of length at least {@link #size()}.
+     */
+    public void hopDistances(int source, int[] distances, int[] queue) {
+        Arrays.fill(distances, 0, names.length, -1);
+        distances[source] = 0;
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int next = distances[current] + 1;
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int neighbor = targets[i];
+                if (distances[neighbor] == -1) {
+                    distances[neighbor] = next;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getCountryName(int id) {
+        return names[id];
+    }
+}
@@ -0,0 +1,170 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quiz questions.
+ * A question only stores ids and codes: its type, the country it is about, the option codes
+ * and the index of the correct one. The question text and option labels are rendered from
+ * the shared country name lookup each time they are asked for, which happens when the
+ * question is shown, so prepared and prefetched quizzes hold no strings of their own.
+ */
+public class Question {
+    /**
+     * Which continent is the country located in. Options are continent codes.
+     */
+    public static final byte TYPE_CONTINENT = 0;
+
+    /**
+     * Which country borders the country. Options are country ids.
+     */
+    public static final byte TYPE_BORDER = 1;
+
+    /**
+     * How many borders must be crossed to get from the country to a target country. Options are hop counts.
+     */
+    public static final byte TYPE_HOP_COUNT = 2;
+
+    /**
+     * Which country is closest to the country by land. Options are country ids.
+     */
+    public static final byte TYPE_CLOSEST = 3;
+
+    private final CountryNames names;
+    private final int countryId;
+    private final int targetId;
+    private final byte type;
+    private final byte correctAnswerIndex;
+    private final int[] optionCodes;
+
+    /**
+     * Creates a new question object.
+     * @param type The question type, one of the TYPE_ constants.
+     * @param names Lookup for the country ids used by the question.
+     * @param countryId Id of the country the question is about.
+     * @param targetId Id of the destination country of a hop count question, otherwise ignored.
+     * @param optionCodes Option codes whose meaning depends on the type. Kept, not copied.
+     * @param correctAnswerIndex Index of the correct answer.
+     */
+    public Question(byte type, CountryNames names, int countryId, int targetId, int[] optionCodes,
+                    int correctAnswerIndex) {
+        this.type = type;
+        this.names = names;
+        this.countryId = countryId;
+        this.targetId = targetId;
+        this.optionCodes = optionCodes;
+        this.correctAnswerIndex = (byte) correctAnswerIndex;
+    }
+
+    /**
+     * Gets the question type.
+     * @return One of the TYPE_ constants.
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * Gets the id of the country the question is about.
+     * @return The country id.
+     */
+    public int getCountryId() {
+        return countryId;
+    }
+
+    /**
+     * Gets the id of the destination country of a hop count question.
+     * @return The target country id, or -1 for other question types.
+     */
+    public int getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * Gets the name of the country the question is about.
+     * @return The country name.
+     */
+    public String getCountryName() {
+        return names.getCountryName(countryId);
+    }
+
+    /**
+     * Gets the number of answer choices.
+     * @return The number of options.
+     */
+    public int getOptionCount() {
+        return optionCodes.length;
+    }
+
+    /**
+     * Gets the code of an answer choice: a continent code, a country id or a hop count, depending on the type.
+     * @param option The option index.
+     * @return The option code.
+     */
+    public int getOptionCode(int option) {
+        return optionCodes[option];
+    }
+
+    /**
+     * Renders one answer choice without its number: a continent, a country or a hop count.
+     * @param option The option index.
+     * @return The option label.
+     */
+    public String getOptionLabel(int option) {
+        switch (type) {
+            case TYPE_CONTINENT:
+                return Continents.nameOf(optionCodes[option]);
+            case TYPE_HOP_COUNT:
+                return String.valueOf(optionCodes[option]);
+            default:
+                return names.getCountryName(optionCodes[option]);
+        }
+    }
+
+    /**
+     * Renders the question text.
+     * @return The question text.
+     */
+    public String getQuestionText() {
+        String country = names.getCountryName(countryId);
+        switch (type) {
+            case TYPE_BORDER:
+                return "Which country borders " + country + "?";
+            case TYPE_HOP_COUNT:
+                return "How many borders must you cross to get from " + country +
+                        " to " + names.getCountryName(targetId) + "?";
+            case TYPE_CLOSEST:
+                return "Which of these is closest to " + country + " by land?";
+            default:
+                return "In which continent is " + country + " located?";
+        }
+    }
+
+    /**
+     * Renders the numbered list of answer choices.
+     * @return The list of answer choices.
+     */
+    public List<String> getOptions() {
+        if (type == TYPE_CONTINENT) {
+            return ContinentOptions.getOptions(optionCodes);
+        }
+
+        List<String> options = new ArrayList<>(optionCodes.length);
+        for (int i = 0; i < optionCodes.length; i++) {
+            String label = type == TYPE_HOP_COUNT
+                    ? String.valueOf(optionCodes[i])
+                    : names.getCountryName(optionCodes[i]);
+            options.add((i + 1) + ". " + label);
+        }
+        return options;
+    }
+
+    /**
+     * Gets the index of the correct answer.
+     * @return The index of the correct answer.
+     */
+    public int getCorrectAnswerIndex() {
+        return correctAnswerIndex;
+    }
+}
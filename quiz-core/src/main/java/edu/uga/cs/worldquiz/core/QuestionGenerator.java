@@ -0,0 +1,246 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates quiz questions from sampled countries.
+ * Questions only hold ids and codes; see {@link Question} for how their text is rendered.
+ * Every country gets a continent question, except that countries with land borders may get
+ * a border, border crossing or closest country question instead when the neighbor data is available.
+ * Instances are not thread-safe; use one per thread or per quiz.
+ */
+public class QuestionGenerator {
+    /**
+     * Maximum number of random draws when looking for a suitable distance question.
+     */
+    private static final int MAX_PICK_ATTEMPTS = 50;
+
+    // Land border graph, or null if only continent questions should be asked
+    private final NeighborGraph neighborGraph;
+
+    // Border crossing counts for the neighbor graph, or null if no distance questions should be asked
+    private final HopDistanceMatrix hopDistances;
+
+    private final Random random;
+
+    /**
+     * Creates a generator.
+     * @param neighborGraph Land border graph, or null to ask continent questions only.
+     * @param hopDistances Border crossing counts for the graph, or null to skip distance questions.
+     * @param random Source of randomness.
+     */
+    public QuestionGenerator(NeighborGraph neighborGraph, HopDistanceMatrix hopDistances, Random random) {
+        this.neighborGraph = neighborGraph;
+        this.hopDistances = neighborGraph != null ? hopDistances : null;
+        this.random = random;
+    }
+
+    /**
+     * Gets the land border graph whose ids the border and distance questions use.
+     * @return The neighbor graph, or null if only continent questions are asked.
+     */
+    NeighborGraph getNeighborGraph() {
+        return neighborGraph;
+    }
+
+    /**
+     * Draws random countries and creates one question for each.
+     * @param sampler The countries to draw from.
+     * @param count Number of questions wanted.
+     * @return The questions; fewer than count if there are fewer usable countries.
+     */
+    public List<Question> createQuestions(CountrySampler sampler, int count) {
+        int[] rows = new int[count];
+        int drawn = sampler.sample(count, rows);
+
+        List<Question> questions = new ArrayList<>(drawn);
+        for (int i = 0; i < drawn; i++) {
+            Question question = createQuestion(sampler, rows[i]);
+            if (question != null) {
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+
+    /**
+     * Creates a question about one country.
+     * Countries with land borders may get a border or distance question, otherwise
+     * the question asks which continent the country is located in.
+     * @param sampler The countries.
+     * @param row Row of the country in the sampler.
+     * @return The question, or null if the country's continent is unknown.
+     */
+    public Question createQuestion(CountrySampler sampler, int row) {
+        // Countries with land borders may get a border or distance question instead
+        int countryId = neighborGraph != null ? neighborGraph.idOf(sampler.getName(row)) : -1;
+        if (countryId >= 0 && neighborGraph.getDegree(countryId) > 0) {
+            Question landQuestion = null;
+            switch (random.nextInt(4)) {
+                case 1:
+                    landQuestion = createBorderQuestion(countryId);
+                    break;
+                case 2:
+                    landQuestion = createHopCountQuestion(countryId);
+                    break;
+                case 3:
+                    landQuestion = createClosestQuestion(countryId);
+                    break;
+                default:
+                    break; // continent question
+            }
+            if (landQuestion != null) {
+                return landQuestion;
+            }
+        }
+
+        int continentCode = sampler.getContinentCode(row);
+        if (continentCode < 0) {
+            return null;
+        }
+        return createContinentQuestion(sampler, row, continentCode);
+    }
+
+    /**
+     * Creates a question asking which continent a country is located in,
+     * with the correct continent and two random wrong ones.
+     * The wrong continents come from the precomputed tables in {@link ContinentOptions}.
+     * @param names Lookup for the country id.
+     * @param countryId Id of the country.
+     * @param continentCode Code of the continent the country is located in.
+     * @return The continent question.
+     */
+    public Question createContinentQuestion(CountryNames names, int countryId, int continentCode) {
+        int[] optionCodes = new int[ContinentOptions.OPTION_COUNT];
+
+        // Draw the wrong continents, then move one of them aside for the correct one
+        ContinentOptions.drawDistractors(continentCode, ContinentOptions.OPTION_COUNT - 1, random, optionCodes);
+        int correctAnswerIndex = random.nextInt(ContinentOptions.OPTION_COUNT);
+        optionCodes[ContinentOptions.OPTION_COUNT - 1] = optionCodes[correctAnswerIndex];
+        optionCodes[correctAnswerIndex] = continentCode;
+
+        return new Question(Question.TYPE_CONTINENT, names, countryId, -1, optionCodes, correctAnswerIndex);
+    }
+
+    /**
+     * Creates a question asking which country borders the given one,
+     * with one neighbor and two countries that do not share a border with it.
+     * @param countryId Id of a country with at least one neighbor in the neighbor graph.
+     * @return The border question.
+     */
+    public Question createBorderQuestion(int countryId) {
+        int correct = neighborGraph.getNeighbor(countryId, random.nextInt(neighborGraph.getDegree(countryId)));
+
+        // Pick 2 distinct countries that are neither the country itself nor one of its neighbors
+        int[] optionIds = new int[3];
+        optionIds[0] = correct;
+        int optionCount = 1;
+        while (optionCount < optionIds.length) {
+            int candidate = random.nextInt(neighborGraph.size());
+            if (candidate != countryId && (optionCount == 1 || candidate != optionIds[1])
+                    && !neighborGraph.areNeighbors(countryId, candidate)) {
+                optionIds[optionCount++] = candidate;
+            }
+        }
+
+        // Shuffle the options and remember where the correct one ends up
+        int correctAnswerIndex = random.nextInt(optionIds.length);
+        optionIds[0] = optionIds[correctAnswerIndex];
+        optionIds[correctAnswerIndex] = correct;
+
+        return new Question(Question.TYPE_BORDER, neighborGraph, countryId, -1, optionIds, correctAnswerIndex);
+    }
+
+    /**
+     * Creates a question asking how many borders must be crossed to get from one country to another.
+     * @param countryId Id of a country with at least one neighbor.
+     * @return The question, or null if no distance table is available or no destination was found.
+     */
+    public Question createHopCountQuestion(int countryId) {
+        if (hopDistances == null) {
+            return null;
+        }
+
+        // Find a destination reachable by land
+        int target = -1;
+        int hops = 0;
+        for (int attempt = 0; attempt < MAX_PICK_ATTEMPTS && target < 0; attempt++) {
+            int candidate = random.nextInt(hopDistances.size());
+            int candidateHops = hopDistances.getHops(countryId, candidate);
+            if (candidateHops > 0) {
+                target = candidate;
+                hops = candidateHops;
+            }
+        }
+        if (target < 0) {
+            return null;
+        }
+
+        // Wrong answers are nearby positive hop counts
+        int[] values = new int[3];
+        values[0] = hops;
+        int valueCount = 1;
+        while (valueCount < values.length) {
+            int candidate = hops + random.nextInt(5) - 2;
+            if (candidate > 0 && candidate != values[0] && (valueCount == 1 || candidate != values[1])) {
+                values[valueCount++] = candidate;
+            }
+        }
+
+        int correctAnswerIndex = random.nextInt(values.length);
+        values[0] = values[correctAnswerIndex];
+        values[correctAnswerIndex] = hops;
+
+        return new Question(Question.TYPE_HOP_COUNT, neighborGraph, countryId, target, values, correctAnswerIndex);
+    }
+
+    /**
+     * Creates a question asking which of three countries is closest to the given one by land.
+     * The options are reachable countries with different border crossing counts.
+     * @param countryId Id of a country with at least one neighbor.
+     * @return The question, or null if no distance table is available or no suitable options were found.
+     */
+    public Question createClosestQuestion(int countryId) {
+        if (hopDistances == null) {
+            return null;
+        }
+
+        int[] optionIds = new int[3];
+        int[] optionHops = new int[3];
+        int optionCount = 0;
+        for (int attempt = 0; attempt < MAX_PICK_ATTEMPTS && optionCount < optionIds.length; attempt++) {
+            int candidate = random.nextInt(hopDistances.size());
+            int candidateHops = hopDistances.getHops(countryId, candidate);
+            if (candidateHops <= 0) {
+                continue;
+            }
+            boolean distinct = true;
+            for (int i = 0; i < optionCount; i++) {
+                if (optionHops[i] == candidateHops) {
+                    distinct = false;
+                    break;
+                }
+            }
+            if (distinct) {
+                optionIds[optionCount] = candidate;
+                optionHops[optionCount] = candidateHops;
+                optionCount++;
+            }
+        }
+        if (optionCount < optionIds.length) {
+            return null;
+        }
+
+        // Options were drawn in random order, so the closest one is already at a random index
+        int correctAnswerIndex = 0;
+        for (int i = 1; i < optionIds.length; i++) {
+            if (optionHops[i] < optionHops[correctAnswerIndex]) {
+                correctAnswerIndex = i;
+            }
+        }
+
+        return new Question(Question.TYPE_CLOSEST, neighborGraph, countryId, -1, optionIds, correctAnswerIndex);
+    }
+}
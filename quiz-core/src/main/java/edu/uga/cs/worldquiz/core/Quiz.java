@@ -0,0 +1,152 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.AbstractList;
+
+/**
+ * The questions of one quiz, created on demand.
+ * The countries are drawn when the quiz is created, but each question is only generated
+ * the first time it is read, so even a quiz over every country costs one int per
+ * question until the player gets there. Generated questions are kept, so going back
+ * shows the same question again.
+ * Not thread-safe: after creation, a quiz must only be read from one thread at a time.
+ */
+public class Quiz extends AbstractList<Question> {
+    /**
+     * Number of questions in a regular quiz.
+     */
+    public static final int DEFAULT_LENGTH = 6;
+
+    /**
+     * Quiz length that asks about every country once.
+     */
+    public static final int ALL_COUNTRIES = -1;
+
+    private final QuestionGenerator generator;
+    private final CountrySampler sampler;
+
+    // Sampler rows of the countries asked about, in question order
+    private final int[] rows;
+
+    // Questions generated so far, null until first read
+    private final Question[] questions;
+
+    /**
+     * Draws the countries for a new quiz.
+     * Countries whose continent is unknown are left out, since no question can be asked about them.
+     * @param generator Generator for the questions; used only by this quiz from now on.
+     * @param sampler The countries to draw from.
+     * @param length Number of questions, or {@link #ALL_COUNTRIES}.
+     */
+    public Quiz(QuestionGenerator generator, CountrySampler sampler, int length) {
+        this.generator = generator;
+        this.sampler = sampler;
+
+        int wanted = length == ALL_COUNTRIES ? sampler.size() : Math.min(length, sampler.size());
+        int[] drawn = new int[wanted];
+        int usable = 0;
+        while (true) {
+            int count = sampler.sample(drawn.length, drawn);
+            usable = 0;
+            for (int i = 0; i < count && usable < wanted; i++) {
+                if (sampler.getContinentCode(drawn[i]) >= 0) {
+                    drawn[usable++] = drawn[i];
+                }
+            }
+            if (usable == wanted || drawn.length == sampler.size()) {
+                break;
+            }
+            // Some draws were unusable; draw again with room for more, which is still a uniform sample
+            drawn = new int[Math.min(drawn.length * 2, sampler.size())];
+        }
+
+        if (usable < drawn.length) {
+            rows = new int[usable];
+            System.arraycopy(drawn, 0, rows, 0, usable);
+        } else {
+            rows = drawn;
+        }
+        questions = new Question[rows.length];
+    }
+
+    /**
+     * Recreates a quiz from saved countries and the questions generated so far.
+     * @param generator Generator for the questions not generated yet.
+     * @param sampler The countries the rows refer to.
+     * @param rows Sampler rows of the countries asked about, in question order. Kept, not copied.
+     * @param questions Questions generated so far, null where not yet generated. Kept, not copied.
+     * @see QuizState
+     */
+    Quiz(QuestionGenerator generator, CountrySampler sampler, int[] rows, Question[] questions) {
+        this.generator = generator;
+        this.sampler = sampler;
+        this.rows = rows;
+        this.questions = questions;
+    }
+
+    /**
+     * Gets a question, generating it on first access.
+     * @param index The question index.
+     * @return The question.
+     */
+    @Override
+    public Question get(int index) {
+        Question question = questions[index];
+        if (question == null) {
+            question = generator.createQuestion(sampler, rows[index]);
+            questions[index] = question;
+        }
+        return question;
+    }
+
+    /**
+     * Gets the name of the country a question is about, without generating the question.
+     * @param index The question index.
+     * @return The country name.
+     */
+    public String getCountryName(int index) {
+        return sampler.getName(rows[index]);
+    }
+
+    /**
+     * Gets a question only if it has been generated already.
+     * @param index The question index.
+     * @return The question, or null if it has not been read yet.
+     */
+    Question peek(int index) {
+        return questions[index];
+    }
+
+    /**
+     * Gets the sampler row of the country a question is about.
+     * @param index The question index.
+     * @return The sampler row.
+     */
+    int getRow(int index) {
+        return rows[index];
+    }
+
+    /**
+     * Gets the countries the rows refer to.
+     * @return The sampler.
+     */
+    CountrySampler getSampler() {
+        return sampler;
+    }
+
+    /**
+     * Gets the generator used for questions not generated yet.
+     * @return The generator.
+     */
+    QuestionGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Gets the number of questions.
+     * @return The number of questions.
+     */
+    @Override
+    public int size() {
+        return rows.length;
+    }
+}
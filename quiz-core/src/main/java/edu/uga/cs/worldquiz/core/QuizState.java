@@ -0,0 +1,172 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Random;
+
+/**
+ * A quiz in progress packed into a flat int array, small enough for saved instance state.
+ * Countries are stored as neighbor graph ids, which come from the bundled country data and
+ * stay the same across process restarts, so unpacking needs no database. Questions that
+ * were generated keep their type, target, options and answer; the others only keep their
+ * country and continent code and are generated when first read, as in a new quiz.
+ *
+ * <p>Layout: a header of {@link #FORMAT}, score, current question index and question count,
+ * then for every question its country id, continent code and type, followed for generated
+ * questions by target id, correct answer index, option count and the option codes.
+ */
+public final class QuizState {
+    /**
+     * Version of the packed layout, checked when unpacking.
+     */
+    static final int FORMAT = 1;
+
+    // Type stored for a question that has not been generated yet
+    private static final int NOT_GENERATED = -1;
+
+    private static final int HEADER_SIZE = 4;
+
+    private final Quiz quiz;
+    private final int score;
+    private final int currentIndex;
+
+    private QuizState(Quiz quiz, int score, int currentIndex) {
+        this.quiz = quiz;
+        this.score = score;
+        this.currentIndex = currentIndex;
+    }
+
+    /**
+     * Packs a quiz and the player's progress through it.
+     * @param quiz The quiz.
+     * @param score The current score.
+     * @param currentIndex The index of the current question.
+     * @return The packed state, or null if the quiz has no neighbor graph to map its countries to.
+     */
+    public static int[] pack(Quiz quiz, int score, int currentIndex) {
+        NeighborGraph graph = quiz.getGenerator().getNeighborGraph();
+        if (graph == null) {
+            return null;
+        }
+        CountrySampler sampler = quiz.getSampler();
+
+        int count = quiz.size();
+        int size = HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            Question question = quiz.peek(i);
+            size += question != null ? 6 + question.getOptionCount() : 3;
+        }
+
+        int[] packed = new int[size];
+        packed[0] = FORMAT;
+        packed[1] = score;
+        packed[2] = currentIndex;
+        packed[3] = count;
+        int pos = HEADER_SIZE;
+        for (int i = 0; i < count; i++) {
+            int row = quiz.getRow(i);
+            int countryId = graph.idOf(sampler.getName(row));
+            if (countryId < 0) {
+                return null; // the country data and the graph disagree
+            }
+            packed[pos++] = countryId;
+            packed[pos++] = sampler.getContinentCode(row);
+
+            Question question = quiz.peek(i);
+            if (question == null) {
+                packed[pos++] = NOT_GENERATED;
+                continue;
+            }
+            packed[pos++] = question.getType();
+            packed[pos++] = question.getTargetId();
+            packed[pos++] = question.getCorrectAnswerIndex();
+            packed[pos++] = question.getOptionCount();
+            for (int option = 0; option < question.getOptionCount(); option++) {
+                packed[pos++] = question.getOptionCode(option);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Rebuilds a quiz from packed state in one pass.
+     * @param packed The output of {@link #pack}.
+     * @param generator Generator for the questions not generated yet. Its neighbor graph must be
+     *     built from the same country data as the one the state was packed with.
+     * @return The unpacked state.
+     * @throws IllegalArgumentException If the state is malformed or does not fit the generator's graph.
+     */
+    public static QuizState unpack(int[] packed, QuestionGenerator generator) {
+        NeighborGraph graph = generator.getNeighborGraph();
+        if (graph == null) {
+            throw new IllegalArgumentException("No neighbor graph to resolve country ids");
+        }
+        if (packed.length < HEADER_SIZE || packed[0] != FORMAT) {
+            throw new IllegalArgumentException("Unknown quiz state format");
+        }
+
+        try {
+            int count = packed[3];
+            int[] ids = new int[count];
+            String[] names = new String[count];
+            byte[] continentCodes = new byte[count];
+            Question[] questions = new Question[count];
+            int[] rows = new int[count];
+
+            // The restored quiz samples from its own countries only, so row i is question i
+            CountrySampler sampler = new CountrySampler(ids, names, continentCodes, new Random());
+            int pos = HEADER_SIZE;
+            for (int i = 0; i < count; i++) {
+                int countryId = packed[pos++];
+                ids[i] = countryId;
+                names[i] = graph.nameOf(countryId);
+                continentCodes[i] = (byte) packed[pos++];
+                rows[i] = i;
+
+                int type = packed[pos++];
+                if (type == NOT_GENERATED) {
+                    continue;
+                }
+                int targetId = packed[pos++];
+                int correctAnswerIndex = packed[pos++];
+                int[] optionCodes = new int[packed[pos++]];
+                System.arraycopy(packed, pos, optionCodes, 0, optionCodes.length);
+                pos += optionCodes.length;
+
+                // Continent questions name their country through the sampler, the others through the graph
+                questions[i] = type == Question.TYPE_CONTINENT
+                        ? new Question(Question.TYPE_CONTINENT, sampler, i, -1, optionCodes, correctAnswerIndex)
+                        : new Question((byte) type, graph, countryId, targetId, optionCodes, correctAnswerIndex);
+            }
+            if (pos != packed.length) {
+                throw new IllegalArgumentException("Trailing data in quiz state");
+            }
+
+            return new QuizState(new Quiz(generator, sampler, rows, questions), packed[1], packed[2]);
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated quiz state", e);
+        }
+    }
+
+    /**
+     * Gets the restored quiz.
+     * @return The quiz.
+     */
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    /**
+     * Gets the restored score.
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the index of the question the player was on.
+     * @return The question index.
+     */
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+}
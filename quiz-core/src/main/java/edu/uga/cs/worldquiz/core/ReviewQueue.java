@@ -0,0 +1,233 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * In-memory window onto the review schedule, from which study quizzes take their countries.
+ * It holds the earliest scheduled reviews in a {@link DueQueue} and a batch of countries that
+ * were never reviewed, both filled by the caller from indexed range scans.
+ * Countries are taken in this order: reviews that are due, then new countries in random order,
+ * then the reviews due soonest.
+ *
+ * <p>Reviews rescheduled after the window was filled are offered again; a row's older heap
+ * entries are skipped when they surface, so a reschedule costs O(log n) and never a reload.
+ * Rows taken for a quiz that is discarded unanswered are {@link #release released} back to
+ * where they were taken from.
+ * Not thread-safe.
+ */
+public final class ReviewQueue {
+    // Markers in queuedDue for rows that are not in the heap
+    private static final long NOT_QUEUED = Long.MIN_VALUE;
+    private static final long NEW = Long.MAX_VALUE;
+
+    // Returned by nextReviewDue when the heap holds no current entry
+    private static final long NO_REVIEW = Long.MAX_VALUE;
+
+    private final DueQueue reviews;
+
+    // Current due time of each row in the heap, or one of the markers above
+    private final long[] queuedDue;
+
+    // Due time, or NEW, of each row taken and not yet rescheduled or released; NOT_QUEUED otherwise
+    private final long[] takenDue;
+
+    // Rows never reviewed; the first newCount are still available
+    private int[] newRows = new int[16];
+    private int newCount;
+
+    // Every scheduled review due before this is in the heap
+    private long horizon = Long.MAX_VALUE;
+
+    // Whether every new row has been added
+    private boolean newComplete = true;
+
+    // Number of rows in the heap whose entry is current, and of new rows not taken or reviewed elsewhere
+    private int liveReviews;
+    private int liveNew;
+
+    /**
+     * Creates an empty queue.
+     * @param countryCount Number of rows the queue may refer to.
+     */
+    public ReviewQueue(int countryCount) {
+        reviews = new DueQueue(Math.min(countryCount, 1024));
+        queuedDue = new long[countryCount];
+        Arrays.fill(queuedDue, NOT_QUEUED);
+        takenDue = new long[countryCount];
+        Arrays.fill(takenDue, NOT_QUEUED);
+    }
+
+    /**
+     * Adds a scheduled review. Used while filling the queue.
+     * @param row The row.
+     * @param dueAt When the review is due, in epoch milliseconds.
+     */
+    public void addReview(int row, long dueAt) {
+        if (queuedDue[row] == NOT_QUEUED) {
+            liveReviews++;
+        } else if (queuedDue[row] == NEW) {
+            return;
+        }
+        queuedDue[row] = dueAt;
+        reviews.offer(dueAt, row);
+    }
+
+    /**
+     * Adds a country that was never reviewed. Used while filling the queue.
+     * @param row The row.
+     */
+    public void addNew(int row) {
+        if (queuedDue[row] != NOT_QUEUED) {
+            return;
+        }
+        if (newCount == newRows.length) {
+            newRows = Arrays.copyOf(newRows, newCount * 2);
+        }
+        newRows[newCount++] = row;
+        queuedDue[row] = NEW;
+        liveNew++;
+    }
+
+    /**
+     * Records how much of the schedule was added, once filling is done.
+     * @param horizon Every review due before this time was added; {@link Long#MAX_VALUE} if all were.
+     * @param newComplete Whether every country that was never reviewed was added.
+     */
+    public void setLimits(long horizon, boolean newComplete) {
+        this.horizon = horizon;
+        this.newComplete = newComplete;
+    }
+
+    /**
+     * Updates the schedule of a row after it was reviewed.
+     * A due time past the horizon is left to the next fill, so the heap stays a prefix of the schedule.
+     * @param row The row.
+     * @param dueAt The new due time.
+     */
+    public void reschedule(int row, long dueAt) {
+        takenDue[row] = NOT_QUEUED;
+        long queued = queuedDue[row];
+        if (queued == NEW) {
+            // Answered elsewhere before a study quiz got to it; the stale new entry is skipped
+            queued = NOT_QUEUED;
+            queuedDue[row] = NOT_QUEUED;
+            liveNew--;
+        }
+        if (dueAt < horizon) {
+            if (queued == NOT_QUEUED) {
+                liveReviews++;
+            }
+            queuedDue[row] = dueAt;
+            reviews.offer(dueAt, row);
+        } else if (queued != NOT_QUEUED) {
+            liveReviews--;
+            queuedDue[row] = NOT_QUEUED;
+        }
+    }
+
+    /**
+     * Puts back a row taken by {@link #poll} that was not reviewed, because its quiz was discarded.
+     * A new row becomes available again; a review goes back into the heap at its old due time,
+     * or is left to the next fill if that is past the horizon. Does nothing for a row that was
+     * rescheduled or queued again since it was taken.
+     * @param row The row.
+     */
+    public void release(int row) {
+        long taken = takenDue[row];
+        if (taken == NOT_QUEUED) {
+            return;
+        }
+        takenDue[row] = NOT_QUEUED;
+        if (queuedDue[row] != NOT_QUEUED) {
+            return;
+        }
+        if (taken == NEW) {
+            addNew(row);
+        } else if (taken < horizon) {
+            addReview(row, taken);
+        }
+    }
+
+    /**
+     * Checks whether the queue should be filled again before taking rows.
+     * @param count Number of rows about to be taken.
+     * @return true if fewer rows are available than wanted while the schedule holds more.
+     */
+    public boolean needsFill(int count) {
+        return liveReviews + liveNew < count && (horizon != Long.MAX_VALUE || !newComplete);
+    }
+
+    /**
+     * Takes the next rows to study. Taken rows leave the queue until they are rescheduled or released.
+     * @param count Number of rows wanted.
+     * @param now The current time, in epoch milliseconds.
+     * @param random Picks among new countries.
+     * @param out Receives the rows; must hold at least count entries.
+     * @return The number of rows taken, less than count if the queue runs out.
+     */
+    public int poll(int count, long now, Random random, int[] out) {
+        int taken = 0;
+        while (taken < count && nextReviewDue() <= now) {
+            out[taken++] = pollReview();
+        }
+        while (taken < count && takeNew(random, out, taken)) {
+            taken++;
+        }
+        while (taken < count && nextReviewDue() != NO_REVIEW) {
+            out[taken++] = pollReview();
+        }
+        return taken;
+    }
+
+    /**
+     * Gets the number of rows available without filling again.
+     * @return Current reviews plus new countries.
+     */
+    public int size() {
+        return liveReviews + liveNew;
+    }
+
+    /**
+     * Drops stale heap entries and returns the due time of the first current one,
+     * or {@link #NO_REVIEW} if there is none.
+     */
+    private long nextReviewDue() {
+        while (!reviews.isEmpty()) {
+            long due = reviews.peekDue();
+            if (queuedDue[reviews.peekRow()] == due) {
+                return due;
+            }
+            reviews.poll();
+        }
+        return NO_REVIEW;
+    }
+
+    /**
+     * Removes the first review; only called right after {@link #nextReviewDue()} found one.
+     */
+    private int pollReview() {
+        int row = reviews.poll();
+        takenDue[row] = queuedDue[row];
+        queuedDue[row] = NOT_QUEUED;
+        liveReviews--;
+        return row;
+    }
+
+    private boolean takeNew(Random random, int[] out, int taken) {
+        while (newCount > 0) {
+            // Swap a random pick to the end, so the order is random without shuffling up front
+            int pick = random.nextInt(newCount);
+            int row = newRows[pick];
+            newRows[pick] = newRows[--newCount];
+            if (queuedDue[row] == NEW) {
+                takenDue[row] = NEW;
+                queuedDue[row] = NOT_QUEUED;
+                liveNew--;
+                out[taken] = row;
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package edu.uga.cs.worldquiz.core;
+
+/**
+ * Spaced-repetition state of one country, scheduled with a simplified SM-2.
+ * A correct answer grows the interval: one day, then six days, then the previous interval times
+ * the ease factor. A wrong answer brings the country back after a few minutes, starts the
+ * intervals over and lowers the ease, so countries that keep being missed grow more slowly.
+ * Immutable.
+ */
+public final class ReviewState {
+    /**
+     * Ease factor of a country that was never reviewed, in thousandths.
+     */
+    public static final int START_EASE = 2500;
+
+    /**
+     * Lowest ease factor, in thousandths.
+     */
+    public static final int MIN_EASE = 1300;
+
+    // Ease lost with every wrong answer, in thousandths
+    private static final int EASE_PENALTY = 200;
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long DAY_MILLIS = 24 * 60 * MINUTE_MILLIS;
+
+    // Interval after a wrong answer
+    private static final long RELEARN_MILLIS = 10 * MINUTE_MILLIS;
+
+    // Intervals of the first two correct answers in a row
+    private static final long FIRST_INTERVAL_MILLIS = DAY_MILLIS;
+    private static final long SECOND_INTERVAL_MILLIS = 6 * DAY_MILLIS;
+
+    // Longest interval, so the interval stays well clear of overflowing
+    private static final long MAX_INTERVAL_MILLIS = 365 * DAY_MILLIS;
+
+    private final long dueAt;
+    private final long intervalMillis;
+    private final int ease;
+    private final int repetitions;
+
+    /**
+     * Creates a review state.
+     * @param dueAt When the country is due for review, in epoch milliseconds.
+     * @param intervalMillis The interval that led to the due time, 0 if never reviewed.
+     * @param ease The ease factor in thousandths, at least {@link #MIN_EASE}.
+     * @param repetitions Correct answers in a row.
+     */
+    public ReviewState(long dueAt, long intervalMillis, int ease, int repetitions) {
+        this.dueAt = dueAt;
+        this.intervalMillis = intervalMillis;
+        this.ease = Math.max(ease, MIN_EASE);
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Creates the state of a country that has not been reviewed yet.
+     * @param dueAt When the country is first due.
+     * @return The new state.
+     */
+    public static ReviewState newCountry(long dueAt) {
+        return new ReviewState(dueAt, 0, START_EASE, 0);
+    }
+
+    /**
+     * Schedules the next review after an answer.
+     * @param correct Whether the answer was correct.
+     * @param now When the answer was given, in epoch milliseconds.
+     * @return The state after the answer.
+     */
+    public ReviewState review(boolean correct, long now) {
+        if (!correct) {
+            return new ReviewState(now + RELEARN_MILLIS, RELEARN_MILLIS, ease - EASE_PENALTY, 0);
+        }
+
+        long interval;
+        if (repetitions == 0) {
+            interval = FIRST_INTERVAL_MILLIS;
+        } else if (repetitions == 1) {
+            interval = SECOND_INTERVAL_MILLIS;
+        } else {
+            interval = Math.min(intervalMillis * ease / 1000, MAX_INTERVAL_MILLIS);
+        }
+        return new ReviewState(now + interval, interval, ease, repetitions + 1);
+    }
+
+    /**
+     * Gets when the country is due for review.
+     * @return The due time in epoch milliseconds.
+     */
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    /**
+     * Gets the interval that led to the due time.
+     * @return The interval in milliseconds.
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Gets the ease factor.
+     * @return The ease factor in thousandths.
+     */
+    public int getEase() {
+        return ease;
+    }
+
+    /**
+     * Gets the number of correct answers in a row.
+     * @return The repetitions.
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+}
@@ -0,0 +1,95 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Random;
+
+/**
+ * Country sampler that draws rows in proportion to weights held in an {@link AliasTable},
+ * so each draw is O(1) however many countries there are.
+ * Distinct rows are drawn by rejecting repeats; if heavy weights keep repeating the same
+ * rows, the remaining slots are filled with rows that have not been drawn yet.
+ */
+public class WeightedCountrySampler extends CountrySampler {
+    /**
+     * Draws per wanted row before giving up on rejection.
+     */
+    private static final int MAX_DRAWS_PER_ROW = 20;
+
+    /**
+     * Largest draw that looks for repeats by scanning the rows drawn so far.
+     */
+    private static final int LINEAR_CHECK_LIMIT = 32;
+
+    private final AliasTable weights;
+    private final Random random;
+
+    /**
+     * Creates a weighted sampler over already loaded country data.
+     * @param ids Country row ids.
+     * @param names Country names.
+     * @param continentCodes Continent codes, see {@link Continents}.
+     * @param weights Alias table with one weight per row.
+     * @param random Source of randomness.
+     */
+    public WeightedCountrySampler(int[] ids, String[] names, byte[] continentCodes, AliasTable weights,
+                                  Random random) {
+        super(ids, names, continentCodes, random);
+        if (weights.size() != ids.length) {
+            throw new IllegalArgumentException("Expected " + ids.length + " weights, got " + weights.size());
+        }
+        this.weights = weights;
+        this.random = random;
+    }
+
+    /**
+     * Draws distinct rows, each with probability proportional to its weight among the rows not drawn yet.
+     * @param k Number of rows wanted.
+     * @param out Receives the drawn row indices; must hold at least k entries.
+     * @return The number of rows drawn, which is less than k if the table is smaller.
+     */
+    @Override
+    public synchronized int sample(int k, int[] out) {
+        int n = size();
+        int wanted = Math.min(k, n);
+        if (wanted <= 0) {
+            return 0;
+        }
+        // Short quizzes check repeats against the rows drawn so far instead of allocating per country
+        boolean[] taken = wanted > LINEAR_CHECK_LIMIT ? new boolean[n] : null;
+
+        int drawn = 0;
+        for (int draws = 0; drawn < wanted && draws < wanted * MAX_DRAWS_PER_ROW; draws++) {
+            int row = weights.sample(random);
+            if (!isTaken(row, taken, out, drawn)) {
+                if (taken != null) {
+                    taken[row] = true;
+                }
+                out[drawn++] = row;
+            }
+        }
+
+        // Fill up from a random starting point if rejection did not find enough distinct rows
+        int row = random.nextInt(n);
+        while (drawn < wanted) {
+            if (!isTaken(row, taken, out, drawn)) {
+                if (taken != null) {
+                    taken[row] = true;
+                }
+                out[drawn++] = row;
+            }
+            row = row + 1 == n ? 0 : row + 1;
+        }
+        return drawn;
+    }
+
+    private static boolean isTaken(int row, boolean[] taken, int[] out, int drawn) {
+        if (taken != null) {
+            return taken[row];
+        }
+        for (int i = 0; i < drawn; i++) {
+            if (out[i] == row) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link AliasTable} and {@link WeightedCountrySampler}.
+ */
+public class AliasTableTest {
+
+    @Test
+    public void drawsFollowTheWeights() {
+        double[] weights = { 1, 0, 3, 6 };
+        AliasTable table = new AliasTable(weights);
+        Random random = new Random(11);
+
+        int draws = 100_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < draws; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[1]);
+        for (int i = 0; i < weights.length; i++) {
+            double expected = draws * weights[i] / 10;
+            assertEquals(expected, counts[i], draws * 0.01);
+        }
+    }
+
+    @Test
+    public void allZeroWeightsAreUniform() {
+        AliasTable table = new AliasTable(new double[3]);
+        Random random = new Random(3);
+
+        int[] counts = new int[3];
+        for (int i = 0; i < 30_000; i++) {
+            counts[table.sample(random)]++;
+        }
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    @Test
+    public void weightedSamplerDrawsDistinctRows() {
+        // Nearly all weight on one row, so rejection alone cannot fill a draw
+        AliasTable table = new AliasTable(new double[] { 1000, 0, 0, 0, 1 });
+        WeightedCountrySampler sampler = new WeightedCountrySampler(new int[] { 1, 2, 3, 4, 5 },
+                new String[] { "A", "B", "C", "D", "E" }, new byte[5], table, new Random(2));
+
+        int[] out = new int[5];
+        assertEquals(5, sampler.sample(5, out));
+        boolean[] seen = new boolean[5];
+        for (int row : out) {
+            assertFalse(seen[row]);
+            seen[row] = true;
+        }
+        assertEquals(0, out[0]);
+    }
+}
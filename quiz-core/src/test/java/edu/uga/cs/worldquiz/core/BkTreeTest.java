@@ -0,0 +1,83 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link BkTree} and {@link NameNormalizer}.
+ */
+public class BkTreeTest {
+    @Test
+    public void normalizesCaseAccentsAndPunctuation() {
+        assertEquals("cote divoire", NameNormalizer.normalize("C\u00f4te d'Ivoire"));
+        assertEquals("cote divoire", NameNormalizer.normalize("  COTE D\u2019IVOIRE "));
+        assertEquals("guinea bissau", NameNormalizer.normalize("Guinea-Bissau"));
+        assertEquals("st lucia", NameNormalizer.normalize("St. Lucia"));
+        assertEquals("sao tome and principe", NameNormalizer.normalize("S\u00e3o Tom\u00e9, and Pr\u00edncipe"));
+        assertEquals("", NameNormalizer.normalize(" - "));
+    }
+
+    @Test
+    public void measuresEditDistance() {
+        assertEquals(0, BkTree.distance("chad", "chad"));
+        assertEquals(2, BkTree.distance("phillipines", "philippines"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(4, BkTree.distance("", "peru"));
+    }
+
+    @Test
+    public void nearestMatchesBruteForce() {
+        Random random = new Random(42);
+        String[] keys = new String[2000];
+        BkTree tree = new BkTree(16);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomWord(random);
+            tree.add(keys[i], i);
+        }
+
+        for (int q = 0; q < 500; q++) {
+            String query = randomWord(random);
+            int maxDistance = random.nextInt(3);
+
+            // Closest key by scanning them all, or -1 if none is close enough or two are equally close
+            int expected = -1;
+            int best = maxDistance + 1;
+            boolean tie = false;
+            for (int i = 0; i < keys.length; i++) {
+                int distance = BkTree.distance(query, keys[i]);
+                if (distance < best) {
+                    expected = i;
+                    best = distance;
+                    tie = false;
+                } else if (distance == best && expected >= 0 && !keys[i].equals(keys[expected])) {
+                    tie = true;
+                }
+            }
+            assertEquals(query, tie ? -1 : expected, tree.nearest(query, maxDistance));
+        }
+    }
+
+    @Test
+    public void ignoresDuplicateKeys() {
+        BkTree tree = new BkTree(1);
+        tree.add("peru", 0);
+        tree.add("peru", 1);
+        tree.add("chad", 2);
+        assertEquals(2, tree.size());
+        assertEquals(0, tree.nearest("pery", 1));
+        assertEquals(-1, tree.nearest("xyz", 1));
+        assertEquals(-1, new BkTree(0).nearest("peru", 2));
+    }
+
+    private static String randomWord(Random random) {
+        // A small alphabet so that keys within a couple of edits of each other are common
+        char[] word = new char[3 + random.nextInt(4)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(4));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ContinentOptions}.
+ */
+public class ContinentOptionsTest {
+    @Test
+    public void distractorsAreDistinctAndWrong() {
+        Random random = new Random(11);
+        int[] out = new int[Continents.COUNT - 1];
+
+        for (int correct = 0; correct < Continents.COUNT; correct++) {
+            for (int k = 1; k < Continents.COUNT; k++) {
+                for (int i = 0; i < 200; i++) {
+                    ContinentOptions.drawDistractors(correct, k, random, out);
+                    boolean[] seen = new boolean[Continents.COUNT];
+                    for (int j = 0; j < k; j++) {
+                        assertNotEquals(correct, out[j]);
+                        assertFalse("Duplicate distractor " + out[j], seen[out[j]]);
+                        seen[out[j]] = true;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void distractorsCoverEveryPositionEvenly() {
+        Random random = new Random(5);
+        int[] out = new int[2];
+        int[][] counts = new int[2][Continents.COUNT];
+        int draws = 60_000;
+
+        for (int i = 0; i < draws; i++) {
+            ContinentOptions.drawDistractors(2, 2, random, out);
+            counts[0][out[0]]++;
+            counts[1][out[1]]++;
+        }
+
+        // Each of the 6 wrong continents should show up in each slot about a sixth of the time
+        double expected = draws / (Continents.COUNT - 1.0);
+        for (int slot = 0; slot < 2; slot++) {
+            assertEquals(0, counts[slot][2]);
+            for (int code = 0; code < Continents.COUNT; code++) {
+                if (code != 2) {
+                    assertEquals(expected, counts[slot][code], expected * 0.05);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void optionListsAreSharedAndNumbered() {
+        int[] codes = { 4, 2, 6 };
+        List<String> options = ContinentOptions.getOptions(codes);
+
+        assertSame(options, ContinentOptions.getOptions(new int[] { 4, 2, 6 }));
+        assertEquals("1. Europe", options.get(0));
+        assertEquals("2. Asia", options.get(1));
+        assertEquals("3. South America", options.get(2));
+        assertSame(ContinentOptions.getLabel(1, 2), options.get(1));
+    }
+}
@@ -0,0 +1,36 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CountrySnapshot}.
+ */
+public class CountrySnapshotTest {
+    @Test
+    public void rowsAreFoundByName() {
+        CountrySnapshot snapshot = TestCountries.snapshot();
+
+        assertEquals(TestCountries.PERU, snapshot.indexOf("Peru"));
+        assertEquals(2, snapshot.getId(snapshot.indexOf("Peru")));
+        assertEquals(-1, snapshot.indexOf("Atlantis"));
+    }
+
+    @Test
+    public void samplersShareDataButNotOrder() {
+        CountrySnapshot snapshot = TestCountries.snapshot();
+        CountrySampler first = snapshot.newSampler(new Random(1));
+        CountrySampler second = snapshot.newSampler(new Random(2));
+
+        int[] out = new int[3];
+        assertEquals(3, first.sample(3, out));
+        assertEquals(3, second.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            assertSame(snapshot.getName(row), second.getName(row));
+            assertEquals(snapshot.getContinentCode(row), second.getContinentCode(row));
+        }
+    }
+}
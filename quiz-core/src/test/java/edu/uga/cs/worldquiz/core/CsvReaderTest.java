@@ -0,0 +1,71 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CsvReader}.
+ */
+public class CsvReaderTest {
+    @Test
+    public void readsPlainRecords() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("Afghanistan,Asia\nAlbania,Europe\n"));
+
+        assertTrue(csv.nextRecord());
+        assertEquals(2, csv.getFieldCount());
+        assertEquals("Afghanistan", csv.getField(0));
+        assertEquals("Asia", csv.getField(1));
+
+        assertTrue(csv.nextRecord());
+        assertEquals("Albania", csv.getField(0));
+        assertEquals("Europe", csv.getField(1));
+
+        assertFalse(csv.nextRecord());
+    }
+
+    @Test
+    public void keepsEmptyTrailingFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("Andorra,Spain,France,,,"));
+
+        assertTrue(csv.nextRecord());
+        assertEquals(6, csv.getFieldCount());
+        assertEquals("France", csv.getField(2));
+        assertTrue(csv.isFieldEmpty(3));
+        assertTrue(csv.isFieldEmpty(5));
+        assertFalse(csv.nextRecord());
+    }
+
+    @Test
+    public void unescapesQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "\"Korea, South\",Asia\r\n\"Say \"\"hi\"\"\",\r\n"));
+
+        assertTrue(csv.nextRecord());
+        assertEquals("Korea, South", csv.getField(0));
+        assertEquals("Asia", csv.getField(1));
+
+        assertTrue(csv.nextRecord());
+        assertEquals("Say \"hi\"", csv.getField(0));
+        assertEquals(2, csv.getFieldCount());
+        assertTrue(csv.isFieldEmpty(1));
+
+        assertFalse(csv.nextRecord());
+    }
+
+    @Test
+    public void handlesRecordsLongerThanTheBuffer() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            name.append('x');
+        }
+        CsvReader csv = new CsvReader(new StringReader(name + ",Europe"));
+
+        assertTrue(csv.nextRecord());
+        assertEquals(name.toString(), csv.getField(0));
+        assertEquals("Europe", csv.getField(1));
+    }
+}
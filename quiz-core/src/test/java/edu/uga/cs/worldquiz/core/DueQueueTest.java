@@ -0,0 +1,65 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link DueQueue} and {@link ReviewState}.
+ */
+public class DueQueueTest {
+
+    @Test
+    public void pollsInDueOrder() {
+        Random random = new Random(5);
+        int count = 10_000;
+        long[] dueTimes = new long[count];
+        DueQueue queue = new DueQueue(16);
+        for (int row = 0; row < count; row++) {
+            dueTimes[row] = random.nextInt(1000);
+            queue.offer(dueTimes[row], row);
+        }
+        assertEquals(count, queue.size());
+
+        long[] sorted = dueTimes.clone();
+        Arrays.sort(sorted);
+        int previousRow = -1;
+        for (int i = 0; i < count; i++) {
+            assertEquals(sorted[i], queue.peekDue());
+            int row = queue.poll();
+            assertEquals(sorted[i], dueTimes[row]);
+            // Equal due times come out by row
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                assertTrue(row > previousRow);
+            }
+            previousRow = row;
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void wrongAnswersComeBackSoonAndCorrectOnesLater() {
+        long now = 1_000_000_000L;
+        ReviewState state = ReviewState.newCountry(0);
+
+        ReviewState first = state.review(true, now);
+        ReviewState second = first.review(true, now);
+        ReviewState third = second.review(true, now);
+        assertTrue(first.getIntervalMillis() < second.getIntervalMillis());
+        assertEquals(second.getIntervalMillis() * ReviewState.START_EASE / 1000, third.getIntervalMillis());
+        assertEquals(now + third.getIntervalMillis(), third.getDueAt());
+
+        ReviewState missed = third.review(false, now);
+        assertEquals(0, missed.getRepetitions());
+        assertTrue(missed.getDueAt() < first.getDueAt());
+        assertEquals(ReviewState.START_EASE - 200, missed.getEase());
+
+        for (int i = 0; i < 20; i++) {
+            missed = missed.review(false, now);
+        }
+        assertEquals(ReviewState.MIN_EASE, missed.getEase());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link NameCompleter} and {@link AnswerMatcher}.
+ */
+public class NameCompleterTest {
+    private static final String[] NAMES = {
+            "Niger", "Nigeria", "Nicaragua", "Norway", "Chile", "China", "niger", "Asia"
+    };
+
+    @Test
+    public void completesPrefixesInOrder() {
+        NameCompleter completer = new NameCompleter(NAMES);
+        assertEquals(7, completer.size());
+
+        String[] out = new String[5];
+        assertEquals(3, completer.complete(" NI", out));
+        assertEquals("Nicaragua", out[0]);
+        assertEquals("Niger", out[1]);
+        assertEquals("Nigeria", out[2]);
+
+        assertEquals(1, completer.complete("chin", out));
+        assertEquals("China", out[0]);
+        assertEquals(0, completer.complete("x", out));
+        assertEquals(0, completer.complete("", out));
+
+        // The output length caps the suggestions
+        assertEquals(2, completer.complete("n", new String[2]));
+    }
+
+    @Test
+    public void findsExactNamesOnly() {
+        NameCompleter completer = new NameCompleter(NAMES);
+        assertEquals("Nigeria", completer.find("nigeria "));
+        assertNull(completer.find("Nige"));
+        assertNull(completer.find("Nigerian"));
+        assertNull(completer.find(""));
+    }
+
+    @Test
+    public void borderAnswersAcceptAnyNeighbor() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(
+                "France,Spain,Belgium,Germany\nSpain,France,Portugal\nGermany,France,Belgium,Poland\n"));
+        NameCompleter completer = new NameCompleter(new String[] {
+                "France", "Spain", "Belgium", "Germany", "Portugal", "Poland"
+        });
+        AnswerMatcher matcher = new AnswerMatcher(completer, graph);
+        Question question = new QuestionGenerator(graph, null, new Random(1))
+                .createBorderQuestion(graph.idOf("France"));
+
+        assertTrue(matcher.isCorrect(question, "spain"));
+        assertTrue(matcher.isCorrect(question, "Belgium"));
+        assertFalse(matcher.isCorrect(question, "Portugal"));
+
+        // One typo is forgiven, but not in a name that is then not a neighbor
+        assertTrue(matcher.isCorrect(question, "Span"));
+        assertFalse(matcher.isCorrect(question, "Portgal"));
+        assertFalse(matcher.isCorrect(question, "Spxyz"));
+    }
+
+    @Test
+    public void typosAndAccentsAreForgiven() {
+        NameCompleter completer = new NameCompleter(new String[] {
+                "Philippines", "C\u00f4te d'Ivoire", "Guinea-Bissau", "Niger", "Nigeria", "Oman", "Iran", "Iraq"
+        });
+        AnswerMatcher matcher = new AnswerMatcher(completer, null);
+
+        assertEquals("Philippines", matcher.resolve("Phillipines"));
+        assertEquals("C\u00f4te d'Ivoire", matcher.resolve("Cote d'Ivoire"));
+        assertEquals("C\u00f4te d'Ivoire", matcher.resolve("cote divore"));
+        assertEquals("Guinea-Bissau", matcher.resolve("guinea bissau"));
+        assertEquals("Nigeria", matcher.resolve("Nigerria"));
+
+        // Short names must be exact, and a typo equally close to two names matches neither
+        assertNull(matcher.resolve("Ira"));
+        assertNull(matcher.resolve("Irak"));
+        assertNull(matcher.resolve("Omn"));
+        assertEquals("Oman", matcher.resolve("Omman"));
+
+        String[] out = new String[3];
+        assertEquals(1, completer.complete("cote", out));
+        assertEquals("C\u00f4te d'Ivoire", out[0]);
+    }
+
+    @Test
+    public void otherAnswersMustNameTheCorrectOption() {
+        AnswerMatcher matcher = new AnswerMatcher(new NameCompleter(Continents.NAMES), null);
+        Question question = new QuestionGenerator(null, null, new Random(1))
+                .createContinentQuestion(TestCountries.snapshot(), TestCountries.JAPAN, 2);
+
+        assertTrue(matcher.isCorrect(question, " asia"));
+        assertFalse(matcher.isCorrect(question, "Europe"));
+    }
+}
@@ -0,0 +1,64 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link NeighborGraph}.
+ */
+public class NeighborGraphTest {
+    // Zambia lists Zimbabwe but not the other way round, as in country_neighbors.csv;
+    // Botswana and Namibia list each other
+    private static final String NEIGHBORS =
+            "Zambia,Zimbabwe,Botswana,Namibia,Angola\n" +
+            "Zimbabwe,Botswana,Mozambique\n" +
+            "Botswana,Namibia,Zambia,Zimbabwe\n" +
+            "Namibia,Botswana,Angola\n";
+
+    @Test
+    public void oneSidedBordersAreShared() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        int zambia = graph.idOf("Zambia");
+        int zimbabwe = graph.idOf("Zimbabwe");
+        int botswana = graph.idOf("Botswana");
+
+        assertTrue(graph.areNeighbors(zambia, zimbabwe));
+        assertTrue(graph.areNeighbors(zimbabwe, zambia));
+        assertFalse(graph.areNeighbors(zimbabwe, graph.idOf("Angola")));
+
+        // Borders listed from both sides are stored once
+        assertEquals(4, graph.getDegree(zambia));
+        assertEquals(3, graph.getDegree(botswana));
+        assertEquals(3, graph.getDegree(zimbabwe));
+        assertEquals(1, graph.getDegree(graph.idOf("Mozambique")));
+
+        HopDistanceMatrix hops = HopDistanceMatrix.build(graph);
+        for (int a = 0; a < graph.size(); a++) {
+            for (int b = 0; b < graph.size(); b++) {
+                assertEquals(hops.getHops(a, b), hops.getHops(b, a));
+            }
+        }
+    }
+
+    @Test
+    public void borderQuestionsNeverOfferAUnlistedNeighborAsWrong() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        QuestionGenerator generator = new QuestionGenerator(graph, HopDistanceMatrix.build(graph), new Random(5));
+        int zimbabwe = graph.idOf("Zimbabwe");
+
+        for (int i = 0; i < 100; i++) {
+            Question question = generator.createBorderQuestion(zimbabwe);
+            for (int option = 0; option < question.getOptions().size(); option++) {
+                String name = question.getOptions().get(option).substring(3);
+                if (option != question.getCorrectAnswerIndex()) {
+                    assertFalse(name, "Zambia".equals(name));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link QuestionGenerator}.
+ */
+public class QuestionGeneratorTest {
+    private static final String NEIGHBORS =
+            "France,Spain,Belgium,Germany\n" +
+            "Spain,France,Portugal\n" +
+            "Germany,France,Belgium,Poland\n";
+
+    @Test
+    public void continentQuestionsWithoutNeighborData() {
+        QuestionGenerator generator = new QuestionGenerator(null, null, new Random(1));
+        CountrySampler sampler = TestCountries.sampler(new Random(1));
+
+        List<Question> questions = generator.createQuestions(sampler, 2);
+
+        assertEquals(2, questions.size());
+        for (Question question : questions) {
+            assertEquals(Question.TYPE_CONTINENT, question.getType());
+            assertEquals(3, question.getOptions().size());
+            assertTrue(question.getQuestionText().startsWith("In which continent is "));
+        }
+
+        Question japan = generator.createQuestion(sampler, TestCountries.JAPAN);
+        assertEquals("In which continent is Japan located?", japan.getQuestionText());
+        String correct = japan.getOptions().get(japan.getCorrectAnswerIndex());
+        assertTrue(correct, correct.endsWith(". Asia"));
+    }
+
+    @Test
+    public void unknownContinentsAreSkipped() {
+        QuestionGenerator generator = new QuestionGenerator(null, null, new Random(1));
+        CountrySampler sampler = TestCountries.samplerWithUnknown(new Random(1));
+
+        assertNull(generator.createQuestion(sampler, TestCountries.ATLANTIS));
+        assertEquals(3, generator.createQuestions(sampler, 4).size());
+    }
+
+    @Test
+    public void borderQuestionsOfferExactlyOneNeighbor() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        QuestionGenerator generator = new QuestionGenerator(graph, HopDistanceMatrix.build(graph), new Random(7));
+        int france = graph.idOf("France");
+
+        for (int i = 0; i < 100; i++) {
+            Question question = generator.createBorderQuestion(france);
+            assertEquals("Which country borders France?", question.getQuestionText());
+            int neighbors = 0;
+            for (int option = 0; option < question.getOptions().size(); option++) {
+                String name = question.getOptions().get(option).substring(3);
+                if (graph.areNeighbors(france, graph.idOf(name))) {
+                    neighbors++;
+                    assertEquals(question.getCorrectAnswerIndex(), option);
+                }
+            }
+            assertEquals(1, neighbors);
+        }
+    }
+
+    @Test
+    public void closestQuestionPicksFewestCrossings() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        HopDistanceMatrix hops = HopDistanceMatrix.build(graph);
+        QuestionGenerator generator = new QuestionGenerator(graph, hops, new Random(3));
+        int portugal = graph.idOf("Portugal");
+
+        for (int i = 0; i < 100; i++) {
+            Question question = generator.createClosestQuestion(portugal);
+            if (question == null) {
+                continue;
+            }
+            int best = Integer.MAX_VALUE;
+            for (String option : question.getOptions()) {
+                best = Math.min(best, hops.getHops(portugal, graph.idOf(option.substring(3))));
+            }
+            String correct = question.getOptions().get(question.getCorrectAnswerIndex()).substring(3);
+            assertEquals(best, hops.getHops(portugal, graph.idOf(correct)));
+        }
+    }
+}
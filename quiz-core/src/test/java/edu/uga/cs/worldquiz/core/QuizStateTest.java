@@ -0,0 +1,101 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link QuizState}.
+ */
+public class QuizStateTest {
+    // Every country has an entry, as in the prebuilt index; Iceland has no land borders
+    private static final String NEIGHBORS =
+            "France,Spain,Belgium,Germany\n" +
+            "Spain,France,Portugal\n" +
+            "Germany,France,Belgium,Poland\n" +
+            "Iceland\n";
+
+    private static final String[] COUNTRIES = { "France", "Spain", "Germany", "Iceland", "Portugal", "Belgium" };
+
+    private static QuestionGenerator generator(NeighborGraph graph, long seed) {
+        return new QuestionGenerator(graph, HopDistanceMatrix.build(graph), new Random(seed));
+    }
+
+    private static CountrySampler sampler() {
+        int[] ids = new int[COUNTRIES.length];
+        byte[] continents = new byte[COUNTRIES.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 100 + i;
+            continents[i] = 3;
+        }
+        return new CountrySampler(ids, COUNTRIES.clone(), continents, new Random(5));
+    }
+
+    @Test
+    public void generatedQuestionsSurviveUnchanged() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        Quiz quiz = new Quiz(generator(graph, 1), sampler(), Quiz.ALL_COUNTRIES);
+        for (int i = 0; i < 4; i++) {
+            quiz.get(i);
+        }
+
+        int[] packed = QuizState.pack(quiz, 2, 3);
+        QuizState state = QuizState.unpack(packed.clone(), generator(graph, 2));
+        Quiz restored = state.getQuiz();
+
+        assertEquals(2, state.getScore());
+        assertEquals(3, state.getCurrentIndex());
+        assertEquals(quiz.size(), restored.size());
+        for (int i = 0; i < 4; i++) {
+            Question before = quiz.get(i);
+            Question after = restored.get(i);
+            assertEquals(before.getType(), after.getType());
+            assertEquals(before.getQuestionText(), after.getQuestionText());
+            assertEquals(before.getOptions(), after.getOptions());
+            assertEquals(before.getCorrectAnswerIndex(), after.getCorrectAnswerIndex());
+        }
+        // Packing the restored quiz again gives the same state
+        assertArrayEquals(packed, QuizState.pack(restored, 2, 3));
+    }
+
+    @Test
+    public void remainingQuestionsAreAboutTheSameCountries() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        Quiz quiz = new Quiz(generator(graph, 3), sampler(), Quiz.ALL_COUNTRIES);
+        quiz.get(0);
+
+        Quiz restored = QuizState.unpack(QuizState.pack(quiz, 0, 1), generator(graph, 4)).getQuiz();
+
+        for (int i = 1; i < quiz.size(); i++) {
+            assertEquals(quiz.get(i).getCountryName(), restored.get(i).getCountryName());
+        }
+    }
+
+    @Test
+    public void quizWithoutNeighborDataIsNotPacked() {
+        Quiz quiz = new Quiz(new QuestionGenerator(null, null, new Random(1)), sampler(), 2);
+
+        assertNull(QuizState.pack(quiz, 0, 0));
+    }
+
+    @Test
+    public void truncatedStateIsRejected() throws IOException {
+        NeighborGraph graph = NeighborGraph.read(new StringReader(NEIGHBORS));
+        Quiz quiz = new Quiz(generator(graph, 1), sampler(), 3);
+        quiz.get(0);
+        int[] packed = QuizState.pack(quiz, 0, 0);
+        int[] truncated = new int[packed.length - 1];
+        System.arraycopy(packed, 0, truncated, 0, truncated.length);
+
+        try {
+            QuizState.unpack(truncated, generator(graph, 1));
+            fail("Truncated state was accepted");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
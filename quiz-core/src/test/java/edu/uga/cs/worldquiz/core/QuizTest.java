@@ -0,0 +1,35 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link Quiz}.
+ */
+public class QuizTest {
+    @Test
+    public void allCountriesAsksEveryKnownCountryOnce() {
+        Quiz quiz = new Quiz(new QuestionGenerator(null, null, new Random(1)), TestCountries.samplerWithUnknown(new Random(1)), Quiz.ALL_COUNTRIES);
+
+        assertEquals(3, quiz.size());
+        Set<Integer> countries = new HashSet<>();
+        for (Question question : quiz) {
+            assertTrue(countries.add(question.getCountryId()));
+        }
+        assertFalse(countries.contains(TestCountries.ATLANTIS));
+    }
+
+    @Test
+    public void questionsAreGeneratedOnceAndKept() {
+        Quiz quiz = new Quiz(new QuestionGenerator(null, null, new Random(1)), TestCountries.sampler(new Random(1)), 2);
+
+        assertEquals(2, quiz.size());
+        assertSame(quiz.get(1), quiz.get(1));
+        assertSame(quiz.get(0), quiz.get(0));
+    }
+}
@@ -0,0 +1,111 @@
+package edu.uga.cs.worldquiz.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link ReviewQueue}.
+ */
+public class ReviewQueueTest {
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    public void dueReviewsComeFirstThenNewThenUpcoming() {
+        ReviewQueue queue = new ReviewQueue(6);
+        queue.addReview(0, NOW + 500);
+        queue.addReview(1, NOW - 100);
+        queue.addReview(2, NOW - 300);
+        queue.addNew(3);
+        queue.addNew(4);
+        queue.addReview(5, NOW + 100);
+        queue.setLimits(Long.MAX_VALUE, true);
+        assertEquals(6, queue.size());
+
+        int[] rows = new int[6];
+        assertEquals(6, queue.poll(6, NOW, new Random(1), rows));
+        assertEquals(2, rows[0]);
+        assertEquals(1, rows[1]);
+        int[] newRows = { rows[2], rows[3] };
+        Arrays.sort(newRows);
+        assertArrayEquals(new int[] { 3, 4 }, newRows);
+        assertEquals(5, rows[4]);
+        assertEquals(0, rows[5]);
+
+        assertEquals(0, queue.size());
+        assertFalse(queue.needsFill(1));
+    }
+
+    @Test
+    public void rescheduledRowsMoveWithoutDuplicates() {
+        ReviewQueue queue = new ReviewQueue(4);
+        queue.addReview(0, NOW - 10);
+        queue.addReview(1, NOW - 20);
+        queue.addNew(2);
+        queue.setLimits(NOW + 1000, true);
+
+        // Answered elsewhere: row 1 moves back, new row 2 becomes a review, row 0 moves past the horizon
+        queue.reschedule(1, NOW + 50);
+        queue.reschedule(2, NOW - 5);
+        queue.reschedule(0, NOW + 5000);
+        assertEquals(2, queue.size());
+        assertTrue(queue.needsFill(3));
+
+        int[] rows = new int[4];
+        assertEquals(2, queue.poll(4, NOW, new Random(1), rows));
+        assertEquals(2, rows[0]);
+        assertEquals(1, rows[1]);
+    }
+
+    @Test
+    public void releasedRowsAreTakenAgain() {
+        ReviewQueue queue = new ReviewQueue(4);
+        queue.addReview(0, NOW - 10);
+        queue.addReview(1, NOW + 10);
+        queue.addNew(2);
+        queue.addNew(3);
+        queue.setLimits(Long.MAX_VALUE, true);
+
+        // A quiz takes every row and is discarded before any answer is written
+        int[] rows = new int[4];
+        assertEquals(4, queue.poll(4, NOW, new Random(1), rows));
+        assertEquals(0, queue.poll(4, NOW, new Random(1), new int[4]));
+        for (int row : rows) {
+            queue.release(row);
+        }
+        assertEquals(4, queue.size());
+        assertFalse(queue.needsFill(4));
+
+        // The same rows come back in the same order of priority
+        int[] again = new int[4];
+        assertEquals(4, queue.poll(4, NOW, new Random(2), again));
+        assertEquals(0, again[0]);
+        int[] newRows = { again[1], again[2] };
+        Arrays.sort(newRows);
+        assertArrayEquals(new int[] { 2, 3 }, newRows);
+        assertEquals(1, again[3]);
+    }
+
+    @Test
+    public void releaseSkipsRescheduledRows() {
+        ReviewQueue queue = new ReviewQueue(2);
+        queue.addReview(0, NOW - 10);
+        queue.addNew(1);
+        queue.setLimits(NOW + 1000, true);
+
+        int[] rows = new int[2];
+        assertEquals(2, queue.poll(2, NOW, new Random(1), rows));
+        // Row 0 was answered and moved past the horizon; row 1's quiz was discarded
+        queue.reschedule(0, NOW + 5000);
+        queue.release(0);
+        queue.release(1);
+        queue.release(1);
+        assertEquals(1, queue.size());
+
+        assertEquals(1, queue.poll(2, NOW, new Random(1), rows));
+        assertEquals(1, rows[0]);
+    }
+}
@@ -0,0 +1,56 @@
+package edu.uga.cs.worldquiz.core;
+
+import java.util.Random;
+
+/**
+ * Small country table shared by the unit tests and the instrumented tests.
+ * Rows are Japan (Asia), Peru (South America) and Kenya (Africa), with the ids 1 to 3 that
+ * importing {@link #CSV} into an empty countries table assigns them.
+ */
+public final class TestCountries {
+    /**
+     * The countries as country_continent.csv records.
+     */
+    public static final String CSV = "Japan,Asia\nPeru,South America\nKenya,Africa\n";
+
+    // Rows of the countries
+    public static final int JAPAN = 0;
+    public static final int PERU = 1;
+    public static final int KENYA = 2;
+
+    /**
+     * Row of Atlantis in {@link #samplerWithUnknown(Random)}.
+     */
+    public static final int ATLANTIS = 3;
+
+    // Private constructor to prevent instantiation
+    private TestCountries() {}
+
+    /**
+     * Creates a snapshot of the countries.
+     * @return A new snapshot.
+     */
+    public static CountrySnapshot snapshot() {
+        return new CountrySnapshot(new int[] { 1, 2, 3 }, new String[] { "Japan", "Peru", "Kenya" },
+                new byte[] { 2, 6, 0 });
+    }
+
+    /**
+     * Creates a sampler over the countries.
+     * @param random Source of randomness.
+     * @return A new sampler.
+     */
+    public static CountrySampler sampler(Random random) {
+        return snapshot().newSampler(random);
+    }
+
+    /**
+     * Creates a sampler over the countries plus Atlantis, whose continent is unknown.
+     * @param random Source of randomness.
+     * @return A new sampler with Atlantis at row {@link #ATLANTIS}.
+     */
+    public static CountrySampler samplerWithUnknown(Random random) {
+        return new CountrySampler(new int[] { 1, 2, 3, 4 }, new String[] { "Japan", "Peru", "Kenya", "Atlantis" },
+                new byte[] { 2, 6, 0, -1 }, random);
+    }
+}